@@ -27,11 +27,14 @@ import com.budjb.spring.distributed.scheduler.strategy.SchedulerStrategy;
 import com.budjb.spring.distributed.scheduler.workload.Workload;
 import com.budjb.spring.distributed.scheduler.workload.WorkloadReport;
 import com.budjb.spring.distributed.scheduler.workload.WorkloadRepository;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadRepositoryListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,13 +44,23 @@ import java.util.concurrent.TimeUnit;
  * The distributed scheduler is responsible for managing load balance scheduling and
  * instruction submission to cluster members. The actual load balancing logic is provided
  * by a {@link SchedulerStrategy} implementation.
+ * <p>
+ * In addition to periodic scheduling rounds, the scheduler listens for changes observed by
+ * the workload repository and runs a round for just the added and removed workloads, so that
+ * new workloads start without waiting for the next full round. The scheduler only listens
+ * between its initialization and destruction as a bean.
  */
-public class DistributedScheduler implements DisposableBean {
+public class DistributedScheduler implements InitializingBean, DisposableBean {
     /**
      * Name of the distributed property holding the time the next schedule should occur.
      */
     private final static String SCHEDULE_TIME_KEY = "distributed-schedule-time";
 
+    /**
+     * Name of the distributed lock held while scheduling.
+     */
+    private final static String LOCK_NAME = "distributed-scheduler-lock" /* TODO: lock name configurable? */;
+
     /**
      * Logger.
      */
@@ -78,6 +91,11 @@ public class DistributedScheduler implements DisposableBean {
      */
     private final WorkloadRepository workloadRepository;
 
+    /**
+     * Listener registered with the workload repository while the scheduler is initialized.
+     */
+    private final WorkloadRepositoryListener changeListener = this::scheduleChanges;
+
     /**
      * Constructor.
      *
@@ -101,6 +119,14 @@ public class DistributedScheduler implements DisposableBean {
         this.workloadRepository = workloadRepository;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterPropertiesSet() {
+        workloadRepository.addChangeListener(changeListener);
+    }
+
     /**
      * Attempt to conduct a non-forceful scheduling.
      */
@@ -115,19 +141,11 @@ public class DistributedScheduler implements DisposableBean {
      * @param force If true, will disregard the time check and schedule now.
      */
     public void schedule(boolean force) {
-        DistributedLock lock = distributedLockProvider.getDistributedLock("distributed-scheduler-lock" /* TODO: lock name configurable? */);
+        DistributedLock lock = distributedLockProvider.getDistributedLock(LOCK_NAME);
 
-        // TODO: configurable?
         try {
-            if (lock.supportsLeases()) {
-                if (!lock.tryLock(0, TimeUnit.MILLISECONDS, 10, TimeUnit.MINUTES)) {
-                    return;
-                }
-            }
-            else {
-                if (!lock.tryLock(0, TimeUnit.MILLISECONDS)) {
-                    return;
-                }
+            if (!tryLock(lock)) {
+                return;
             }
 
             if (!force && !isTimeToSchedule()) {
@@ -145,12 +163,27 @@ public class DistributedScheduler implements DisposableBean {
 
         try {
             Set<Workload> registeredWorkloads = workloadRepository.getWorkloads();
+            boolean partial = workloadRepository.isPartial();
 
             Map<ClusterMember, WorkloadReport> reports = clusterManager.submitInstruction(new ReportInstruction());
             if (reports.size() == 0) {
                 throw new IllegalStateException("received no workload reports from any cluster member nodes");
             }
 
+            if (partial) {
+                registeredWorkloads = new HashSet<>(registeredWorkloads);
+                int retained = 0;
+                for (WorkloadReport report : reports.values()) {
+                    for (WorkloadReport.Entry entry : report.getEntries()) {
+                        Workload workload = entry.getWorkload();
+                        if (!workloadRepository.isAttributed(workload) && registeredWorkloads.add(workload)) {
+                            retained++;
+                        }
+                    }
+                }
+                log.warn("the workload repository is missing the workloads of at least one source; " + retained + " running workload(s) that no other source has returned will not be removed");
+            }
+
             List<Map<ClusterMember, WorkloadActionsInstruction>> instructions = schedulerStrategy.schedule(registeredWorkloads, reports);
 
             for (Map<ClusterMember, WorkloadActionsInstruction> instructionSet : instructions) {
@@ -167,6 +200,63 @@ public class DistributedScheduler implements DisposableBean {
         }
     }
 
+    /**
+     * Conducts a scheduling round for just the given changes to the workload repository. If another
+     * round is in progress, the changes are left to the next full round.
+     *
+     * @param addedWorkloads   Workloads that have been added to the workload repository.
+     * @param removedWorkloads Workloads that have been removed from the workload repository.
+     */
+    public void scheduleChanges(Set<? extends Workload> addedWorkloads, Set<? extends Workload> removedWorkloads) {
+        DistributedLock lock = distributedLockProvider.getDistributedLock(LOCK_NAME);
+
+        try {
+            if (!tryLock(lock)) {
+                log.debug("a scheduling round is already in progress; " + addedWorkloads.size() + " added and " + removedWorkloads.size() + " removed workload(s) will be scheduled by the next round");
+                return;
+            }
+        }
+        catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            if (!lock.supportsLeases() || (lock.supportsLeases() && lock.isLocked())) {
+                lock.unlock();
+            }
+            return;
+        }
+
+        try {
+            Map<ClusterMember, WorkloadReport> reports = clusterManager.submitInstruction(new ReportInstruction());
+            if (reports.size() == 0) {
+                throw new IllegalStateException("received no workload reports from any cluster member nodes");
+            }
+
+            List<Map<ClusterMember, WorkloadActionsInstruction>> instructions = schedulerStrategy.scheduleChanges(addedWorkloads, removedWorkloads, reports);
+
+            for (Map<ClusterMember, WorkloadActionsInstruction> instructionSet : instructions) {
+                clusterManager.submitInstructions(instructionSet);
+            }
+        }
+        catch (Exception e) {
+            log.error("unexpected exception encountered while scheduling workload changes", e);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the workloads that the most recent scheduling round run by this cluster member could not place on
+     * any cluster member, because no cluster member had the capacity or labels to run them.
+     * <p>
+     * The value is not shared through the cluster, so it is only current on the member that last held the
+     * scheduler lock. See {@link SchedulerStrategy#getPendingWorkloads()}.
+     *
+     * @return an unmodifiable set of pending workloads.
+     */
+    public Set<Workload> getPendingWorkloads() {
+        return schedulerStrategy.getPendingWorkloads();
+    }
+
     /**
      * Shuts down all workloads.
      */
@@ -184,9 +274,27 @@ public class DistributedScheduler implements DisposableBean {
      */
     @Override
     public void destroy() {
+        workloadRepository.removeChangeListener(changeListener);
         shutdown();
     }
 
+    /**
+     * Attempts to acquire the scheduler lock without waiting.
+     *
+     * @param lock Scheduler lock.
+     * @return Whether the lock was acquired.
+     * @throws InterruptedException When interrupted while acquiring the lock.
+     */
+    private boolean tryLock(DistributedLock lock) throws InterruptedException {
+        // TODO: configurable?
+        if (lock.supportsLeases()) {
+            return lock.tryLock(0, TimeUnit.MILLISECONDS, 10, TimeUnit.MINUTES);
+        }
+        else {
+            return lock.tryLock(0, TimeUnit.MILLISECONDS);
+        }
+    }
+
     /**
      * Determines if it's time to schedule workloads.
      *
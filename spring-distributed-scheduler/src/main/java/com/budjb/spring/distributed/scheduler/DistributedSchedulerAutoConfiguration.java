@@ -21,7 +21,10 @@ import com.budjb.spring.distributed.lock.DistributedLockProvider;
 import com.budjb.spring.distributed.scheduler.strategy.GreedySchedulerStrategy;
 import com.budjb.spring.distributed.scheduler.strategy.SchedulerStrategy;
 import com.budjb.spring.distributed.scheduler.workload.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -40,6 +43,11 @@ public class DistributedSchedulerAutoConfiguration {
         return new WorkloadContextManager(workloadContextFactories, schedulerProperties);
     }
 
+    @Bean
+    public WorkloadStateEventPublisher workloadStateEventPublisher(WorkloadContextManager workloadContextManager, ApplicationEventPublisher applicationEventPublisher) {
+        return new WorkloadStateEventPublisher(workloadContextManager, applicationEventPublisher);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
@@ -55,12 +63,21 @@ public class DistributedSchedulerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public WorkloadRepository workloadRepository(List<WorkloadRepositorySource> sources) {
-        return new CachingWorkloadRepository(sources);
+    public WorkloadRepository workloadRepository(List<WorkloadRepositorySource> sources, SchedulerProperties schedulerProperties) {
+        return new CachingWorkloadRepository(sources, schedulerProperties);
     }
 
     @Bean
     WorkloadLifecycleHelper workloadLifecycleHelper(ClusterManager clusterManager, WorkloadRepository workloadRepository) {
         return new WorkloadLifecycleHelper(clusterManager, workloadRepository);
     }
+
+    @Configuration
+    @ConditionalOnClass(MeterBinder.class)
+    static class MetricsConfiguration {
+        @Bean
+        public DistributedSchedulerMetrics distributedSchedulerMetrics(WorkloadContextManager workloadContextManager, WorkloadRepository workloadRepository, SchedulerProperties schedulerProperties, SchedulerStrategy schedulerStrategy) {
+            return new DistributedSchedulerMetrics(workloadContextManager, workloadRepository, schedulerProperties, schedulerStrategy);
+        }
+    }
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler;
+
+import com.budjb.spring.distributed.scheduler.strategy.SchedulerStrategy;
+import com.budjb.spring.distributed.scheduler.workload.CachingWorkloadRepository;
+import com.budjb.spring.distributed.scheduler.workload.SimpleWorkloadRepository;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadBulkhead;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadContextManager;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadLifecycleExecutor;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadRepository;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadResourceSampler;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadWatchdog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds metrics about the local cluster member's scheduler components to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * This binder is only registered when Micrometer is present on the classpath.
+ */
+public class DistributedSchedulerMetrics implements MeterBinder {
+    /**
+     * Workload context manager.
+     */
+    private final WorkloadContextManager workloadContextManager;
+
+    /**
+     * Workload repository.
+     */
+    private final WorkloadRepository workloadRepository;
+
+    /**
+     * Scheduler properties.
+     */
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Workload scheduler strategy.
+     */
+    private final SchedulerStrategy schedulerStrategy;
+
+    /**
+     * Constructor.
+     *
+     * @param workloadContextManager Workload context manager.
+     * @param workloadRepository     Workload repository.
+     * @param schedulerProperties    Scheduler properties.
+     * @param schedulerStrategy      Workload scheduler strategy.
+     */
+    public DistributedSchedulerMetrics(WorkloadContextManager workloadContextManager, WorkloadRepository workloadRepository, SchedulerProperties schedulerProperties, SchedulerStrategy schedulerStrategy) {
+        this.workloadContextManager = workloadContextManager;
+        this.workloadRepository = workloadRepository;
+        this.schedulerProperties = schedulerProperties;
+        this.schedulerStrategy = schedulerStrategy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        WorkloadLifecycleExecutor lifecycleExecutor = workloadContextManager.getLifecycleExecutor();
+
+        Gauge.builder("scheduler.lifecycle.queue.depth", lifecycleExecutor, WorkloadLifecycleExecutor::getQueueDepth)
+            .description("Number of workload lifecycle operations waiting to run")
+            .register(registry);
+
+        for (WorkloadLifecycleExecutor.Operation operation : WorkloadLifecycleExecutor.Operation.values()) {
+            Gauge.builder("scheduler.lifecycle.backlog", lifecycleExecutor, e -> e.getQueueDepth(operation))
+                .description("Number of workload lifecycle operations waiting on their parallelism limit")
+                .tag("operation", operation.name().toLowerCase())
+                .register(registry);
+        }
+
+        Gauge.builder("scheduler.lifecycle.active", lifecycleExecutor, WorkloadLifecycleExecutor::getActiveCount)
+            .description("Number of threads actively running workload lifecycle operations")
+            .register(registry);
+
+        Gauge.builder("scheduler.lifecycle.pool.size", lifecycleExecutor, WorkloadLifecycleExecutor::getPoolSize)
+            .description("Number of threads in the workload lifecycle pool")
+            .register(registry);
+
+        Gauge.builder("scheduler.workloads.starting", workloadContextManager, WorkloadContextManager::getPendingStartCount)
+            .description("Number of workloads waiting to be admitted by the start throttle")
+            .register(registry);
+
+        Gauge.builder("scheduler.workloads.pending.local", schedulerStrategy, s -> s.getPendingWorkloads().size())
+            .description("Number of workloads the most recent scheduling round run by this cluster member could not place on any cluster member; only meaningful on the member that last held the scheduler lock")
+            .register(registry);
+
+        FunctionCounter.builder("scheduler.watchdog.failures", workloadContextManager.getWatchdog(), WorkloadWatchdog::getDetectedFailureCount)
+            .description("Number of dead or stalled workloads detected by the watchdog")
+            .register(registry);
+
+        Gauge.builder("scheduler.workloads.cpu", workloadContextManager.getResourceSampler(), WorkloadResourceSampler::getTotalCpuRate)
+            .description("Rolling number of CPU cores kept busy by workloads")
+            .register(registry);
+
+        Gauge.builder("scheduler.workloads.allocation.rate", workloadContextManager.getResourceSampler(), WorkloadResourceSampler::getTotalAllocationRate)
+            .description("Rolling rate at which workloads allocate memory")
+            .baseUnit("bytes")
+            .register(registry);
+
+        Set<String> bulkheadTypes = new HashSet<>();
+        bulkheadTypes.addAll(schedulerProperties.getWorkloadThreadLimitPerType().keySet());
+        bulkheadTypes.addAll(schedulerProperties.getWorkloadThreadPriorityPerType().keySet());
+
+        for (String type : bulkheadTypes) {
+            WorkloadBulkhead bulkhead = workloadContextManager.getBulkhead(type);
+
+            Gauge.builder("scheduler.bulkhead.threads", bulkhead, WorkloadBulkhead::getActiveThreads)
+                .description("Number of live workload threads in the bulkhead of a workload type")
+                .tag("type", type)
+                .register(registry);
+
+            Gauge.builder("scheduler.bulkhead.pending", bulkhead, WorkloadBulkhead::getPendingStarts)
+                .description("Number of workload starts waiting for room in the bulkhead of a workload type")
+                .tag("type", type)
+                .register(registry);
+
+            FunctionCounter.builder("scheduler.bulkhead.queued", bulkhead, WorkloadBulkhead::getQueuedCount)
+                .description("Number of workload starts that waited because the bulkhead of their workload type was full")
+                .tag("type", type)
+                .register(registry);
+        }
+
+        Map<RunningState, Counter> transitions = new EnumMap<>(RunningState.class);
+
+        for (RunningState state : RunningState.values()) {
+            transitions.put(state, Counter.builder("scheduler.workload.transitions")
+                .description("Number of workload running state transitions, by the state moved to")
+                .tag("state", state.name().toLowerCase())
+                .register(registry));
+        }
+
+        workloadContextManager.addStateListener(transition -> transitions.get(transition.getTo()).increment());
+
+        if (workloadRepository instanceof SimpleWorkloadRepository) {
+            bindSources((SimpleWorkloadRepository) workloadRepository, registry);
+        }
+
+        if (workloadRepository instanceof CachingWorkloadRepository) {
+            bindRepository((CachingWorkloadRepository) workloadRepository, registry);
+        }
+    }
+
+    /**
+     * Binds metrics about each workload repository source.
+     *
+     * @param repository Workload repository.
+     * @param registry   Meter registry.
+     */
+    private void bindSources(SimpleWorkloadRepository repository, MeterRegistry registry) {
+        for (SimpleWorkloadRepository.SourceStatistics statistics : repository.getSourceStatistics()) {
+            FunctionTimer.builder("scheduler.repository.source.query", statistics, SimpleWorkloadRepository.SourceStatistics::getQueryCount, s -> s.getQueryTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                .description("Time spent querying a workload repository source")
+                .tag("source", statistics.getName())
+                .register(registry);
+
+            FunctionCounter.builder("scheduler.repository.source.failures", statistics, SimpleWorkloadRepository.SourceStatistics::getFailureCount)
+                .description("Number of workload repository source queries that failed or timed out, by cause")
+                .tag("source", statistics.getName())
+                .tag("cause", "error")
+                .register(registry);
+
+            FunctionCounter.builder("scheduler.repository.source.failures", statistics, SimpleWorkloadRepository.SourceStatistics::getTimeoutCount)
+                .description("Number of workload repository source queries that failed or timed out, by cause")
+                .tag("source", statistics.getName())
+                .tag("cause", "timeout")
+                .register(registry);
+        }
+    }
+
+    /**
+     * Binds metrics about the caching workload repository.
+     *
+     * @param repository Caching workload repository.
+     * @param registry   Meter registry.
+     */
+    private void bindRepository(CachingWorkloadRepository repository, MeterRegistry registry) {
+        FunctionCounter.builder("scheduler.repository.requests", repository, CachingWorkloadRepository::getHitCount)
+            .description("Number of workload repository requests, by how they were served")
+            .tag("result", "hit")
+            .register(registry);
+
+        FunctionCounter.builder("scheduler.repository.requests", repository, CachingWorkloadRepository::getStaleHitCount)
+            .description("Number of workload repository requests, by how they were served")
+            .tag("result", "stale")
+            .register(registry);
+
+        FunctionCounter.builder("scheduler.repository.requests", repository, CachingWorkloadRepository::getMissCount)
+            .description("Number of workload repository requests, by how they were served")
+            .tag("result", "miss")
+            .register(registry);
+
+        FunctionTimer.builder("scheduler.repository.refresh", repository, CachingWorkloadRepository::getRefreshCount, r -> r.getRefreshTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+            .description("Time spent refreshing the workload repository from its sources")
+            .register(registry);
+
+        FunctionCounter.builder("scheduler.repository.refresh.failures", repository, CachingWorkloadRepository::getRefreshFailureCount)
+            .description("Number of workload repository refreshes in which a source failed")
+            .register(registry);
+    }
+}
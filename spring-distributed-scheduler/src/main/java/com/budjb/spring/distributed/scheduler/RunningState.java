@@ -66,4 +66,15 @@ public enum RunningState {
     public boolean isTerminated() {
         return terminated;
     }
+
+    /**
+     * Returns whether a workload in this state may move to the given state. States only ever move
+     * forward, and a workload that has terminated may not change state again.
+     *
+     * @param next State to move to.
+     * @return Whether the transition is valid.
+     */
+    public boolean canTransitionTo(RunningState next) {
+        return !terminated && next.ordinal() > ordinal();
+    }
 }
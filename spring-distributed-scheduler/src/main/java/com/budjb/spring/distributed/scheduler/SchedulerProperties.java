@@ -20,6 +20,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A set of configuration properties used to manage the cluster.
@@ -51,6 +53,175 @@ public class SchedulerProperties {
      * the instruction logic has completed (in milliseconds).
      */
     private Duration actionPollInterval = Duration.ofMillis(250);
+    /**
+     * The number of threads the workload context manager keeps available to run workload
+     * lifecycle operations (stop, restart, shutdown).
+     */
+    private int lifecycleCorePoolSize = 8;
+    /**
+     * The maximum number of threads the workload context manager will use to run workload
+     * lifecycle operations. Threads beyond the core pool size are created whenever no idle
+     * thread is available, and once the pool is full, operations run on the submitting thread.
+     * Defaults to the sum of the lifecycle parallelism limits.
+     */
+    private int lifecycleMaxPoolSize = 128;
+    /**
+     * The amount of time an idle lifecycle thread is kept alive before being released.
+     */
+    private Duration lifecycleKeepAlive = Duration.ofSeconds(60);
+    /**
+     * The maximum number of workload contexts that may be started concurrently when workloads
+     * are started in bulk.
+     */
+    private int lifecycleStartParallelism = 16;
+    /**
+     * The maximum number of workload stop operations (stop and remove) that may run concurrently.
+     */
+    private int lifecycleStopParallelism = 32;
+    /**
+     * The maximum number of workload restart operations that may run concurrently.
+     */
+    private int lifecycleRestartParallelism = 16;
+    /**
+     * The maximum number of workload stop operations that may run concurrently when shutting
+     * down all workloads.
+     */
+    private int lifecycleShutdownParallelism = 64;
+    /**
+     * The maximum sustained rate at which a cluster member starts workloads, in starts per second.
+     * A value of 0 disables rate limiting.
+     */
+    private double startRate = 0;
+    /**
+     * The number of workloads a cluster member may start in a burst before the start rate applies.
+     */
+    private int startBurst = 10;
+    /**
+     * The upper bound of a random delay applied before each workload start. A value of 0 disables jitter.
+     */
+    private Duration startJitter = Duration.ZERO;
+    /**
+     * The maximum number of workloads of the same type that a cluster member may be starting at once.
+     * A workload counts against the limit until it is running or has terminated. A value of 0 means unlimited.
+     */
+    private int startConcurrency = 0;
+    /**
+     * Per workload type overrides of the start concurrency limit, keyed by workload type.
+     */
+    private Map<String, Integer> startConcurrencyPerType = new HashMap<>();
+    /**
+     * Whether cluster members should restart their own failed workloads immediately, rather than waiting
+     * for the next scheduling round. Failures and restarts are only counted while supervision is enabled, so
+     * crash looping workloads are only detected and quarantined when it is.
+     */
+    private boolean supervisionEnabled = false;
+    /**
+     * The amount of time that should pass between checks for failed workloads when supervision is enabled.
+     */
+    private Duration supervisionInterval = Duration.ofSeconds(1);
+    /**
+     * The amount of time to wait before restarting a workload after its first failure. The wait doubles
+     * with each further failure within the crash loop window.
+     */
+    private Duration restartBackoffInitial = Duration.ofSeconds(1);
+    /**
+     * The maximum amount of time to wait before restarting a failed workload.
+     */
+    private Duration restartBackoffMax = Duration.ofMinutes(5);
+    /**
+     * The number of failures within the crash loop window after which a workload is considered crash looping
+     * and is quarantined rather than restarted. Only applies while supervision is enabled.
+     */
+    private int crashLoopThreshold = 5;
+    /**
+     * The window of time over which workload failures and restarts are counted. Only applies while supervision
+     * is enabled.
+     */
+    private Duration crashLoopWindow = Duration.ofMinutes(10);
+    /**
+     * The amount of time that should pass between sweeps for workloads whose threads have died or stalled
+     * without reporting a failure. A value of 0 disables the watchdog, which is the default.
+     */
+    private Duration watchdogInterval = Duration.ZERO;
+    /**
+     * The amount of time a started workload may take to reach its running state before the watchdog considers
+     * it stalled and fails it. A value of 0 disables the startup timeout, which is the default.
+     */
+    private Duration watchdogStartupTimeout = Duration.ZERO;
+    /**
+     * The amount of time a running workload that reports heartbeats may go without one before it is
+     * considered stalled and treated as failed. A value of 0 disables stall detection.
+     */
+    private Duration stallThreshold = Duration.ZERO;
+    /**
+     * Stall thresholds for specific workload types, overriding the default stall threshold.
+     */
+    private Map<String, Duration> stallThresholdPerType = new HashMap<>();
+    /**
+     * The amount of time that should pass between samples of workload CPU time and allocated bytes.
+     * A value of 0 disables sampling.
+     */
+    private Duration resourceSampleInterval = Duration.ofSeconds(10);
+    /**
+     * The window of time over which workload CPU and allocation rates are computed.
+     */
+    private Duration resourceSampleWindow = Duration.ofMinutes(1);
+    /**
+     * The maximum number of live workload threads of any one workload type. A value of 0 means unlimited.
+     */
+    private int workloadThreadLimit = 0;
+    /**
+     * Per workload type overrides of the workload thread limit, keyed by workload type.
+     */
+    private Map<String, Integer> workloadThreadLimitPerType = new HashMap<>();
+    /**
+     * The priority of workload threads.
+     */
+    private int workloadThreadPriority = Thread.NORM_PRIORITY;
+    /**
+     * Per workload type overrides of the workload thread priority, keyed by workload type.
+     */
+    private Map<String, Integer> workloadThreadPriorityPerType = new HashMap<>();
+    /**
+     * The maximum number of workload repository sources that are queried concurrently.
+     */
+    private int repositoryQueryParallelism = 4;
+    /**
+     * The amount of time a workload repository source query may run before the source is treated as failed.
+     * A value of 0 disables the timeout.
+     */
+    private Duration repositoryQueryTimeout = Duration.ofSeconds(30);
+    /**
+     * The amount of time the caching workload repository serves a snapshot of workloads before it expires.
+     */
+    private Duration repositoryCacheTtl = Duration.ofSeconds(60);
+    /**
+     * The amount of time before the cached snapshot of workloads expires during which it is refreshed in the
+     * background while still being served.
+     */
+    private Duration repositoryRefreshAhead = Duration.ofSeconds(10);
+    /**
+     * The amount of time past its expiry that a cached snapshot of workloads continues to be served while
+     * refreshes fail.
+     */
+    private Duration repositoryStaleWhileError = Duration.ofMinutes(5);
+    /**
+     * Labels of the local cluster member, published with its workload report and matched against the placement
+     * constraints of workloads.
+     */
+    private Map<String, String> memberLabels = new HashMap<>();
+    /**
+     * The maximum number of workloads the local cluster member runs, published with its workload report. Workloads
+     * beyond the capacity of the cluster remain pending. A value of 0 means unlimited.
+     */
+    private int memberMaxWorkloads = 0;
+
+    /**
+     * The maximum total {@link com.budjb.spring.distributed.scheduler.workload.Workload#getWeight() weight} of the
+     * workloads the local cluster member runs, published with its workload report. Workloads beyond the capacity of
+     * the cluster remain pending. A value of 0 means unlimited.
+     */
+    private double memberMaxWeight = 0;
 
     public Duration getActionPollTimeout() {
         return actionPollTimeout;
@@ -68,6 +239,294 @@ public class SchedulerProperties {
         this.actionPollInterval = actionPollInterval;
     }
 
+    public int getLifecycleCorePoolSize() {
+        return lifecycleCorePoolSize;
+    }
+
+    public void setLifecycleCorePoolSize(int lifecycleCorePoolSize) {
+        this.lifecycleCorePoolSize = lifecycleCorePoolSize;
+    }
+
+    public int getLifecycleMaxPoolSize() {
+        return lifecycleMaxPoolSize;
+    }
+
+    public void setLifecycleMaxPoolSize(int lifecycleMaxPoolSize) {
+        this.lifecycleMaxPoolSize = lifecycleMaxPoolSize;
+    }
+
+    public Duration getLifecycleKeepAlive() {
+        return lifecycleKeepAlive;
+    }
+
+    public void setLifecycleKeepAlive(Duration lifecycleKeepAlive) {
+        this.lifecycleKeepAlive = lifecycleKeepAlive;
+    }
+
+    public int getLifecycleStartParallelism() {
+        return lifecycleStartParallelism;
+    }
+
+    public void setLifecycleStartParallelism(int lifecycleStartParallelism) {
+        this.lifecycleStartParallelism = lifecycleStartParallelism;
+    }
+
+    public int getLifecycleStopParallelism() {
+        return lifecycleStopParallelism;
+    }
+
+    public void setLifecycleStopParallelism(int lifecycleStopParallelism) {
+        this.lifecycleStopParallelism = lifecycleStopParallelism;
+    }
+
+    public int getLifecycleRestartParallelism() {
+        return lifecycleRestartParallelism;
+    }
+
+    public void setLifecycleRestartParallelism(int lifecycleRestartParallelism) {
+        this.lifecycleRestartParallelism = lifecycleRestartParallelism;
+    }
+
+    public int getLifecycleShutdownParallelism() {
+        return lifecycleShutdownParallelism;
+    }
+
+    public void setLifecycleShutdownParallelism(int lifecycleShutdownParallelism) {
+        this.lifecycleShutdownParallelism = lifecycleShutdownParallelism;
+    }
+
+    public double getStartRate() {
+        return startRate;
+    }
+
+    public void setStartRate(double startRate) {
+        this.startRate = startRate;
+    }
+
+    public int getStartBurst() {
+        return startBurst;
+    }
+
+    public void setStartBurst(int startBurst) {
+        this.startBurst = startBurst;
+    }
+
+    public Duration getStartJitter() {
+        return startJitter;
+    }
+
+    public void setStartJitter(Duration startJitter) {
+        this.startJitter = startJitter;
+    }
+
+    public int getStartConcurrency() {
+        return startConcurrency;
+    }
+
+    public void setStartConcurrency(int startConcurrency) {
+        this.startConcurrency = startConcurrency;
+    }
+
+    public Map<String, Integer> getStartConcurrencyPerType() {
+        return startConcurrencyPerType;
+    }
+
+    public void setStartConcurrencyPerType(Map<String, Integer> startConcurrencyPerType) {
+        this.startConcurrencyPerType = startConcurrencyPerType;
+    }
+
+    public boolean isSupervisionEnabled() {
+        return supervisionEnabled;
+    }
+
+    public void setSupervisionEnabled(boolean supervisionEnabled) {
+        this.supervisionEnabled = supervisionEnabled;
+    }
+
+    public Duration getSupervisionInterval() {
+        return supervisionInterval;
+    }
+
+    public void setSupervisionInterval(Duration supervisionInterval) {
+        this.supervisionInterval = supervisionInterval;
+    }
+
+    public Duration getRestartBackoffInitial() {
+        return restartBackoffInitial;
+    }
+
+    public void setRestartBackoffInitial(Duration restartBackoffInitial) {
+        this.restartBackoffInitial = restartBackoffInitial;
+    }
+
+    public Duration getRestartBackoffMax() {
+        return restartBackoffMax;
+    }
+
+    public void setRestartBackoffMax(Duration restartBackoffMax) {
+        this.restartBackoffMax = restartBackoffMax;
+    }
+
+    public int getCrashLoopThreshold() {
+        return crashLoopThreshold;
+    }
+
+    public void setCrashLoopThreshold(int crashLoopThreshold) {
+        this.crashLoopThreshold = crashLoopThreshold;
+    }
+
+    public Duration getCrashLoopWindow() {
+        return crashLoopWindow;
+    }
+
+    public void setCrashLoopWindow(Duration crashLoopWindow) {
+        this.crashLoopWindow = crashLoopWindow;
+    }
+
+    public Duration getWatchdogInterval() {
+        return watchdogInterval;
+    }
+
+    public void setWatchdogInterval(Duration watchdogInterval) {
+        this.watchdogInterval = watchdogInterval;
+    }
+
+    public Duration getWatchdogStartupTimeout() {
+        return watchdogStartupTimeout;
+    }
+
+    public void setWatchdogStartupTimeout(Duration watchdogStartupTimeout) {
+        this.watchdogStartupTimeout = watchdogStartupTimeout;
+    }
+
+    public Duration getStallThreshold() {
+        return stallThreshold;
+    }
+
+    public void setStallThreshold(Duration stallThreshold) {
+        this.stallThreshold = stallThreshold;
+    }
+
+    public Map<String, Duration> getStallThresholdPerType() {
+        return stallThresholdPerType;
+    }
+
+    public void setStallThresholdPerType(Map<String, Duration> stallThresholdPerType) {
+        this.stallThresholdPerType = stallThresholdPerType;
+    }
+
+    public Duration getResourceSampleInterval() {
+        return resourceSampleInterval;
+    }
+
+    public void setResourceSampleInterval(Duration resourceSampleInterval) {
+        this.resourceSampleInterval = resourceSampleInterval;
+    }
+
+    public Duration getResourceSampleWindow() {
+        return resourceSampleWindow;
+    }
+
+    public void setResourceSampleWindow(Duration resourceSampleWindow) {
+        this.resourceSampleWindow = resourceSampleWindow;
+    }
+
+    public int getWorkloadThreadLimit() {
+        return workloadThreadLimit;
+    }
+
+    public void setWorkloadThreadLimit(int workloadThreadLimit) {
+        this.workloadThreadLimit = workloadThreadLimit;
+    }
+
+    public Map<String, Integer> getWorkloadThreadLimitPerType() {
+        return workloadThreadLimitPerType;
+    }
+
+    public void setWorkloadThreadLimitPerType(Map<String, Integer> workloadThreadLimitPerType) {
+        this.workloadThreadLimitPerType = workloadThreadLimitPerType;
+    }
+
+    public int getWorkloadThreadPriority() {
+        return workloadThreadPriority;
+    }
+
+    public void setWorkloadThreadPriority(int workloadThreadPriority) {
+        this.workloadThreadPriority = workloadThreadPriority;
+    }
+
+    public Map<String, Integer> getWorkloadThreadPriorityPerType() {
+        return workloadThreadPriorityPerType;
+    }
+
+    public void setWorkloadThreadPriorityPerType(Map<String, Integer> workloadThreadPriorityPerType) {
+        this.workloadThreadPriorityPerType = workloadThreadPriorityPerType;
+    }
+
+    public int getRepositoryQueryParallelism() {
+        return repositoryQueryParallelism;
+    }
+
+    public void setRepositoryQueryParallelism(int repositoryQueryParallelism) {
+        this.repositoryQueryParallelism = repositoryQueryParallelism;
+    }
+
+    public Duration getRepositoryQueryTimeout() {
+        return repositoryQueryTimeout;
+    }
+
+    public void setRepositoryQueryTimeout(Duration repositoryQueryTimeout) {
+        this.repositoryQueryTimeout = repositoryQueryTimeout;
+    }
+
+    public Duration getRepositoryCacheTtl() {
+        return repositoryCacheTtl;
+    }
+
+    public void setRepositoryCacheTtl(Duration repositoryCacheTtl) {
+        this.repositoryCacheTtl = repositoryCacheTtl;
+    }
+
+    public Duration getRepositoryRefreshAhead() {
+        return repositoryRefreshAhead;
+    }
+
+    public void setRepositoryRefreshAhead(Duration repositoryRefreshAhead) {
+        this.repositoryRefreshAhead = repositoryRefreshAhead;
+    }
+
+    public Duration getRepositoryStaleWhileError() {
+        return repositoryStaleWhileError;
+    }
+
+    public void setRepositoryStaleWhileError(Duration repositoryStaleWhileError) {
+        this.repositoryStaleWhileError = repositoryStaleWhileError;
+    }
+
+    public Map<String, String> getMemberLabels() {
+        return memberLabels;
+    }
+
+    public void setMemberLabels(Map<String, String> memberLabels) {
+        this.memberLabels = memberLabels;
+    }
+
+    public int getMemberMaxWorkloads() {
+        return memberMaxWorkloads;
+    }
+
+    public void setMemberMaxWorkloads(int memberMaxWorkloads) {
+        this.memberMaxWorkloads = memberMaxWorkloads;
+    }
+
+    public double getMemberMaxWeight() {
+        return memberMaxWeight;
+    }
+
+    public void setMemberMaxWeight(double memberMaxWeight) {
+        this.memberMaxWeight = memberMaxWeight;
+    }
+
     public Duration getRebalancePollDelay() {
         return rebalancePollDelay;
     }
@@ -82,6 +82,8 @@ public class WorkloadActionsInstruction implements Instruction<Boolean> {
     @Override
     public Boolean call() {
         List<Future<?>> futures = new ArrayList<>();
+        List<Workload> additions = new ArrayList<>();
+        List<Workload> removals = new ArrayList<>();
 
         actions.removeIf(a -> {
             if (a.getActionType() == ActionType.ADD) {
@@ -100,7 +102,7 @@ public class WorkloadActionsInstruction implements Instruction<Boolean> {
                 switch (action.getActionType()) {
                     case ADD:
                         log.info("Adding workload " + workload + " to node");
-                        workloadContextManager.start(workload);
+                        additions.add(workload);
                         break;
 
                     case STOP:
@@ -110,7 +112,7 @@ public class WorkloadActionsInstruction implements Instruction<Boolean> {
 
                     case REMOVE:
                         log.info("Removing workload " + workload + " from node");
-                        futures.add(workloadContextManager.remove(workload));
+                        removals.add(workload);
                         break;
 
                     case RESTART:
@@ -132,6 +134,26 @@ public class WorkloadActionsInstruction implements Instruction<Boolean> {
             }
         }
 
+        if (removals.size() > 0) {
+            try {
+                futures.add(workloadContextManager.removeAll(removals));
+            }
+            catch (Exception e) {
+                log.error("Unhandled exception encountered while removing " + removals.size() + " workloads", e);
+            }
+        }
+
+        if (additions.size() > 0) {
+            try {
+                // The added workloads are registered, and report as starting, by the time startAll returns. Their
+                // starts are not waited on, so that a start throttle does not hold up the instruction.
+                workloadContextManager.startAll(additions);
+            }
+            catch (Exception e) {
+                log.error("Unhandled exception encountered while adding " + additions.size() + " workloads", e);
+            }
+        }
+
         try {
             while (futures.size() > 0) {
                 futures.removeIf(Future::isDone);
@@ -22,6 +22,8 @@ import com.budjb.spring.distributed.scheduler.instruction.ActionType;
 import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruction;
 import com.budjb.spring.distributed.scheduler.workload.Workload;
 import com.budjb.spring.distributed.scheduler.workload.WorkloadReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -29,8 +31,60 @@ import java.util.stream.Collectors;
 /**
  * A base implementation of {@link SchedulerStrategy} that primarily provides a set of
  * helper methods for manipulating workload assignments between cluster members.
+ * <p>
+ * It also provides the feasibility filter that strategies use to honor the placement constraints of workloads:
+ * the cluster member labels a workload requires or prefers, its anti-affinity group, and the capacity of each
+ * cluster member. Workloads that no cluster member can take remain pending rather than overloading a member, and
+ * may preempt workloads of a lower {@link Workload#getPriority() priority} to make room for themselves.
  */
 public abstract class AbstractSchedulerStrategy implements SchedulerStrategy {
+    /**
+     * Logger.
+     */
+    private final Logger log = LoggerFactory.getLogger(AbstractSchedulerStrategy.class);
+
+    /**
+     * Workloads left pending by the most recent scheduling round run by this cluster member.
+     */
+    private volatile Set<Workload> pendingWorkloads = Collections.emptySet();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Workload> getPendingWorkloads() {
+        return pendingWorkloads;
+    }
+
+    /**
+     * Records the workloads left pending by a full scheduling round, replacing those of earlier rounds. The value
+     * is local to this cluster member and is not updated by rounds that other members run.
+     *
+     * @param context Scheduler strategy context.
+     */
+    protected void updatePendingWorkloads(SchedulerStrategyContext context) {
+        pendingWorkloads = Collections.unmodifiableSet(new HashSet<>(context.getPending()));
+    }
+
+    /**
+     * Records the workloads left pending by a scheduling round for just the given changes to the workload
+     * repository. Workloads left pending by earlier rounds remain pending until a full round, unless they were
+     * removed from or added to the repository again. Like {@link #updatePendingWorkloads(SchedulerStrategyContext)},
+     * this only records rounds run by this cluster member.
+     *
+     * @param context          Scheduler strategy context.
+     * @param addedWorkloads   Workloads that have been added to the workload repository.
+     * @param removedWorkloads Workloads that have been removed from the workload repository.
+     */
+    protected void updatePendingWorkloads(SchedulerStrategyContext context, Set<? extends Workload> addedWorkloads, Set<? extends Workload> removedWorkloads) {
+        Set<Workload> pending = new HashSet<>(pendingWorkloads);
+        pending.removeAll(addedWorkloads);
+        pending.removeAll(removedWorkloads);
+        pending.addAll(context.getPending());
+
+        pendingWorkloads = Collections.unmodifiableSet(pending);
+    }
+
     /**
      * Removes the given workload regardless of what cluster member it's on.
      *
@@ -80,6 +134,503 @@ public abstract class AbstractSchedulerStrategy implements SchedulerStrategy {
         addAction(context, clusterMember, workload, ActionType.ADD);
     }
 
+    /**
+     * Returns the registered workloads that are not running on any cluster member.
+     *
+     * @param registeredWorkloads Workloads that should be scheduled by the cluster.
+     * @param reports             Mapping of cluster members to workload reports.
+     * @return The workloads that are not yet scheduled.
+     */
+    protected Set<Workload> findNewWorkloads(Set<? extends Workload> registeredWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        Set<Workload> existingWorkloads = reports.values().stream().flatMap(report -> report.getEntries().stream()).map(WorkloadReport.Entry::getWorkload).collect(Collectors.toSet());
+
+        return registeredWorkloads.stream().filter(workload -> !existingWorkloads.contains(workload)).collect(Collectors.toSet());
+    }
+
+    /**
+     * De-schedules workloads that are running on a cluster member but are no longer registered.
+     *
+     * @param context             Scheduler strategy context.
+     * @param registeredWorkloads Workloads that should be scheduled by the cluster.
+     * @param reports             Mapping of cluster members to workload reports.
+     */
+    protected void removeOrphanedWorkloads(SchedulerStrategyContext context, Set<? extends Workload> registeredWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        reports.values().stream()
+            .flatMap(report -> report.getEntries().stream())
+            .map(WorkloadReport.Entry::getWorkload)
+            .filter(workload -> !registeredWorkloads.contains(workload))
+            .collect(Collectors.toSet())
+            .forEach(w -> removeWorkload(context, w));
+    }
+
+    /**
+     * Removes workloads that are running on more than one cluster member from all but the first of them.
+     * <p>
+     * Note that this should not occur under normal circumstances but may happen when service discovery is lost.
+     *
+     * @param context             Scheduler strategy context.
+     * @param registeredWorkloads Workloads that should be scheduled by the cluster.
+     * @param reports             Mapping of cluster members to workload reports.
+     */
+    protected void removeDuplicateWorkloads(SchedulerStrategyContext context, Set<? extends Workload> registeredWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        registeredWorkloads.forEach(w -> {
+            boolean found = false;
+
+            for (ClusterMember clusterMember : reports.keySet()) {
+                WorkloadReport report = reports.get(clusterMember);
+
+                if (report.getEntries().stream().anyMatch(e -> e.getWorkload().getUrn().equals(w.getUrn()))) {
+                    if (!found) {
+                        found = true;
+                    }
+                    else {
+                        removeWorkload(context, clusterMember, w);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Restarts failed and stalled workloads where they are, leaving quarantined workloads alone.
+     *
+     * @param context Scheduler strategy context.
+     */
+    protected void restartFailedWorkloads(SchedulerStrategyContext context) {
+        context.getMapping().forEach((k, v) -> v.getEntries().stream().filter(e -> isFailed(e) && !isQuarantined(e)).map(WorkloadReport.Entry::getWorkload).distinct().forEach(w -> restartWorkload(context, k, w)));
+    }
+
+    /**
+     * Returns whether the workload of the given report entry is quarantined. Quarantined workloads are crash
+     * looping on their cluster member, and should be neither restarted nor moved until the quarantine lifts.
+     * Workloads are only ever quarantined while supervision is enabled.
+     *
+     * @param entry Workload report entry.
+     * @return Whether the workload is quarantined.
+     */
+    protected boolean isQuarantined(WorkloadReport.Entry entry) {
+        return entry.isCrashLooping();
+    }
+
+    /**
+     * Returns whether the workload of the given report entry has failed and should be restarted. Workloads
+     * that have terminated and workloads that have stalled are both considered failed.
+     *
+     * @param entry Workload report entry.
+     * @return Whether the workload has failed.
+     */
+    protected boolean isFailed(WorkloadReport.Entry entry) {
+        return entry.getState().isTerminated() || entry.isStalled();
+    }
+
+    /**
+     * Returns the workloads whose labels match the given selector.
+     *
+     * @param workloads Workloads to filter.
+     * @param selector  Label selector.
+     * @return The matching workloads.
+     */
+    protected Set<Workload> selectWorkloads(Collection<? extends Workload> workloads, LabelSelector selector) {
+        return workloads.stream().filter(selector::matches).collect(Collectors.toSet());
+    }
+
+    /**
+     * Groups the given workloads by the value of a label. Workloads that do not have the label are grouped
+     * under the {@code null} key.
+     *
+     * @param workloads Workloads to group.
+     * @param key       Label key to group by.
+     * @return The workloads, grouped by the value of the label.
+     */
+    protected Map<String, Set<Workload>> groupWorkloadsByLabel(Collection<? extends Workload> workloads, String key) {
+        Map<String, Set<Workload>> groups = new HashMap<>();
+
+        for (Workload workload : workloads) {
+            groups.computeIfAbsent(workload.getLabel(key), k -> new HashSet<>()).add(workload);
+        }
+
+        return groups;
+    }
+
+    /**
+     * Returns the selector that the labels of a cluster member must match to run the given workload.
+     *
+     * @param workload Workload to get the selector for.
+     * @return The required cluster member selector.
+     */
+    protected LabelSelector getRequiredSelector(Workload workload) {
+        Map<String, String> labels = workload.getRequiredMemberLabels();
+
+        return labels.isEmpty() ? LabelSelector.ANY : new LabelSelector(labels);
+    }
+
+    /**
+     * Returns the selector that the labels of a cluster member should match to run the given workload.
+     *
+     * @param workload Workload to get the selector for.
+     * @return The preferred cluster member selector.
+     */
+    protected LabelSelector getPreferredSelector(Workload workload) {
+        Map<String, String> labels = workload.getPreferredMemberLabels();
+
+        return labels.isEmpty() ? LabelSelector.ANY : new LabelSelector(labels);
+    }
+
+    /**
+     * Returns whether the given cluster member may run the given workload. The cluster member must satisfy the
+     * placement constraints of the workload and have the capacity to run it.
+     *
+     * @param context       Scheduler strategy context.
+     * @param clusterMember Cluster member to check.
+     * @param workload      Workload to check.
+     * @return Whether the cluster member may run the workload.
+     */
+    protected boolean isFeasible(SchedulerStrategyContext context, ClusterMember clusterMember, Workload workload) {
+        return satisfiesConstraints(context, clusterMember, workload) && hasCapacity(context, clusterMember, workload);
+    }
+
+    /**
+     * Returns whether the given cluster member satisfies the placement constraints of the given workload. The cluster
+     * member must have every label the workload requires, and must not run another workload of the same anti-affinity
+     * group.
+     *
+     * @param context       Scheduler strategy context.
+     * @param clusterMember Cluster member to check.
+     * @param workload      Workload to check.
+     * @return Whether the cluster member satisfies the placement constraints of the workload.
+     */
+    protected boolean satisfiesConstraints(SchedulerStrategyContext context, ClusterMember clusterMember, Workload workload) {
+        WorkloadReport report = context.getMapping().get(clusterMember);
+
+        if (!getRequiredSelector(workload).matches(report.getLabels())) {
+            return false;
+        }
+
+        String group = workload.getAntiAffinityGroup();
+
+        return group == null || report.getEntries().stream()
+            .map(WorkloadReport.Entry::getWorkload)
+            .noneMatch(w -> group.equals(w.getAntiAffinityGroup()) && !w.equals(workload));
+    }
+
+    /**
+     * Returns whether the given cluster member has the capacity to run the given workload alongside the workloads it
+     * already runs.
+     *
+     * @param context       Scheduler strategy context.
+     * @param clusterMember Cluster member to check.
+     * @param workload      Workload to check.
+     * @return Whether the cluster member has the capacity to run the workload.
+     */
+    protected boolean hasCapacity(SchedulerStrategyContext context, ClusterMember clusterMember, Workload workload) {
+        WorkloadReport report = context.getMapping().get(clusterMember);
+
+        if (report.getMaxWorkloads() <= 0 && report.getMaxWeight() <= 0) {
+            return true;
+        }
+
+        int workloads = report.getEntries().size();
+        double weight = report.getMaxWeight() > 0 ? getTotalWeight(report) : 0;
+
+        if (fitsCapacity(report, workloads + 1, weight + workload.getWeight())) {
+            return true;
+        }
+
+        // Only look for the workload itself when it would make the difference.
+        return report.getEntries().stream().anyMatch(e -> e.getWorkload().equals(workload)) && fitsCapacity(report, workloads, weight);
+    }
+
+    /**
+     * Returns whether the given number and total weight of workloads fit within the capacity of the cluster member
+     * that produced the given report.
+     *
+     * @param report    Workload report of the cluster member.
+     * @param workloads Number of workloads.
+     * @param weight    Total weight of the workloads.
+     * @return Whether the workloads fit.
+     */
+    protected boolean fitsCapacity(WorkloadReport report, int workloads, double weight) {
+        return (report.getMaxWorkloads() <= 0 || workloads <= report.getMaxWorkloads())
+            && (report.getMaxWeight() <= 0 || weight <= report.getMaxWeight());
+    }
+
+    /**
+     * Returns how many of the labels the given workload prefers are present on the given cluster member.
+     *
+     * @param context       Scheduler strategy context.
+     * @param clusterMember Cluster member to check.
+     * @param workload      Workload to check.
+     * @return The number of preferred labels the cluster member has.
+     */
+    protected int getPreferenceScore(SchedulerStrategyContext context, ClusterMember clusterMember, Workload workload) {
+        LabelSelector selector = getPreferredSelector(workload);
+
+        if (selector.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, String> labels = context.getMapping().get(clusterMember).getLabels();
+
+        return (int) selector.getRequirements().entrySet().stream()
+            .filter(e -> e.getValue().equals(labels.get(e.getKey())))
+            .count();
+    }
+
+    /**
+     * Finds the cluster member that should run the given workload. Only feasible cluster members are considered;
+     * of those, the ones with the most preferred labels win, and ties go to the least loaded.
+     *
+     * @param context  Scheduler strategy context.
+     * @param workload Workload to place.
+     * @param load     Orders workload reports from least to most loaded.
+     * @return The cluster member that should run the workload, or {@code null} if no cluster member may run it.
+     */
+    protected ClusterMember findPlacement(SchedulerStrategyContext context, Workload workload, Comparator<WorkloadReport> load) {
+        ClusterMember best = null;
+        int bestScore = -1;
+
+        for (ClusterMember clusterMember : context.getMapping().keySet()) {
+            if (!isFeasible(context, clusterMember, workload)) {
+                continue;
+            }
+
+            int score = getPreferenceScore(context, clusterMember, workload);
+
+            if (best == null || score > bestScore || (score == bestScore && load.compare(context.getMapping().get(clusterMember), context.getMapping().get(best)) < 0)) {
+                best = clusterMember;
+                bestScore = score;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Adds the given workload to the cluster member found by {@link #findPlacement}. When no cluster member may run
+     * the workload, it is added to the {@link SchedulerStrategyContext#getPending() pending workloads} instead.
+     *
+     * @param context  Scheduler strategy context.
+     * @param workload Workload to place.
+     * @param load     Orders workload reports from least to most loaded.
+     * @return The cluster member the workload was placed on, or {@code null} if no cluster member may run it.
+     */
+    protected ClusterMember placeWorkload(SchedulerStrategyContext context, Workload workload, Comparator<WorkloadReport> load) {
+        ClusterMember clusterMember = findPlacement(context, workload, load);
+
+        if (clusterMember == null) {
+            log.debug("No cluster member has the capacity or labels to run workload " + workload.getUrn() + "; it remains pending");
+            context.getPending().add(workload);
+            return null;
+        }
+
+        addWorkload(context, clusterMember, workload);
+        context.getPending().remove(workload);
+
+        return clusterMember;
+    }
+
+    /**
+     * Returns the order in which workloads should be placed, from the highest priority to the lowest.
+     *
+     * @return A comparator of workloads by descending priority.
+     */
+    protected Comparator<Workload> placementOrder() {
+        return Comparator.comparingInt(Workload::getPriority).reversed();
+    }
+
+    /**
+     * Places pending workloads by removing workloads of a lower priority from cluster members that satisfy their
+     * placement constraints but lack the capacity to run them.
+     * <p>
+     * Pending workloads are handled from the highest priority to the lowest. The preempted workloads are placed on
+     * another cluster member if one may run them, may in turn preempt workloads of an even lower priority, and
+     * otherwise remain pending. A preempted workload that was placed earlier in the same round has its placement
+     * dropped rather than being removed again. Strategies that track the placement of workloads should refresh that
+     * state when this method returns {@code true}.
+     *
+     * @param context Scheduler strategy context.
+     * @param load    Orders workload reports from least to most loaded.
+     * @return Whether any workload was moved.
+     */
+    protected boolean preemptForPendingWorkloads(SchedulerStrategyContext context, Comparator<WorkloadReport> load) {
+        PriorityQueue<Workload> queue = new PriorityQueue<>(placementOrder().thenComparing(Workload::getUrn));
+        queue.addAll(context.getPending());
+
+        boolean changed = false;
+
+        while (!queue.isEmpty()) {
+            Workload workload = queue.poll();
+            ClusterMember clusterMember = findPlacement(context, workload, load);
+
+            if (clusterMember == null) {
+                Preemption preemption = findPreemption(context, workload, load);
+
+                if (preemption == null) {
+                    continue;
+                }
+
+                clusterMember = preemption.clusterMember;
+
+                for (Workload victim : preemption.victims) {
+                    log.info("Preempting workload " + victim.getUrn() + " to make room for higher priority workload " + workload.getUrn());
+                    if (!cancelAddWorkload(context, clusterMember, victim)) {
+                        removeWorkload(context, clusterMember, victim);
+                    }
+                    context.getPending().add(victim);
+                    queue.add(victim);
+                }
+            }
+
+            addWorkload(context, clusterMember, workload);
+            context.getPending().remove(workload);
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Drops the placement of the given workload on the given cluster member if it was placed there earlier in the
+     * current round, so that the member is never told to add and then remove it. Strategies that move workloads
+     * should call this before {@link #removeWorkload(SchedulerStrategyContext, ClusterMember, Workload)}.
+     *
+     * @param context       Scheduler strategy context.
+     * @param clusterMember Cluster member the workload was placed on.
+     * @param workload      Workload whose placement should be dropped.
+     * @return Whether the workload had been placed on the cluster member in the current round.
+     */
+    protected boolean cancelAddWorkload(SchedulerStrategyContext context, ClusterMember clusterMember, Workload workload) {
+        List<SchedulerAction> actions = context.getActions().get(clusterMember);
+
+        if (actions == null || !actions.removeIf(a -> a.getActionType() == ActionType.ADD && a.getWorkload().equals(workload))) {
+            return false;
+        }
+
+        context.getMapping().get(clusterMember).getEntries().removeIf(e -> e.getWorkload().equals(workload));
+
+        return true;
+    }
+
+    /**
+     * Finds the cluster member where the given workload can be placed by preempting workloads of a lower priority.
+     * The cluster member whose preempted workloads have the lowest priority wins, then the one preempting the fewest
+     * workloads, and then the least loaded.
+     *
+     * @param context  Scheduler strategy context.
+     * @param workload Workload to place.
+     * @param load     Orders workload reports from least to most loaded.
+     * @return The preemption, or {@code null} if the workload cannot be placed by preempting other workloads.
+     */
+    private Preemption findPreemption(SchedulerStrategyContext context, Workload workload, Comparator<WorkloadReport> load) {
+        Preemption best = null;
+
+        for (ClusterMember clusterMember : context.getMapping().keySet()) {
+            if (!satisfiesConstraints(context, clusterMember, workload)) {
+                continue;
+            }
+
+            List<Workload> victims = findPreemptionVictims(context, clusterMember, workload);
+
+            if (victims == null) {
+                continue;
+            }
+
+            Preemption preemption = new Preemption(clusterMember, victims);
+
+            if (best == null || preemption.compareTo(best, context, load) < 0) {
+                best = preemption;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Returns the workloads of a lower priority than the given workload that would have to be removed from the given
+     * cluster member to make room for it, lowest priority first. Quarantined workloads are never preempted.
+     *
+     * @param context       Scheduler strategy context.
+     * @param clusterMember Cluster member to make room on.
+     * @param workload      Workload to make room for.
+     * @return The workloads to preempt, or {@code null} if no set of workloads would make enough room.
+     */
+    protected List<Workload> findPreemptionVictims(SchedulerStrategyContext context, ClusterMember clusterMember, Workload workload) {
+        WorkloadReport report = context.getMapping().get(clusterMember);
+
+        List<Workload> candidates = report.getEntries().stream()
+            .filter(e -> !isQuarantined(e) && e.getWorkload().getPriority() < workload.getPriority())
+            .map(WorkloadReport.Entry::getWorkload)
+            .sorted(Comparator.comparingInt(Workload::getPriority).thenComparing(Workload::getUrn))
+            .collect(Collectors.toList());
+
+        List<Workload> victims = new ArrayList<>();
+        int workloads = report.getEntries().size() + 1;
+        double weight = getTotalWeight(report) + workload.getWeight();
+
+        for (Workload candidate : candidates) {
+            if (fitsCapacity(report, workloads, weight)) {
+                break;
+            }
+
+            victims.add(candidate);
+            workloads--;
+            weight -= candidate.getWeight();
+        }
+
+        return fitsCapacity(report, workloads, weight) ? victims : null;
+    }
+
+    /**
+     * Returns whether moving the given workload between the given cluster members keeps it feasible and does not
+     * give up any of its preferred labels.
+     *
+     * @param context  Scheduler strategy context.
+     * @param from     Cluster member the workload runs on.
+     * @param to       Cluster member the workload would move to.
+     * @param workload Workload to move.
+     * @return Whether the workload may be moved.
+     */
+    protected boolean canMove(SchedulerStrategyContext context, ClusterMember from, ClusterMember to, Workload workload) {
+        return isFeasible(context, to, workload) && getPreferenceScore(context, to, workload) >= getPreferenceScore(context, from, workload);
+    }
+
+    /**
+     * Removes workloads from cluster members that may no longer run them, for example because the labels of the
+     * member changed, because another workload of the same anti-affinity group runs there, or because the member
+     * runs more workloads than its capacity. The workloads with the lowest priority are removed first. Quarantined
+     * workloads are left alone.
+     *
+     * @param context Scheduler strategy context.
+     * @return The removed workloads, which should be placed again.
+     */
+    protected Set<Workload> removeInfeasibleWorkloads(SchedulerStrategyContext context) {
+        Set<Workload> removed = new HashSet<>();
+
+        for (ClusterMember clusterMember : context.getMapping().keySet()) {
+            List<WorkloadReport.Entry> entries = new ArrayList<>(context.getMapping().get(clusterMember).getEntries());
+            entries.sort(Comparator.comparingInt(e -> e.getWorkload().getPriority()));
+
+            for (WorkloadReport.Entry entry : entries) {
+                if (!isQuarantined(entry) && !isFeasible(context, clusterMember, entry.getWorkload())) {
+                    removeWorkload(context, clusterMember, entry.getWorkload());
+                    removed.add(entry.getWorkload());
+                }
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns the total weight of the workloads in the given report.
+     *
+     * @param report Workload report.
+     * @return The total weight of the report's workloads.
+     */
+    protected double getTotalWeight(WorkloadReport report) {
+        return report.getEntries().stream().mapToDouble(e -> e.getWorkload().getWeight()).sum();
+    }
+
     /**
      * Makes a deep copy of the given map of workload reports.
      *
@@ -141,6 +692,10 @@ public abstract class AbstractSchedulerStrategy implements SchedulerStrategy {
             compiled.add(instructions);
         }
 
+        if (!context.getPending().isEmpty()) {
+            log.warn(context.getPending().size() + " workload(s) could not be scheduled because no cluster member has the capacity or labels to run them; they remain pending");
+        }
+
         return compiled;
     }
 
@@ -197,4 +752,56 @@ public abstract class AbstractSchedulerStrategy implements SchedulerStrategy {
             }
         }
     }
+
+    /**
+     * Workloads to remove from a cluster member to make room for a workload of a higher priority.
+     */
+    private static class Preemption {
+        /**
+         * Cluster member to make room on.
+         */
+        private final ClusterMember clusterMember;
+
+        /**
+         * Workloads to remove.
+         */
+        private final List<Workload> victims;
+
+        /**
+         * Highest priority of the workloads to remove.
+         */
+        private final int priority;
+
+        /**
+         * Constructor.
+         *
+         * @param clusterMember Cluster member to make room on.
+         * @param victims       Workloads to remove.
+         */
+        Preemption(ClusterMember clusterMember, List<Workload> victims) {
+            this.clusterMember = clusterMember;
+            this.victims = victims;
+            this.priority = victims.stream().mapToInt(Workload::getPriority).max().orElse(Integer.MIN_VALUE);
+        }
+
+        /**
+         * Compares the cost of this preemption with another.
+         *
+         * @param other   Other preemption.
+         * @param context Scheduler strategy context.
+         * @param load    Orders workload reports from least to most loaded.
+         * @return A negative number if this preemption is cheaper, a positive number if it is more expensive, or 0.
+         */
+        int compareTo(Preemption other, SchedulerStrategyContext context, Comparator<WorkloadReport> load) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+
+            if (victims.size() != other.victims.size()) {
+                return Integer.compare(victims.size(), other.victims.size());
+            }
+
+            return load.compare(context.getMapping().get(clusterMember), context.getMapping().get(other.clusterMember));
+        }
+    }
 }
@@ -13,7 +13,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.budjb.spring.distributed.scheduler.strategy;
 
 import com.budjb.spring.distributed.cluster.ClusterMember;
@@ -21,17 +20,35 @@ import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruc
 import com.budjb.spring.distributed.scheduler.workload.Workload;
 import com.budjb.spring.distributed.scheduler.workload.WorkloadReport;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
 
 /**
  * An implementation of a scheduler strategy that attempts to spread workloads evenly
  * across cluster members using a greedy algorithm.
+ * <p>
+ * Within the balance of total workload counts, workloads of each {@link Workload#getTypeName() type} are also spread
+ * evenly, so that a single cluster member does not end up running most of the workloads of one type. New workloads
+ * go to the least busy member running the fewest workloads of their type, workloads of the types a busy member runs
+ * the most of are moved first, and finally workloads of different types are swapped between members with the same
+ * load until no two members differ by more than one workload of any type.
+ * <p>
+ * Workloads are only placed on and moved to cluster members that satisfy their placement constraints, and are
+ * never moved away from cluster members with more of their preferred labels.
  */
 public class GreedySchedulerStrategy extends AbstractSchedulerStrategy {
+    /**
+     * Orders workload reports by the number of workloads they contain.
+     */
+    private final static Comparator<WorkloadReport> WORKLOAD_COUNT = Comparator.comparingInt(r -> r.getEntries().size());
+
     /**
      * {@inheritDoc}
      */
@@ -40,72 +57,268 @@ public class GreedySchedulerStrategy extends AbstractSchedulerStrategy {
         // Create the scheduler context.
         SchedulerStrategyContext context = new SchedulerStrategyContext(copyReports(reports));
 
-        // Determine the set of existing workloads.
-        Set<Workload> existingWorkloads = reports.values().stream().flatMap(report -> report.getEntries().stream()).map(WorkloadReport.Entry::getWorkload).collect(Collectors.toSet());
-
         // Determine the set of new workloads.
-        Set<Workload> newWorkloads = registeredWorkloads.stream().filter(workload -> !existingWorkloads.contains(workload)).collect(Collectors.toSet());
-
-        // Determine the set of orphaned workloads.
-        Set<Workload> orphanedWorkloads = existingWorkloads.stream().filter(workload -> !registeredWorkloads.contains(workload)).collect(Collectors.toSet());
+        Set<Workload> newWorkloads = findNewWorkloads(registeredWorkloads, reports);
 
         // De-schedule orphaned workloads.
-        orphanedWorkloads.forEach(w -> removeWorkload(context, w));
+        removeOrphanedWorkloads(context, registeredWorkloads, reports);
 
-        // Find duplicate workloads.
-        // Note that this should not occur under normal circumstances
-        // but may happen when service discovery is lost.
-        registeredWorkloads.forEach(w -> {
-            boolean found = false;
+        // Remove duplicate workloads.
+        removeDuplicateWorkloads(context, registeredWorkloads, reports);
 
-            for (ClusterMember clusterMember : reports.keySet()) {
-                WorkloadReport report = reports.get(clusterMember);
+        // Move workloads off of nodes that may no longer run them.
+        newWorkloads.addAll(removeInfeasibleWorkloads(context));
 
-                if (report.getEntries().stream().anyMatch(e -> e.getWorkload().getUrn().equals(w.getUrn()))) {
-                    if (!found) {
-                        found = true;
-                    }
-                    else {
-                        removeWorkload(context, clusterMember, w);
-                    }
-                }
-            }
-        });
+        TypeCounts typeCounts = new TypeCounts(context);
 
-        // Schedule new workloads on nodes with the least load.
-        newWorkloads.forEach(w -> addWorkload(context, findLeastBusyMember(context).getKey(), w));
+        // Schedule new workloads, highest priority first, on the feasible nodes with the least load.
+        newWorkloads.stream().sorted(placementOrder()).forEach(w -> place(context, typeCounts, w));
+
+        // Make room for pending workloads by preempting workloads of a lower priority.
+        if (preemptForPendingWorkloads(context, WORKLOAD_COUNT)) {
+            typeCounts.recount(context);
+        }
 
         // Distribute workload from over-burdened cluster members to others with low load.
         while (true) {
-            Map.Entry<? extends ClusterMember, WorkloadReport> low = findLeastBusyMember(context);
             Map.Entry<? extends ClusterMember, WorkloadReport> high = findMostBusyMember(context);
 
-            int delta = high.getValue().getEntries().size() - low.getValue().getEntries().size();
+            ClusterMember target = null;
+            Workload candidate = null;
 
-            if (delta < 2) {
-                break;
+            // The least busy member may not be able to take any of the busiest member's workloads, so try the
+            // others in order of load.
+            for (Map.Entry<? extends ClusterMember, WorkloadReport> low : findMembersByLoad(context)) {
+                int delta = high.getValue().getEntries().size() - low.getValue().getEntries().size();
+
+                if (delta < 2) {
+                    break;
+                }
+
+                candidate = findCandidate(context, typeCounts, high.getKey(), low.getKey());
+
+                if (candidate != null) {
+                    target = low.getKey();
+                    break;
+                }
             }
 
-            Workload candidate = high.getValue().getEntries().stream().min(new EntryRunningStateComparator()).map(WorkloadReport.Entry::getWorkload).orElse(null);
+            if (candidate == null) {
+                break;
+            }
 
-            removeWorkload(context, high.getKey(), candidate);
-            addWorkload(context, low.getKey(), candidate);
+            move(context, typeCounts, high.getKey(), target, candidate);
         }
 
-        // Restart failed workloads.
-        context.getMapping().forEach((k, v) -> v.getEntries().stream().filter(e -> e.getState().isTerminated()).map(WorkloadReport.Entry::getWorkload).distinct().forEach(w -> restartWorkload(context, k, w)));
+        // Spread the workloads of each type evenly without disturbing the balance of workload counts.
+        balanceTypes(context, typeCounts);
+
+        // Restart failed and stalled workloads, leaving quarantined workloads alone.
+        restartFailedWorkloads(context);
+
+        // Record the workloads that remain pending for this round.
+        updatePendingWorkloads(context);
+
+        return toInstructionMap(context);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<ClusterMember, WorkloadActionsInstruction>> scheduleChanges(Set<? extends Workload> addedWorkloads, Set<? extends Workload> removedWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        // Create the scheduler context.
+        SchedulerStrategyContext context = new SchedulerStrategyContext(copyReports(reports));
+
+        // De-schedule removed workloads.
+        removedWorkloads.forEach(w -> removeWorkload(context, w));
+
+        TypeCounts typeCounts = new TypeCounts(context);
+
+        // Schedule added workloads that are not already running, highest priority first, on the feasible nodes with
+        // the least load.
+        findNewWorkloads(addedWorkloads, reports).stream().sorted(placementOrder()).forEach(w -> place(context, typeCounts, w));
+
+        // Make room for pending workloads by preempting workloads of a lower priority.
+        preemptForPendingWorkloads(context, WORKLOAD_COUNT);
+
+        // Record the workloads that remain pending, keeping those left by earlier rounds.
+        updatePendingWorkloads(context, addedWorkloads, removedWorkloads);
 
         return toInstructionMap(context);
     }
 
     /**
-     * Finds the cluster member with the least amount of load.
+     * Places the given workload on the feasible cluster member with the least load, preferring members running
+     * fewer workloads of its type.
+     *
+     * @param context    Scheduler strategy context.
+     * @param typeCounts Number of workloads of each type per cluster member.
+     * @param workload   Workload to place.
+     */
+    private void place(SchedulerStrategyContext context, TypeCounts typeCounts, Workload workload) {
+        String type = workload.getTypeName();
+        ClusterMember clusterMember = placeWorkload(context, workload, WORKLOAD_COUNT.thenComparingInt(r -> typeCounts.get(r, type)));
+
+        if (clusterMember != null) {
+            typeCounts.add(context.getMapping().get(clusterMember), workload);
+        }
+    }
+
+    /**
+     * Finds a workload that may be moved between the given cluster members. Workloads of the types the first member
+     * runs the most more of than the second are preferred, and then terminated workloads. Quarantined workloads are
+     * never moved.
+     *
+     * @param context    Scheduler strategy context.
+     * @param typeCounts Number of workloads of each type per cluster member.
+     * @param from       Cluster member to move a workload from.
+     * @param to         Cluster member to move a workload to.
+     * @return the workload to move, or {@code null} if none may be moved.
+     */
+    private Workload findCandidate(SchedulerStrategyContext context, TypeCounts typeCounts, ClusterMember from, ClusterMember to) {
+        WorkloadReport source = context.getMapping().get(from);
+        WorkloadReport target = context.getMapping().get(to);
+        List<WorkloadReport.Entry> entries = source.getEntries();
+
+        List<String> types = new ArrayList<>(typeCounts.getTypes(source));
+        types.sort(Comparator.comparingInt((String t) -> typeCounts.get(source, t) - typeCounts.get(target, t)).reversed());
+
+        for (String type : types) {
+            for (WorkloadReport.Entry entry : entries) {
+                if (entry.getState().isTerminated() && entry.getWorkload().getTypeName().equals(type) && !isQuarantined(entry) && canMove(context, from, to, entry.getWorkload())) {
+                    return entry.getWorkload();
+                }
+            }
+
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                WorkloadReport.Entry entry = entries.get(i);
+
+                if (entry.getWorkload().getTypeName().equals(type) && !isQuarantined(entry) && canMove(context, from, to, entry.getWorkload())) {
+                    return entry.getWorkload();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Spreads the workloads of each type evenly across cluster members. Workloads of a type are moved from the member
+     * running the most of them to a member running the fewest when that member is less busy, and are otherwise
+     * swapped for a workload of another type the other member runs more of, so that neither the balance of workload
+     * counts nor the spread of the other type gets worse.
+     *
+     * @param context    Scheduler strategy context.
+     * @param typeCounts Number of workloads of each type per cluster member.
+     */
+    private void balanceTypes(SchedulerStrategyContext context, TypeCounts typeCounts) {
+        if (context.getMapping().size() < 2) {
+            return;
+        }
+
+        for (String type : typeCounts.getTypes()) {
+            while (true) {
+                List<Map.Entry<? extends ClusterMember, WorkloadReport>> members = new ArrayList<>(context.getMapping().entrySet());
+                members.sort(Comparator.comparingInt(e -> typeCounts.get(e.getValue(), type)));
+
+                Map.Entry<? extends ClusterMember, WorkloadReport> high = members.get(members.size() - 1);
+                boolean moved = false;
+
+                for (Map.Entry<? extends ClusterMember, WorkloadReport> low : members) {
+                    if (typeCounts.get(high.getValue(), type) - typeCounts.get(low.getValue(), type) < 2) {
+                        break;
+                    }
+
+                    if (exchange(context, typeCounts, type, high.getKey(), low.getKey())) {
+                        moved = true;
+                        break;
+                    }
+                }
+
+                if (!moved) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves a workload of the given type from the first cluster member to the second, swapping it for a workload
+     * of another type when the second member is not less busy than the first.
+     *
+     * @param context    Scheduler strategy context.
+     * @param typeCounts Number of workloads of each type per cluster member.
+     * @param type       Type of workload to move.
+     * @param from       Cluster member running more workloads of the type.
+     * @param to         Cluster member running fewer workloads of the type.
+     * @return Whether any workload was moved.
+     */
+    private boolean exchange(SchedulerStrategyContext context, TypeCounts typeCounts, String type, ClusterMember from, ClusterMember to) {
+        WorkloadReport source = context.getMapping().get(from);
+        WorkloadReport target = context.getMapping().get(to);
+        boolean swap = source.getEntries().size() <= target.getEntries().size();
+
+        for (WorkloadReport.Entry entry : new ArrayList<>(source.getEntries())) {
+            Workload workload = entry.getWorkload();
+
+            if (!workload.getTypeName().equals(type) || isQuarantined(entry) || !canMove(context, from, to, workload)) {
+                continue;
+            }
+
+            if (!swap) {
+                move(context, typeCounts, from, to, workload);
+                return true;
+            }
+
+            for (WorkloadReport.Entry other : target.getEntries()) {
+                String otherType = other.getWorkload().getTypeName();
+
+                if (otherType.equals(type) || typeCounts.get(target, otherType) <= typeCounts.get(source, otherType)) {
+                    continue;
+                }
+
+                if (!isQuarantined(other) && canMove(context, to, from, other.getWorkload())) {
+                    Workload swapped = other.getWorkload();
+                    move(context, typeCounts, from, to, workload);
+                    move(context, typeCounts, to, from, swapped);
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves the given workload between the given cluster members. A workload placed on the first member earlier in
+     * the same round has that placement dropped instead of being removed.
+     *
+     * @param context    Scheduler strategy context.
+     * @param typeCounts Number of workloads of each type per cluster member.
+     * @param from       Cluster member to move the workload from.
+     * @param to         Cluster member to move the workload to.
+     * @param workload   Workload to move.
+     */
+    private void move(SchedulerStrategyContext context, TypeCounts typeCounts, ClusterMember from, ClusterMember to, Workload workload) {
+        if (!cancelAddWorkload(context, from, workload)) {
+            removeWorkload(context, from, workload);
+        }
+        typeCounts.remove(context.getMapping().get(from), workload);
+        addWorkload(context, to, workload);
+        typeCounts.add(context.getMapping().get(to), workload);
+    }
+
+    /**
+     * Returns the cluster members ordered from least to most load.
      *
      * @param context Scheduler strategy context.
-     * @return the cluster member with the least amount of load.
+     * @return the cluster members ordered by load.
      */
-    private Map.Entry<? extends ClusterMember, WorkloadReport> findLeastBusyMember(SchedulerStrategyContext context) {
-        return context.getMapping().entrySet().stream().min(Comparator.comparing(entry -> entry.getValue().getEntries().size())).orElse(null);
+    private List<Map.Entry<? extends ClusterMember, WorkloadReport>> findMembersByLoad(SchedulerStrategyContext context) {
+        List<Map.Entry<? extends ClusterMember, WorkloadReport>> members = new ArrayList<>(context.getMapping().entrySet());
+        members.sort((a, b) -> WORKLOAD_COUNT.compare(a.getValue(), b.getValue()));
+        return members;
     }
 
     /**
@@ -117,4 +330,91 @@ public class GreedySchedulerStrategy extends AbstractSchedulerStrategy {
     private Map.Entry<? extends ClusterMember, WorkloadReport> findMostBusyMember(SchedulerStrategyContext context) {
         return context.getMapping().entrySet().stream().max(Comparator.comparing(entry -> entry.getValue().getEntries().size())).orElse(null);
     }
+
+    /**
+     * The number of workloads of each type in each workload report.
+     */
+    private static class TypeCounts {
+        /**
+         * Number of workloads of each type, by workload report.
+         */
+        private final Map<WorkloadReport, Map<String, Integer>> counts = new IdentityHashMap<>();
+
+        /**
+         * Constructor.
+         *
+         * @param context Scheduler strategy context.
+         */
+        TypeCounts(SchedulerStrategyContext context) {
+            recount(context);
+        }
+
+        /**
+         * Counts the workloads of each type in each report of the given context from scratch.
+         *
+         * @param context Scheduler strategy context.
+         */
+        void recount(SchedulerStrategyContext context) {
+            counts.clear();
+            context.getMapping().values().forEach(r -> r.getEntries().forEach(e -> add(r, e.getWorkload())));
+        }
+
+        /**
+         * Returns the workload types in any report, in a stable order.
+         *
+         * @return The workload types.
+         */
+        Set<String> getTypes() {
+            Set<String> types = new TreeSet<>();
+            counts.values().forEach(c -> types.addAll(c.keySet()));
+            return types;
+        }
+
+        /**
+         * Returns the workload types in the given report.
+         *
+         * @param report Workload report.
+         * @return The workload types in the report.
+         */
+        Set<String> getTypes(WorkloadReport report) {
+            Set<String> types = new TreeSet<>();
+            counts.getOrDefault(report, Collections.emptyMap()).forEach((type, count) -> {
+                if (count > 0) {
+                    types.add(type);
+                }
+            });
+            return types;
+        }
+
+        /**
+         * Returns the number of workloads of the given type in the given report.
+         *
+         * @param report Workload report.
+         * @param type   Workload type.
+         * @return The number of workloads of the type.
+         */
+        int get(WorkloadReport report, String type) {
+            return counts.getOrDefault(report, Collections.emptyMap()).getOrDefault(type, 0);
+        }
+
+        /**
+         * Records that the given workload was added to the given report.
+         *
+         * @param report   Workload report.
+         * @param workload Workload.
+         */
+        void add(WorkloadReport report, Workload workload) {
+            counts.computeIfAbsent(report, r -> new HashMap<>()).merge(workload.getTypeName(), 1, Integer::sum);
+        }
+
+        /**
+         * Records that the given workload was removed from the given report.
+         *
+         * @param report   Workload report.
+         * @param workload Workload.
+         */
+        void remove(WorkloadReport report, Workload workload) {
+            counts.get(report).merge(workload.getTypeName(), -1, Integer::sum);
+        }
+    }
 }
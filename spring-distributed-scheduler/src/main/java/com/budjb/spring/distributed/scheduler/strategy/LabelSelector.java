@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.budjb.spring.distributed.scheduler.strategy;
+
+import com.budjb.spring.distributed.scheduler.workload.Workload;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Selects workloads, or anything else that carries labels, by requiring each of a set of labels to have a given value.
+ * <p>
+ * An empty selector matches everything. Selectors can be parsed from their string form, a comma separated list of
+ * {@code key=value} requirements such as {@code tenant=acme,region=us-east}.
+ */
+public class LabelSelector implements Serializable {
+    /**
+     * Selector that matches everything.
+     */
+    public final static LabelSelector ANY = new LabelSelector(Collections.emptyMap());
+
+    /**
+     * Required label values, by label key.
+     */
+    private final Map<String, String> requirements;
+
+    /**
+     * Constructor.
+     *
+     * @param requirements Required label values, by label key.
+     */
+    public LabelSelector(Map<String, String> requirements) {
+        Assert.notNull(requirements, "the [requirements] of a label selector may not be null");
+        this.requirements = Collections.unmodifiableMap(new TreeMap<>(requirements));
+    }
+
+    /**
+     * Parses a selector from a comma separated list of {@code key=value} requirements.
+     *
+     * @param selector Selector to parse.
+     * @return The parsed selector.
+     */
+    public static LabelSelector parse(String selector) {
+        Map<String, String> requirements = new TreeMap<>();
+
+        for (String requirement : StringUtils.commaDelimitedListToStringArray(selector)) {
+            if (!StringUtils.hasText(requirement)) {
+                continue;
+            }
+
+            int separator = requirement.indexOf('=');
+
+            Assert.isTrue(separator > 0, "label selector requirement [" + requirement.trim() + "] must be of the form key=value");
+
+            requirements.put(requirement.substring(0, separator).trim(), requirement.substring(separator + 1).trim());
+        }
+
+        return new LabelSelector(requirements);
+    }
+
+    /**
+     * Returns the required label values, by label key.
+     *
+     * @return The required label values.
+     */
+    public Map<String, String> getRequirements() {
+        return requirements;
+    }
+
+    /**
+     * Returns whether the selector has no requirements and therefore matches everything.
+     *
+     * @return Whether the selector is empty.
+     */
+    public boolean isEmpty() {
+        return requirements.isEmpty();
+    }
+
+    /**
+     * Returns whether the labels of the given workload satisfy every requirement of the selector.
+     *
+     * @param workload Workload to check.
+     * @return Whether the workload matches.
+     */
+    public boolean matches(Workload workload) {
+        for (Map.Entry<String, String> requirement : requirements.entrySet()) {
+            if (!requirement.getValue().equals(workload.getLabel(requirement.getKey()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns whether the given labels satisfy every requirement of the selector.
+     *
+     * @param labels Labels to check.
+     * @return Whether the labels match.
+     */
+    public boolean matches(Map<String, String> labels) {
+        for (Map.Entry<String, String> requirement : requirements.entrySet()) {
+            if (!requirement.getValue().equals(labels.get(requirement.getKey()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        return requirements.equals(((LabelSelector) o).requirements);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(requirements);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        for (Map.Entry<String, String> requirement : requirements.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(requirement.getKey()).append('=').append(requirement.getValue());
+        }
+
+        return builder.toString();
+    }
+}
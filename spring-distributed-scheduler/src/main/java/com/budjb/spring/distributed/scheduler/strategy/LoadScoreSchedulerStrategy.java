@@ -0,0 +1,278 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.strategy;
+
+import com.budjb.spring.distributed.cluster.ClusterMember;
+import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruction;
+import com.budjb.spring.distributed.scheduler.workload.Workload;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadReport;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An implementation of a scheduler strategy that spreads the {@link WorkloadReport.Entry#getLoadScore() load scores}
+ * reported by workloads evenly across cluster members, rather than the number of workloads.
+ * <p>
+ * New workloads, and running workloads that do not report a positive score, are assumed to carry the average score
+ * of the workloads that do. When no workload in the cluster reports a score, every workload counts as 1 and the
+ * strategy balances workload counts. Workloads are only moved while the spread between the most and least loaded
+ * cluster members is larger than the tolerance, expressed as a fraction of the average member load, so that small
+ * fluctuations in scores do not cause workloads to be moved back and forth.
+ * <p>
+ * Workloads are only placed on and moved to cluster members that satisfy their placement constraints, and are
+ * never moved away from cluster members with more of their preferred labels.
+ */
+public class LoadScoreSchedulerStrategy extends AbstractSchedulerStrategy {
+    /**
+     * Default tolerance.
+     */
+    private final static double DEFAULT_TOLERANCE = 0.1;
+
+    /**
+     * Spread between the most and least loaded cluster members, as a fraction of the average member load, that is
+     * tolerated without moving workloads.
+     */
+    private final double tolerance;
+
+    /**
+     * Constructor.
+     */
+    public LoadScoreSchedulerStrategy() {
+        this(DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tolerance Spread between the most and least loaded cluster members, as a fraction of the average member
+     *                  load, that is tolerated without moving workloads.
+     */
+    public LoadScoreSchedulerStrategy(double tolerance) {
+        Assert.isTrue(tolerance >= 0, "tolerance must not be negative");
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<ClusterMember, WorkloadActionsInstruction>> schedule(Set<? extends Workload> registeredWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        // Create the scheduler context.
+        SchedulerStrategyContext context = new SchedulerStrategyContext(copyReports(reports));
+
+        // Determine the load score of each workload.
+        Map<Workload, Double> scores = getScores(registeredWorkloads, reports);
+
+        // Determine the set of new workloads.
+        Set<Workload> newWorkloads = findNewWorkloads(registeredWorkloads, reports);
+
+        // De-schedule orphaned workloads.
+        removeOrphanedWorkloads(context, registeredWorkloads, reports);
+
+        // Remove duplicate workloads.
+        removeDuplicateWorkloads(context, registeredWorkloads, reports);
+
+        // Move workloads off of members that may no longer run them.
+        newWorkloads.addAll(removeInfeasibleWorkloads(context));
+
+        // Schedule new workloads, highest priority and heaviest first, on the feasible members with the least load.
+        newWorkloads.stream()
+            .sorted(placementOrder().thenComparing(Comparator.comparing((Workload w) -> scores.get(w)).reversed()).thenComparing(Workload::getUrn))
+            .forEach(w -> placeWorkload(context, w, loadComparator(scores)));
+
+        // Make room for pending workloads by preempting workloads of a lower priority.
+        preemptForPendingWorkloads(context, loadComparator(scores));
+
+        // Move workloads from the most loaded members to the least loaded members while it narrows the spread.
+        int limit = context.getMapping().values().stream().mapToInt(r -> r.getEntries().size()).sum();
+
+        for (int i = 0; i < limit; i++) {
+            Map.Entry<? extends ClusterMember, WorkloadReport> high = findMostLoadedMember(context, scores);
+            double threshold = tolerance * getAverageLoad(context, scores);
+
+            ClusterMember target = null;
+            Workload candidate = null;
+
+            // The least loaded member may not be able to take any of the most loaded member's workloads, so try
+            // the others in order of load.
+            for (Map.Entry<? extends ClusterMember, WorkloadReport> low : findMembersByLoad(context, scores)) {
+                double spread = getLoad(high.getValue(), scores) - getLoad(low.getValue(), scores);
+
+                if (spread <= threshold) {
+                    break;
+                }
+
+                // The best candidate leaves the two members closest to even; only candidates lighter than the
+                // spread itself narrow it.
+                candidate = high.getValue().getEntries().stream()
+                    .filter(e -> !isQuarantined(e))
+                    .map(WorkloadReport.Entry::getWorkload)
+                    .filter(w -> scores.get(w) > 0 && scores.get(w) < spread && canMove(context, high.getKey(), low.getKey(), w))
+                    .min(Comparator.comparing((Workload w) -> Math.abs(spread - 2 * scores.get(w))).thenComparing(Workload::getUrn))
+                    .orElse(null);
+
+                if (candidate != null) {
+                    target = low.getKey();
+                    break;
+                }
+            }
+
+            if (candidate == null) {
+                break;
+            }
+
+            if (!cancelAddWorkload(context, high.getKey(), candidate)) {
+                removeWorkload(context, high.getKey(), candidate);
+            }
+            addWorkload(context, target, candidate);
+        }
+
+        // Restart failed and stalled workloads, leaving quarantined workloads alone.
+        restartFailedWorkloads(context);
+
+        // Record the workloads that remain pending for this round.
+        updatePendingWorkloads(context);
+
+        return toInstructionMap(context);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<ClusterMember, WorkloadActionsInstruction>> scheduleChanges(Set<? extends Workload> addedWorkloads, Set<? extends Workload> removedWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        // Create the scheduler context.
+        SchedulerStrategyContext context = new SchedulerStrategyContext(copyReports(reports));
+
+        // De-schedule removed workloads.
+        removedWorkloads.forEach(w -> removeWorkload(context, w));
+
+        // Determine the load score of each workload that is running or being added.
+        Set<Workload> workloads = new HashSet<>(addedWorkloads);
+        reports.values().forEach(r -> r.getEntries().forEach(e -> workloads.add(e.getWorkload())));
+        Map<Workload, Double> scores = getScores(workloads, reports);
+
+        // Schedule added workloads that are not already running, highest priority and then heaviest first, on the
+        // feasible members with the least load.
+        findNewWorkloads(addedWorkloads, reports).stream()
+            .sorted(placementOrder().thenComparing(Comparator.comparing((Workload w) -> scores.get(w)).reversed()).thenComparing(Workload::getUrn))
+            .forEach(w -> placeWorkload(context, w, loadComparator(scores)));
+
+        // Make room for pending workloads by preempting workloads of a lower priority.
+        preemptForPendingWorkloads(context, loadComparator(scores));
+
+        // Record the workloads that remain pending, keeping those left by earlier rounds.
+        updatePendingWorkloads(context, addedWorkloads, removedWorkloads);
+
+        return toInstructionMap(context);
+    }
+
+    /**
+     * Returns the load score of each registered workload. A score that is not positive counts as not reported, and
+     * workloads that have not reported a score, including running ones, are assigned the average score of those that
+     * have.
+     *
+     * @param registeredWorkloads Workloads that should be scheduled by the cluster.
+     * @param reports             Mapping of cluster members to workload reports.
+     * @return The load score of each workload.
+     */
+    private Map<Workload, Double> getScores(Set<? extends Workload> registeredWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        Map<Workload, Double> reported = new HashMap<>();
+
+        reports.values().stream()
+            .flatMap(r -> r.getEntries().stream())
+            .filter(e -> e.getLoadScore() > 0)
+            .forEach(e -> reported.merge(e.getWorkload(), e.getLoadScore(), Math::max));
+
+        double average = reported.values().stream().mapToDouble(Double::doubleValue).average().orElse(1);
+
+        Map<Workload, Double> scores = new HashMap<>();
+
+        for (Workload workload : registeredWorkloads) {
+            scores.put(workload, reported.getOrDefault(workload, average));
+        }
+
+        return scores;
+    }
+
+    /**
+     * Returns the total load score of the workloads in the given report.
+     *
+     * @param report Workload report.
+     * @param scores Load score of each workload.
+     * @return The total load score.
+     */
+    private double getLoad(WorkloadReport report, Map<Workload, Double> scores) {
+        return report.getEntries().stream().mapToDouble(e -> scores.getOrDefault(e.getWorkload(), 0d)).sum();
+    }
+
+    /**
+     * Returns the average load score of the cluster members.
+     *
+     * @param context Scheduler strategy context.
+     * @param scores  Load score of each workload.
+     * @return The average load score of the cluster members.
+     */
+    private double getAverageLoad(SchedulerStrategyContext context, Map<Workload, Double> scores) {
+        return context.getMapping().values().stream().mapToDouble(r -> getLoad(r, scores)).average().orElse(0);
+    }
+
+    /**
+     * Returns the cluster members ordered from least to most load, preferring members with fewer workloads.
+     *
+     * @param context Scheduler strategy context.
+     * @param scores  Load score of each workload.
+     * @return the cluster members ordered by load.
+     */
+    private List<Map.Entry<? extends ClusterMember, WorkloadReport>> findMembersByLoad(SchedulerStrategyContext context, Map<Workload, Double> scores) {
+        Comparator<WorkloadReport> comparator = loadComparator(scores);
+        List<Map.Entry<? extends ClusterMember, WorkloadReport>> members = new ArrayList<>(context.getMapping().entrySet());
+        members.sort((a, b) -> comparator.compare(a.getValue(), b.getValue()));
+        return members;
+    }
+
+    /**
+     * Finds the cluster member with the most load, preferring members with more workloads.
+     *
+     * @param context Scheduler strategy context.
+     * @param scores  Load score of each workload.
+     * @return the cluster member with the most load.
+     */
+    private Map.Entry<? extends ClusterMember, WorkloadReport> findMostLoadedMember(SchedulerStrategyContext context, Map<Workload, Double> scores) {
+        Comparator<WorkloadReport> comparator = loadComparator(scores);
+        return context.getMapping().entrySet().stream().max((a, b) -> comparator.compare(a.getValue(), b.getValue())).orElse(null);
+    }
+
+    /**
+     * Returns a comparator that orders workload reports by their load, and then by their number of workloads.
+     *
+     * @param scores Load score of each workload.
+     * @return A comparator of workload reports by load.
+     */
+    private Comparator<WorkloadReport> loadComparator(Map<Workload, Double> scores) {
+        return Comparator.<WorkloadReport>comparingDouble(r -> getLoad(r, scores))
+            .thenComparingInt(r -> r.getEntries().size());
+    }
+}
@@ -21,6 +21,7 @@ import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruc
 import com.budjb.spring.distributed.scheduler.workload.Workload;
 import com.budjb.spring.distributed.scheduler.workload.WorkloadReport;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,4 +38,33 @@ public interface SchedulerStrategy {
      * @return a series of change set mappings for cluster members and workloads.
      */
     List<Map<ClusterMember, WorkloadActionsInstruction>> schedule(Set<? extends Workload> registeredWorkloads, Map<? extends ClusterMember, WorkloadReport> reports);
+
+    /**
+     * Creates a series of workload actions that apply the given changes to the workload repository, without
+     * rebalancing the rest of the cluster. Strategies that do not support this leave the changes to the next
+     * full scheduling round.
+     *
+     * @param addedWorkloads   Workloads that have been added to the workload repository.
+     * @param removedWorkloads Workloads that have been removed from the workload repository.
+     * @param reports          A mapping of cluster members to their current work loads.
+     * @return a series of change set mappings for cluster members and workloads.
+     */
+    default List<Map<ClusterMember, WorkloadActionsInstruction>> scheduleChanges(Set<? extends Workload> addedWorkloads, Set<? extends Workload> removedWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the workloads that could not be placed on any cluster member by the most recent scheduling round run
+     * by this cluster member, because no cluster member had the capacity or labels to run them. Strategies that do
+     * not track pending workloads return an empty set.
+     * <p>
+     * Pending workloads are not shared through the cluster. Only the member that ran the most recent round, which
+     * is whichever member last held the scheduler lock, has a current value; on other members the value is left
+     * over from the last round they ran, if any.
+     *
+     * @return an unmodifiable set of pending workloads.
+     */
+    default Set<Workload> getPendingWorkloads() {
+        return Collections.emptySet();
+    }
 }
@@ -17,11 +17,14 @@
 package com.budjb.spring.distributed.scheduler.strategy;
 
 import com.budjb.spring.distributed.cluster.ClusterMember;
+import com.budjb.spring.distributed.scheduler.workload.Workload;
 import com.budjb.spring.distributed.scheduler.workload.WorkloadReport;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A helper class that contains the mapping of cluster members to workloads and
@@ -40,6 +43,11 @@ public class SchedulerStrategyContext {
      */
     private final Map<ClusterMember, List<SchedulerAction>> actions = new HashMap<>();
 
+    /**
+     * Workloads that no cluster member has the capacity or labels to run.
+     */
+    private final Set<Workload> pending = new HashSet<>();
+
     /**
      * Container map.
      *
@@ -66,4 +74,14 @@ public class SchedulerStrategyContext {
     public Map<ClusterMember, List<SchedulerAction>> getActions() {
         return actions;
     }
+
+    /**
+     * Returns the workloads that no cluster member has the capacity or labels to run, and that remain pending
+     * rather than overloading a cluster member.
+     *
+     * @return the pending workloads.
+     */
+    public Set<Workload> getPending() {
+        return pending;
+    }
 }
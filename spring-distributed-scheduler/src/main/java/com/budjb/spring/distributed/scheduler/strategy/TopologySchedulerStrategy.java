@@ -0,0 +1,512 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.budjb.spring.distributed.scheduler.strategy;
+
+import com.budjb.spring.distributed.cluster.ClusterMember;
+import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruction;
+import com.budjb.spring.distributed.scheduler.workload.Workload;
+import com.budjb.spring.distributed.scheduler.workload.WorkloadReport;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An implementation of a scheduler strategy that spreads workloads across the zones of the cluster before spreading
+ * them across cluster members, so that losing a zone takes down as few workloads of any kind as possible.
+ * <p>
+ * Cluster members report their zone (or rack) through a member label, {@value #DEFAULT_ZONE_LABEL} by default, which
+ * is configured with {@code scheduler.member-labels}. Members that do not report a zone share a zone of their own.
+ * Workloads are grouped by their type and {@link Workload#TENANT_LABEL tenant}, and each group is spread evenly across
+ * zones, then across the members within each zone. Once the groups are spread across zones, workloads are only moved
+ * between members of the same zone to even out the number of workloads each member runs.
+ * <p>
+ * Like the other strategies, workloads are only placed on and moved to cluster members that satisfy their placement
+ * constraints, and are never moved away from cluster members with more of their preferred labels.
+ */
+public class TopologySchedulerStrategy extends AbstractSchedulerStrategy {
+    /**
+     * Default member label holding the zone of a cluster member.
+     */
+    public final static String DEFAULT_ZONE_LABEL = "zone";
+
+    /**
+     * Orders workload reports by the number of workloads they contain.
+     */
+    private final static Comparator<WorkloadReport> WORKLOAD_COUNT = Comparator.comparingInt(r -> r.getEntries().size());
+
+    /**
+     * Member label holding the zone of a cluster member.
+     */
+    private final String zoneLabel;
+
+    /**
+     * Constructor.
+     */
+    public TopologySchedulerStrategy() {
+        this(DEFAULT_ZONE_LABEL);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param zoneLabel Member label holding the zone of a cluster member.
+     */
+    public TopologySchedulerStrategy(String zoneLabel) {
+        Assert.hasText(zoneLabel, "the zone label may not be empty");
+        this.zoneLabel = zoneLabel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<ClusterMember, WorkloadActionsInstruction>> schedule(Set<? extends Workload> registeredWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        // Create the scheduler context.
+        SchedulerStrategyContext context = new SchedulerStrategyContext(copyReports(reports));
+
+        // Determine the set of new workloads.
+        Set<Workload> newWorkloads = findNewWorkloads(registeredWorkloads, reports);
+
+        // De-schedule orphaned workloads.
+        removeOrphanedWorkloads(context, registeredWorkloads, reports);
+
+        // Remove duplicate workloads.
+        removeDuplicateWorkloads(context, registeredWorkloads, reports);
+
+        // Move workloads off of members that may no longer run them.
+        newWorkloads.addAll(removeInfeasibleWorkloads(context));
+
+        Topology topology = new Topology(context);
+
+        // Schedule new workloads, highest priority first, in the zones and on the members running the fewest
+        // workloads of their group.
+        newWorkloads.stream().sorted(placementOrder().thenComparing(Workload::getUrn)).forEach(w -> place(context, topology, w));
+
+        // Make room for pending workloads by preempting workloads of a lower priority.
+        if (preemptForPendingWorkloads(context, WORKLOAD_COUNT)) {
+            topology.recount();
+        }
+
+        // Spread each group of workloads evenly across zones.
+        balanceZones(context, topology);
+
+        // Even out the number of workloads each member runs, within each zone.
+        balanceMembers(context, topology);
+
+        // Restart failed and stalled workloads, leaving quarantined workloads alone.
+        restartFailedWorkloads(context);
+
+        // Record the workloads that remain pending for this round.
+        updatePendingWorkloads(context);
+
+        return toInstructionMap(context);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<ClusterMember, WorkloadActionsInstruction>> scheduleChanges(Set<? extends Workload> addedWorkloads, Set<? extends Workload> removedWorkloads, Map<? extends ClusterMember, WorkloadReport> reports) {
+        // Create the scheduler context.
+        SchedulerStrategyContext context = new SchedulerStrategyContext(copyReports(reports));
+
+        // De-schedule removed workloads.
+        removedWorkloads.forEach(w -> removeWorkload(context, w));
+
+        Topology topology = new Topology(context);
+
+        // Schedule added workloads that are not already running, highest priority first, in the zones and on the
+        // members running the fewest workloads of their group.
+        findNewWorkloads(addedWorkloads, reports).stream().sorted(placementOrder().thenComparing(Workload::getUrn)).forEach(w -> place(context, topology, w));
+
+        // Make room for pending workloads by preempting workloads of a lower priority.
+        preemptForPendingWorkloads(context, WORKLOAD_COUNT);
+
+        // Record the workloads that remain pending, keeping those left by earlier rounds.
+        updatePendingWorkloads(context, addedWorkloads, removedWorkloads);
+
+        return toInstructionMap(context);
+    }
+
+    /**
+     * Returns the group of the given workload, whose members are spread evenly across zones and cluster members.
+     * Workloads are grouped by their type and tenant.
+     *
+     * @param workload Workload to get the group of.
+     * @return The group of the workload.
+     */
+    protected List<String> getSpreadGroup(Workload workload) {
+        return Arrays.asList(workload.getTypeName(), workload.getLabel(Workload.TENANT_LABEL));
+    }
+
+    /**
+     * Places the given workload on the feasible cluster member in the zone running the fewest workloads of its group,
+     * preferring members running fewer workloads of its group, and then fewer workloads overall.
+     *
+     * @param context  Scheduler strategy context.
+     * @param topology Topology of the cluster.
+     * @param workload Workload to place.
+     */
+    private void place(SchedulerStrategyContext context, Topology topology, Workload workload) {
+        ClusterMember clusterMember = placeWorkload(context, workload, topology.placementComparator(getSpreadGroup(workload)));
+
+        if (clusterMember != null) {
+            topology.add(clusterMember, workload);
+        }
+    }
+
+    /**
+     * Moves workloads from the zones running the most workloads of each group to the zones running the fewest, until
+     * no two zones differ by more than one workload of any group.
+     *
+     * @param context  Scheduler strategy context.
+     * @param topology Topology of the cluster.
+     */
+    private void balanceZones(SchedulerStrategyContext context, Topology topology) {
+        if (topology.getZones().size() < 2) {
+            return;
+        }
+
+        for (List<String> group : new ArrayList<>(topology.getGroups())) {
+            while (true) {
+                List<String> zones = new ArrayList<>(topology.getZones());
+                zones.sort(Comparator.comparingInt(z -> topology.count(z, group)));
+
+                String high = zones.get(zones.size() - 1);
+                boolean moved = false;
+
+                for (String low : zones) {
+                    if (topology.count(high, group) - topology.count(low, group) < 2) {
+                        break;
+                    }
+
+                    if (moveBetweenZones(context, topology, group, high, low)) {
+                        moved = true;
+                        break;
+                    }
+                }
+
+                if (!moved) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves one workload of the given group from the given zone to another, taking it from the member running the
+     * most workloads of the group and placing it on the member running the fewest.
+     *
+     * @param context  Scheduler strategy context.
+     * @param topology Topology of the cluster.
+     * @param group    Group of the workload to move.
+     * @param from     Zone to move a workload from.
+     * @param to       Zone to move a workload to.
+     * @return Whether a workload was moved.
+     */
+    private boolean moveBetweenZones(SchedulerStrategyContext context, Topology topology, List<String> group, String from, String to) {
+        Comparator<ClusterMember> comparator = topology.memberComparator(group);
+
+        List<ClusterMember> sources = new ArrayList<>(topology.getMembers(from));
+        sources.sort(comparator.reversed());
+
+        List<ClusterMember> targets = new ArrayList<>(topology.getMembers(to));
+        targets.sort(comparator);
+
+        for (ClusterMember source : sources) {
+            if (topology.count(source, group) == 0) {
+                break;
+            }
+
+            for (WorkloadReport.Entry entry : context.getMapping().get(source).getEntries()) {
+                if (isQuarantined(entry) || !group.equals(getSpreadGroup(entry.getWorkload()))) {
+                    continue;
+                }
+
+                for (ClusterMember target : targets) {
+                    if (canMove(context, source, target, entry.getWorkload())) {
+                        move(context, topology, source, target, entry.getWorkload());
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves workloads from the busiest members of each zone to the least busy members of the same zone, until no two
+     * members of a zone differ by more than one workload. Workloads of the groups the busy member runs more of are
+     * moved first, so that groups stay spread across the members of the zone.
+     *
+     * @param context  Scheduler strategy context.
+     * @param topology Topology of the cluster.
+     */
+    private void balanceMembers(SchedulerStrategyContext context, Topology topology) {
+        for (String zone : topology.getZones()) {
+            while (true) {
+                List<ClusterMember> members = new ArrayList<>(topology.getMembers(zone));
+                members.sort(Comparator.comparingInt(m -> context.getMapping().get(m).getEntries().size()));
+
+                ClusterMember high = members.get(members.size() - 1);
+                boolean moved = false;
+
+                for (ClusterMember low : members) {
+                    if (context.getMapping().get(high).getEntries().size() - context.getMapping().get(low).getEntries().size() < 2) {
+                        break;
+                    }
+
+                    Workload candidate = findCandidate(context, topology, high, low);
+
+                    if (candidate != null) {
+                        move(context, topology, high, low, candidate);
+                        moved = true;
+                        break;
+                    }
+                }
+
+                if (!moved) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds a workload that may be moved between the given cluster members, preferring workloads of the groups the
+     * first member runs the most more of than the second. Quarantined workloads are never moved.
+     *
+     * @param context  Scheduler strategy context.
+     * @param topology Topology of the cluster.
+     * @param from     Cluster member to move a workload from.
+     * @param to       Cluster member to move a workload to.
+     * @return the workload to move, or {@code null} if none may be moved.
+     */
+    private Workload findCandidate(SchedulerStrategyContext context, Topology topology, ClusterMember from, ClusterMember to) {
+        Workload candidate = null;
+        int best = Integer.MIN_VALUE;
+
+        for (WorkloadReport.Entry entry : context.getMapping().get(from).getEntries()) {
+            List<String> group = getSpreadGroup(entry.getWorkload());
+            int surplus = topology.count(from, group) - topology.count(to, group);
+
+            if (surplus > best && !isQuarantined(entry) && canMove(context, from, to, entry.getWorkload())) {
+                candidate = entry.getWorkload();
+                best = surplus;
+            }
+        }
+
+        return candidate;
+    }
+
+    /**
+     * Moves the given workload between the given cluster members. A workload placed on the first member earlier in
+     * the same round has that placement dropped instead of being removed.
+     *
+     * @param context  Scheduler strategy context.
+     * @param topology Topology of the cluster.
+     * @param from     Cluster member to move the workload from.
+     * @param to       Cluster member to move the workload to.
+     * @param workload Workload to move.
+     */
+    private void move(SchedulerStrategyContext context, Topology topology, ClusterMember from, ClusterMember to, Workload workload) {
+        if (!cancelAddWorkload(context, from, workload)) {
+            removeWorkload(context, from, workload);
+        }
+        topology.remove(from, workload);
+        addWorkload(context, to, workload);
+        topology.add(to, workload);
+    }
+
+    /**
+     * The zones of a cluster, and how many workloads of each group their members run.
+     */
+    private class Topology {
+        /**
+         * Scheduler strategy context.
+         */
+        private final SchedulerStrategyContext context;
+
+        /**
+         * Zone of each cluster member.
+         */
+        private final Map<ClusterMember, String> zones = new HashMap<>();
+
+        /**
+         * Cluster members of each zone.
+         */
+        private final Map<String, List<ClusterMember>> members = new HashMap<>();
+
+        /**
+         * Cluster member that produced each workload report.
+         */
+        private final Map<WorkloadReport, ClusterMember> reporters = new IdentityHashMap<>();
+
+        /**
+         * Number of workloads of each group, by zone.
+         */
+        private final Map<String, Map<List<String>, Integer>> zoneCounts = new HashMap<>();
+
+        /**
+         * Number of workloads of each group, by cluster member.
+         */
+        private final Map<ClusterMember, Map<List<String>, Integer>> memberCounts = new HashMap<>();
+
+        /**
+         * Constructor.
+         *
+         * @param context Scheduler strategy context.
+         */
+        Topology(SchedulerStrategyContext context) {
+            this.context = context;
+
+            context.getMapping().forEach((clusterMember, report) -> {
+                String zone = report.getLabels().get(zoneLabel);
+
+                zones.put(clusterMember, zone);
+                members.computeIfAbsent(zone, z -> new ArrayList<>()).add(clusterMember);
+                reporters.put(report, clusterMember);
+            });
+
+            recount();
+        }
+
+        /**
+         * Counts the workloads of each group in each zone and on each cluster member from scratch.
+         */
+        void recount() {
+            zoneCounts.clear();
+            memberCounts.clear();
+
+            context.getMapping().forEach((clusterMember, report) -> report.getEntries().forEach(e -> add(clusterMember, e.getWorkload())));
+        }
+
+        /**
+         * Returns the zones of the cluster.
+         *
+         * @return The zones of the cluster.
+         */
+        Set<String> getZones() {
+            return members.keySet();
+        }
+
+        /**
+         * Returns the cluster members of the given zone.
+         *
+         * @param zone Zone.
+         * @return The cluster members of the zone.
+         */
+        List<ClusterMember> getMembers(String zone) {
+            return members.get(zone);
+        }
+
+        /**
+         * Returns the groups of workloads running in the cluster.
+         *
+         * @return The groups of workloads running in the cluster.
+         */
+        Set<List<String>> getGroups() {
+            Set<List<String>> groups = new HashSet<>();
+            zoneCounts.values().forEach(c -> groups.addAll(c.keySet()));
+            return groups;
+        }
+
+        /**
+         * Returns the number of workloads of the given group running in the given zone.
+         *
+         * @param zone  Zone.
+         * @param group Group of workloads.
+         * @return The number of workloads of the group in the zone.
+         */
+        int count(String zone, List<String> group) {
+            return zoneCounts.getOrDefault(zone, Collections.emptyMap()).getOrDefault(group, 0);
+        }
+
+        /**
+         * Returns the number of workloads of the given group running on the given cluster member.
+         *
+         * @param clusterMember Cluster member.
+         * @param group         Group of workloads.
+         * @return The number of workloads of the group on the cluster member.
+         */
+        int count(ClusterMember clusterMember, List<String> group) {
+            return memberCounts.getOrDefault(clusterMember, Collections.emptyMap()).getOrDefault(group, 0);
+        }
+
+        /**
+         * Records that the given workload now runs on the given cluster member.
+         *
+         * @param clusterMember Cluster member.
+         * @param workload      Workload.
+         */
+        void add(ClusterMember clusterMember, Workload workload) {
+            List<String> group = getSpreadGroup(workload);
+
+            zoneCounts.computeIfAbsent(zones.get(clusterMember), z -> new HashMap<>()).merge(group, 1, Integer::sum);
+            memberCounts.computeIfAbsent(clusterMember, m -> new HashMap<>()).merge(group, 1, Integer::sum);
+        }
+
+        /**
+         * Records that the given workload no longer runs on the given cluster member.
+         *
+         * @param clusterMember Cluster member.
+         * @param workload      Workload.
+         */
+        void remove(ClusterMember clusterMember, Workload workload) {
+            List<String> group = getSpreadGroup(workload);
+
+            zoneCounts.get(zones.get(clusterMember)).merge(group, -1, Integer::sum);
+            memberCounts.get(clusterMember).merge(group, -1, Integer::sum);
+        }
+
+        /**
+         * Returns a comparator that orders cluster members by the number of workloads of the given group they run,
+         * and then by the number of workloads they run.
+         *
+         * @param group Group of workloads.
+         * @return A comparator of cluster members.
+         */
+        Comparator<ClusterMember> memberComparator(List<String> group) {
+            return Comparator.<ClusterMember>comparingInt(m -> count(m, group))
+                .thenComparingInt(m -> context.getMapping().get(m).getEntries().size());
+        }
+
+        /**
+         * Returns a comparator that orders workload reports by the number of workloads of the given group running in
+         * the zone of their cluster member, then on their cluster member, and then by the number of workloads they
+         * contain.
+         *
+         * @param group Group of workloads.
+         * @return A comparator of workload reports.
+         */
+        Comparator<WorkloadReport> placementComparator(List<String> group) {
+            Comparator<ClusterMember> comparator = Comparator.<ClusterMember>comparingInt(m -> count(zones.get(m), group))
+                .thenComparing(memberComparator(group));
+
+            return (a, b) -> comparator.compare(reporters.get(a), reporters.get(b));
+        }
+    }
+}
@@ -17,27 +17,71 @@
 package com.budjb.spring.distributed.scheduler.workload;
 
 import com.budjb.spring.distributed.scheduler.RunningState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * A base implementation of {@link WorkloadRunnable} that provides most of the functionality
  * of how a concrete implementation should behave, besides the actual logic of running the workload.
+ * <p>
+ * The running state is a small state machine that is safe to drive from any thread. States only ever
+ * move forward (see {@link RunningState#canTransitionTo}); transitions that are not valid are ignored. The one
+ * exception is an explicit {@link #fail()}, which forces the runnable into {@link RunningState#ERROR} from any other
+ * state, including a terminated one.
+ * The time each state was entered is recorded, and {@link WorkloadStateListener listeners} are notified
+ * of every transition.
+ * <p>
+ * Implementations may opt in to stall detection by calling {@link #heartbeat()} or {@link #progress(long)}
+ * regularly while running. Once a runnable has reported a heartbeat, it is considered stalled if it goes
+ * longer than its workload type's stall threshold without reporting another.
  */
 public abstract class AbstractWorkloadRunnable implements WorkloadRunnable {
+    /**
+     * Logger.
+     */
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
     /**
      * Workload.
      */
     private final Workload workload;
 
     /**
-     * Running state.
+     * Running state, along with the exception thrown during the course of running the workload.
+     */
+    private final AtomicReference<State> state = new AtomicReference<>(new State(RunningState.NOT_STARTED, null));
+
+    /**
+     * Times at which each running state was entered, in milliseconds since the epoch, indexed by ordinal.
+     */
+    private final AtomicLongArray stateTimestamps = new AtomicLongArray(RunningState.values().length);
+
+    /**
+     * Running state listeners.
+     */
+    private final List<WorkloadStateListener> stateListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Time of the most recent heartbeat, in milliseconds since the epoch.
+     */
+    private volatile long lastHeartbeat = 0;
+
+    /**
+     * Amount of progress reported.
      */
-    private RunningState runningState = RunningState.NOT_STARTED;
+    private final AtomicLong progress = new AtomicLong();
 
     /**
-     * Exception thrown during the course of running the workload.
+     * Most recently reported load score.
      */
-    private Throwable throwable = null;
+    private volatile double loadScore = 0;
 
     /**
      * Constructor.
@@ -47,6 +91,7 @@ public abstract class AbstractWorkloadRunnable implements WorkloadRunnable {
     protected AbstractWorkloadRunnable(Workload workload) {
         Assert.notNull(workload, "workload must not be null");
         this.workload = workload;
+        this.stateTimestamps.set(RunningState.NOT_STARTED.ordinal(), System.currentTimeMillis());
     }
 
     /**
@@ -62,16 +107,26 @@ public abstract class AbstractWorkloadRunnable implements WorkloadRunnable {
      */
     @Override
     public RunningState getRunningState() {
-        return runningState;
+        return state.get().runningState;
     }
 
     /**
-     * Sets the running state of the runnable.
+     * Sets the running state of the runnable, provided that the transition is valid.
      *
      * @param runningState Running state of the runnable.
      */
     protected void setRunningState(RunningState runningState) {
-        this.runningState = runningState;
+        compareAndSetRunningState(runningState);
+    }
+
+    /**
+     * Atomically moves the runnable to the given running state, provided that the transition is valid.
+     *
+     * @param runningState Running state of the runnable.
+     * @return Whether the runnable moved to the given running state.
+     */
+    protected boolean compareAndSetRunningState(RunningState runningState) {
+        return transition(runningState, null, false);
     }
 
     /**
@@ -79,7 +134,7 @@ public abstract class AbstractWorkloadRunnable implements WorkloadRunnable {
      */
     @Override
     public void terminate() {
-        runningState = RunningState.STOPPED;
+        transition(RunningState.STOPPED, null, false);
     }
 
     /**
@@ -87,7 +142,15 @@ public abstract class AbstractWorkloadRunnable implements WorkloadRunnable {
      */
     @Override
     public void fail() {
-        runningState = RunningState.ERROR;
+        transition(RunningState.ERROR, null, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fail(Throwable cause) {
+        transition(RunningState.ERROR, cause, true);
     }
 
     /**
@@ -95,7 +158,7 @@ public abstract class AbstractWorkloadRunnable implements WorkloadRunnable {
      */
     @Override
     public Throwable getException() {
-        return throwable;
+        return state.get().throwable;
     }
 
     /**
@@ -104,6 +167,152 @@ public abstract class AbstractWorkloadRunnable implements WorkloadRunnable {
      * @param throwable the exception thrown during the course of running the workload.
      */
     protected void setException(Throwable throwable) {
-        this.throwable = throwable;
+        state.updateAndGet(current -> new State(current.runningState, throwable));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getStateTimestamp(RunningState runningState) {
+        return stateTimestamps.get(runningState.ordinal());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addStateListener(WorkloadStateListener listener) {
+        stateListeners.add(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeStateListener(WorkloadStateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLastHeartbeat() {
+        return lastHeartbeat;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getProgress() {
+        return progress.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getLoadScore() {
+        return loadScore;
+    }
+
+    /**
+     * Reports the load the runnable currently puts on its cluster member, such as its consumer lag.
+     *
+     * @param loadScore Load score of the runnable.
+     */
+    protected void setLoadScore(double loadScore) {
+        this.loadScore = loadScore;
+    }
+
+    /**
+     * Reports that the runnable is alive and making progress.
+     */
+    protected void heartbeat() {
+        lastHeartbeat = System.currentTimeMillis();
+    }
+
+    /**
+     * Reports an amount of progress, such as a number of records processed, along with a heartbeat.
+     *
+     * @param amount Amount of progress made since the last report.
+     */
+    protected void progress(long amount) {
+        progress.addAndGet(amount);
+        heartbeat();
+    }
+
+    /**
+     * Atomically moves the runnable to the given running state, provided that the transition is valid, and
+     * notifies listeners of the transition.
+     *
+     * @param next  Running state to move to.
+     * @param cause Exception that caused the transition, which replaces any recorded exception (may be {@code null}).
+     * @param force Whether to move to the given state from any other state, even if the transition is not valid.
+     * @return Whether the transition took place.
+     */
+    private boolean transition(RunningState next, Throwable cause, boolean force) {
+        State current;
+        State updated;
+
+        do {
+            current = state.get();
+
+            if (!current.runningState.canTransitionTo(next) && !(force && current.runningState != next)) {
+                if (current.runningState != next) {
+                    log.debug("Ignoring invalid running state transition " + current.runningState + " -> " + next + " for workload " + workload.getUrn());
+                }
+                return false;
+            }
+
+            updated = new State(next, cause != null ? cause : current.throwable);
+        }
+        while (!state.compareAndSet(current, updated));
+
+        long timestamp = System.currentTimeMillis();
+        stateTimestamps.set(next.ordinal(), timestamp);
+
+        if (!stateListeners.isEmpty()) {
+            WorkloadStateTransition transition = new WorkloadStateTransition(workload, current.runningState, next, timestamp, updated.throwable);
+
+            for (WorkloadStateListener listener : stateListeners) {
+                try {
+                    listener.onTransition(transition);
+                }
+                catch (Exception e) {
+                    log.error("Unhandled exception encountered while notifying a listener of " + transition, e);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * An immutable pairing of a running state and the exception recorded with it.
+     */
+    private static class State {
+        /**
+         * Running state.
+         */
+        private final RunningState runningState;
+
+        /**
+         * Exception thrown during the course of running the workload (may be null).
+         */
+        private final Throwable throwable;
+
+        /**
+         * Constructor.
+         *
+         * @param runningState Running state.
+         * @param throwable    Exception thrown during the course of running the workload.
+         */
+        State(RunningState runningState, Throwable throwable) {
+            this.runningState = runningState;
+            this.throwable = throwable;
+        }
     }
 }
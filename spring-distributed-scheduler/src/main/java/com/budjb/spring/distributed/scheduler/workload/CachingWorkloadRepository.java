@@ -16,29 +16,112 @@
 
 package com.budjb.spring.distributed.scheduler.workload;
 
+import com.budjb.spring.distributed.scheduler.SchedulerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An implementation of {@link WorkloadRepository} that queries {@link WorkloadRepositorySource} beans for workloads,
  * and caches the results for a configured time period.
+ * <p>
+ * Once the cached snapshot enters the refresh-ahead window before it expires, callers keep being served the current
+ * snapshot while a new one is loaded in the background, so that callers only block on the sources for the very first
+ * load or when the snapshot has fully expired. Sources that fail during a refresh contribute their last known good
+ * workloads; when a source that has never returned workloads fails, the previous snapshot is kept and served for up to
+ * the stale-while-error window past its expiry.
+ * <p>
+ * Changes found by background refreshes are passed to the registered {@link WorkloadRepositoryListener listeners}.
+ * When a source signals that its workloads have changed, just that source is queried in the background and its
+ * changes are applied to the current snapshot and passed to the listeners, without waiting for the snapshot to expire.
+ * Signals from a source whose refresh has not yet started are coalesced into that refresh.
+ * <p>
+ * Each snapshot is indexed by workload URN, so that {@link #lookup(String)} is a hash lookup against the current
+ * snapshot rather than a scan of all workloads.
  */
 public class CachingWorkloadRepository extends SimpleWorkloadRepository implements WorkloadRepository {
+    /**
+     * Logger.
+     */
+    private final Logger log = LoggerFactory.getLogger(CachingWorkloadRepository.class);
+
     /**
      * Lock object used to synchronize cache updates.
      */
     private final Object cacheLock = new Object();
 
     /**
-     * Cached workloads.
+     * Scheduler properties.
+     */
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Runs background refreshes.
+     */
+    private final ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * Whether a background refresh is scheduled or running.
      */
-    private Set<Workload> workloads = new HashSet<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
 
     /**
-     * When the cache expires.
+     * Sources that have signalled a change and whose refresh has not yet started.
      */
-    private long cacheExpiry;
+    private final Set<WorkloadRepositorySource> pendingSources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Cached snapshot (may be null before the first load).
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Whether the most recent refresh failed.
+     */
+    private volatile boolean refreshFailed = false;
+
+    /**
+     * Number of calls served from a current snapshot.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Number of calls served from an expired snapshot because refreshes are failing.
+     */
+    private final AtomicLong staleHitCount = new AtomicLong();
+
+    /**
+     * Number of calls that had to wait for the sources to be queried.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Number of refreshes.
+     */
+    private final AtomicLong refreshCount = new AtomicLong();
+
+    /**
+     * Number of failed refreshes.
+     */
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+
+    /**
+     * Total time spent refreshing, in nanoseconds.
+     */
+    private final AtomicLong refreshTime = new AtomicLong();
 
     /**
      * Constructor.
@@ -46,21 +129,346 @@ public class CachingWorkloadRepository extends SimpleWorkloadRepository implemen
      * @param sources List of {@link WorkloadRepositorySource workload repository sources} to use.
      */
     public CachingWorkloadRepository(List<WorkloadRepositorySource> sources) {
-        super(sources);
+        this(sources, new SchedulerProperties());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sources             List of {@link WorkloadRepositorySource workload repository sources} to use.
+     * @param schedulerProperties Scheduler properties.
+     */
+    public CachingWorkloadRepository(List<WorkloadRepositorySource> sources, SchedulerProperties schedulerProperties) {
+        super(sources, schedulerProperties);
+        this.schedulerProperties = schedulerProperties;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("workload-repository-refresh-");
+        threadFactory.setDaemon(true);
+
+        refreshExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        refreshExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
      * {@inheritDoc}
      */
+    @Override
+    public Workload lookup(String urn) {
+        return getSnapshot().index.get(urn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
     public Set<Workload> getWorkloads() {
-        if (System.currentTimeMillis() > cacheExpiry) {
-            synchronized (cacheLock) {
-                if (System.currentTimeMillis() > cacheExpiry) {
-                    workloads = super.getWorkloads();
-                    cacheExpiry = System.currentTimeMillis() + 60000; // TODO: configurable!
+        return getSnapshot().workloads;
+    }
+
+    /**
+     * Returns the snapshot that should be served, loading or refreshing it as necessary.
+     *
+     * @return The snapshot that should be served.
+     */
+    private Snapshot getSnapshot() {
+        Snapshot snapshot = this.snapshot;
+
+        if (snapshot != null) {
+            long age = System.currentTimeMillis() - snapshot.loadedAt;
+            long ttl = schedulerProperties.getRepositoryCacheTtl().toMillis();
+
+            if (age < ttl) {
+                if (age >= ttl - schedulerProperties.getRepositoryRefreshAhead().toMillis()) {
+                    refreshAsync();
+                }
+                hitCount.incrementAndGet();
+                return snapshot;
+            }
+
+            if (refreshFailed && age < ttl + schedulerProperties.getRepositoryStaleWhileError().toMillis()) {
+                refreshAsync();
+                staleHitCount.incrementAndGet();
+                return snapshot;
+            }
+        }
+
+        missCount.incrementAndGet();
+
+        synchronized (cacheLock) {
+            snapshot = this.snapshot;
+
+            if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAt < schedulerProperties.getRepositoryCacheTtl().toMillis()) {
+                return snapshot;
+            }
+
+            return refresh();
+        }
+    }
+
+    /**
+     * Returns the number of calls served from a current snapshot.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of calls served from an expired snapshot because refreshes were failing.
+     *
+     * @return The number of stale cache hits.
+     */
+    public long getStaleHitCount() {
+        return staleHitCount.get();
+    }
+
+    /**
+     * Returns the number of calls that had to wait for the sources to be queried.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the number of refreshes, whether successful or not.
+     *
+     * @return The number of refreshes.
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Returns the number of refreshes that failed.
+     *
+     * @return The number of failed refreshes.
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    /**
+     * Returns the total time spent refreshing.
+     *
+     * @param unit Time unit to return the time in.
+     * @return The total time spent refreshing.
+     */
+    public double getRefreshTime(TimeUnit unit) {
+        return (double) refreshTime.get() / unit.toNanos(1);
+    }
+
+    /**
+     * Schedules a background refresh, unless one is already scheduled or running.
+     */
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    QueryResult result;
+                    boolean replaced;
+
+                    synchronized (cacheLock) {
+                        Snapshot previous = this.snapshot;
+                        result = timedQuery();
+                        replaced = apply(result) != previous;
+                    }
+
+                    if (replaced) {
+                        notifyChangeListeners(result.getAdded(), result.getRemoved());
+                    }
+                }
+                catch (Exception e) {
+                    log.error("Unhandled exception encountered while refreshing the workload repository", e);
                 }
+                finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        catch (Exception e) {
+            refreshing.set(false);
+            log.error("Unable to schedule a refresh of the workload repository", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPartial() {
+        Snapshot snapshot = this.snapshot;
+
+        return snapshot != null && snapshot.partial;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onSourceChanged(WorkloadRepositorySource source) {
+        if (!pendingSources.add(source)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                pendingSources.remove(source);
+
+                try {
+                    refreshSource(source);
+                }
+                catch (Exception e) {
+                    log.error("Unhandled exception encountered while refreshing a workload repository source", e);
+                }
+            });
+        }
+        catch (Exception e) {
+            pendingSources.remove(source);
+            log.error("Unable to schedule a refresh of a workload repository source", e);
+        }
+    }
+
+    /**
+     * Queries the given source, applies its changes to the current snapshot, and notifies listeners of them.
+     * The snapshot keeps its original load time, since the other sources have not been refreshed.
+     *
+     * @param source Source whose workloads have changed.
+     */
+    private void refreshSource(WorkloadRepositorySource source) {
+        QueryResult result;
+
+        synchronized (cacheLock) {
+            Snapshot current = this.snapshot;
+
+            if (current == null) {
+                return;
             }
+
+            result = query(Collections.singletonList(source));
+
+            if (result.getAdded().isEmpty() && result.getRemoved().isEmpty()) {
+                return;
+            }
+
+            Set<Workload> workloads = new HashSet<>(current.workloads);
+            workloads.removeAll(result.getRemoved());
+            workloads.addAll(result.getAdded());
+
+            this.snapshot = new Snapshot(workloads, current.partial, current.loadedAt);
+        }
+
+        notifyChangeListeners(result.getAdded(), result.getRemoved());
+    }
+
+    /**
+     * Queries the sources and replaces the cached snapshot. Must be called while holding the cache lock.
+     *
+     * @return The snapshot that should be served.
+     */
+    private Snapshot refresh() {
+        return apply(timedQuery());
+    }
+
+    /**
+     * Queries all sources, recording the refresh and its duration.
+     *
+     * @return The result of the query.
+     */
+    private QueryResult timedQuery() {
+        long start = System.nanoTime();
+        QueryResult result = query();
+
+        refreshCount.incrementAndGet();
+        refreshTime.addAndGet(System.nanoTime() - start);
+
+        return result;
+    }
+
+    /**
+     * Replaces the cached snapshot with the result of a query. When the workloads of any source are unknown, the
+     * current snapshot is kept instead as long as it is within the stale-while-error window. Must be called while
+     * holding the cache lock.
+     *
+     * @param result Result of querying all sources.
+     * @return The snapshot that should be served.
+     */
+    private Snapshot apply(QueryResult result) {
+        Snapshot current = this.snapshot;
+
+        refreshFailed = !result.getFailedSources().isEmpty();
+
+        if (refreshFailed) {
+            refreshFailureCount.incrementAndGet();
+        }
+
+        if (!result.isComplete()) {
+            if (current != null && System.currentTimeMillis() - current.loadedAt < schedulerProperties.getRepositoryCacheTtl().toMillis() + schedulerProperties.getRepositoryStaleWhileError().toMillis()) {
+                log.warn(result.getUnknownSources().size() + " workload repository source(s) failed with no last known good workloads; continuing to serve the previous snapshot");
+                return current;
+            }
+
+            log.warn(result.getUnknownSources().size() + " workload repository source(s) failed with no last known good workloads and the previous snapshot is too stale to serve; serving a partial snapshot");
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("refreshed the workload repository: " + result.getAdded().size() + " workload(s) added, " + result.getRemoved().size() + " removed");
+        }
+
+        Snapshot snapshot = new Snapshot(result.getWorkloads(), !result.isComplete(), System.currentTimeMillis());
+        this.snapshot = snapshot;
+
+        return snapshot;
+    }
+
+    /**
+     * An immutable snapshot of the workloads returned by the sources.
+     */
+    private static class Snapshot {
+        /**
+         * Workloads.
+         */
+        private final Set<Workload> workloads;
+
+        /**
+         * Workloads, keyed by URN.
+         */
+        private final Map<String, Workload> index;
+
+        /**
+         * Whether the workloads of any source are missing from the snapshot.
+         */
+        private final boolean partial;
+
+        /**
+         * Time the snapshot was loaded, in milliseconds since the epoch.
+         */
+        private final long loadedAt;
+
+        /**
+         * Constructor.
+         *
+         * @param workloads Workloads, which the snapshot takes ownership of.
+         * @param partial   Whether the workloads of any source are missing from the snapshot.
+         * @param loadedAt  Time the snapshot was loaded, in milliseconds since the epoch.
+         */
+        Snapshot(Set<Workload> workloads, boolean partial, long loadedAt) {
+            Map<String, Workload> index = new HashMap<>();
+
+            for (Workload workload : workloads) {
+                index.putIfAbsent(workload.getUrn(), workload);
+            }
+
+            this.workloads = Collections.unmodifiableSet(workloads);
+            this.index = Collections.unmodifiableMap(index);
+            this.partial = partial;
+            this.loadedAt = loadedAt;
         }
-        return workloads;
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import java.util.Set;
+
+/**
+ * A {@link WorkloadRepositorySource} that can report the changes to its workloads since a previous query, rather
+ * than returning every workload on every query.
+ * <p>
+ * Each query returns a change token alongside its changes, which the repository passes back on the following query.
+ * Tokens are opaque to the repository; a source may use a sequence number, a timestamp, or the position in a change
+ * log. When the repository has no token, or the source can no longer compute the changes since the given token, the
+ * source returns {@link WorkloadChanges#full full} changes containing all of its workloads instead.
+ */
+public interface IncrementalWorkloadRepositorySource extends WorkloadRepositorySource {
+    /**
+     * Returns the changes to the source's workloads since the given change token.
+     *
+     * @param token Change token returned by the previous query, or {@code null} to request all workloads.
+     * @return The changes since the given token, along with a new change token.
+     */
+    WorkloadChanges queryChanges(String token);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    default Set<Workload> queryWorkloads() {
+        return queryChanges(null).getAdded();
+    }
+}
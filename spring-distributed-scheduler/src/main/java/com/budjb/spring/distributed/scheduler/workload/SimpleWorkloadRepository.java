@@ -16,16 +16,58 @@
 
 package com.budjb.spring.distributed.scheduler.workload;
 
+import com.budjb.spring.distributed.scheduler.SchedulerProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * A simple implementation of {@link WorkloadRepository} that queries {@link WorkloadRepositorySource} beans for
  * workloads.
+ * <p>
+ * Sources are queried concurrently on a bounded pool of threads, and their workloads are merged as each query
+ * completes. Each query is subject to a timeout, measured from when the query starts; a source that times out
+ * is treated the same as a source that fails. Sources that are still waiting for a thread once every source could
+ * have run its query to the timeout are also treated as failed.
+ * <p>
+ * The workloads most recently returned by each source are kept as its last known good workloads, and are used in
+ * place of the source's results whenever it fails. This keeps a transient failure of a source from removing all of
+ * its workloads from the cluster, and then starting them all again once the source recovers. A source that fails
+ * before it has ever returned workloads is unknown, and makes the result {@link #isPartial() partial}. Workloads
+ * returned by any source since the last complete query stay {@link #isAttributed(Workload) attributed}, so that
+ * workloads dropped by the known sources can still be removed while another source is unknown.
+ * <p>
+ * {@link IncrementalWorkloadRepositorySource Incremental sources} are queried for their changes since the change
+ * token of their last known good workloads, and the changes are applied to those workloads.
+ * {@link StreamingWorkloadRepositorySource Streaming sources} are consumed directly into the repository's copy of
+ * their workloads.
+ * <p>
+ * When a source signals that its workloads have changed, only that source is queried, and its changes are passed
+ * to the registered {@link WorkloadRepositoryListener listeners}.
  */
 public class SimpleWorkloadRepository implements WorkloadRepository {
     /**
@@ -33,6 +75,46 @@ public class SimpleWorkloadRepository implements WorkloadRepository {
      */
     private final List<WorkloadRepositorySource> sources;
 
+    /**
+     * Scheduler properties.
+     */
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Query statistics, by source.
+     */
+    private final Map<WorkloadRepositorySource, SourceStatistics> sourceStatistics = new IdentityHashMap<>();
+
+    /**
+     * Workloads most recently returned by each source.
+     */
+    private final Map<WorkloadRepositorySource, KnownWorkloads> lastKnownGood = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the most recently returned workloads are partial.
+     */
+    private volatile boolean partial = false;
+
+    /**
+     * Workloads returned by any source since the last query of all sources that left no source unknown.
+     */
+    private final Set<Workload> attributedWorkloads = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Change listeners.
+     */
+    private final List<WorkloadRepositoryListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Whether the sources have been given their change notifiers.
+     */
+    private final AtomicBoolean changeNotifiersRegistered = new AtomicBoolean(false);
+
+    /**
+     * Runs source queries.
+     */
+    private final ThreadPoolExecutor queryExecutor;
+
     /**
      * Logger.
      */
@@ -44,7 +126,42 @@ public class SimpleWorkloadRepository implements WorkloadRepository {
      * @param sources Workload repository source beans.
      */
     public SimpleWorkloadRepository(List<WorkloadRepositorySource> sources) {
+        this(sources, new SchedulerProperties());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sources             Workload repository source beans.
+     * @param schedulerProperties Scheduler properties.
+     */
+    public SimpleWorkloadRepository(List<WorkloadRepositorySource> sources, SchedulerProperties schedulerProperties) {
         this.sources = sources;
+        this.schedulerProperties = schedulerProperties;
+
+        Map<String, Integer> nameCounts = new HashMap<>();
+        for (WorkloadRepositorySource source : sources) {
+            nameCounts.merge(getSourceName(source), 1, Integer::sum);
+        }
+
+        Map<String, Integer> nameIndexes = new HashMap<>();
+        for (WorkloadRepositorySource source : sources) {
+            String name = getSourceName(source);
+
+            if (nameCounts.get(name) > 1) {
+                name = name + "-" + nameIndexes.merge(name, 1, Integer::sum);
+            }
+
+            sourceStatistics.put(source, new SourceStatistics(name));
+        }
+
+        int parallelism = Math.max(1, schedulerProperties.getRepositoryQueryParallelism());
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("workload-repository-query-");
+        threadFactory.setDaemon(true);
+
+        queryExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        queryExecutor.allowCoreThreadTimeOut(true);
     }
 
     /**
@@ -60,18 +177,206 @@ public class SimpleWorkloadRepository implements WorkloadRepository {
      */
     @Override
     public Set<Workload> getWorkloads() {
-        Set<Workload> workloads = new HashSet<>();
+        QueryResult result = query();
+        partial = !result.isComplete();
+        return result.getWorkloads();
+    }
 
-        for (WorkloadRepositorySource source : sources) {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAttributed(Workload workload) {
+        return attributedWorkloads.contains(workload);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addChangeListener(WorkloadRepositoryListener listener) {
+        registerChangeNotifiers();
+        changeListeners.add(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeChangeListener(WorkloadRepositoryListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Returns the query statistics of each source.
+     *
+     * @return The query statistics of each source.
+     */
+    public Collection<SourceStatistics> getSourceStatistics() {
+        return Collections.unmodifiableCollection(sourceStatistics.values());
+    }
+
+    /**
+     * Queries all {@link WorkloadRepositorySource workload repository sources} and aggregates their workloads.
+     * Sources that fail or time out are logged and recorded in the result, and their last known good workloads are
+     * used in place of their results.
+     *
+     * @return The result of the query.
+     */
+    protected QueryResult query() {
+        registerChangeNotifiers();
+
+        return query(sources);
+    }
+
+    /**
+     * Called when the given source has signalled that its workloads have changed. Queries just that source and
+     * notifies listeners of its changes.
+     *
+     * @param source Source whose workloads have changed.
+     */
+    protected void onSourceChanged(WorkloadRepositorySource source) {
+        QueryResult result = query(Collections.singletonList(source));
+
+        notifyChangeListeners(result.getAdded(), result.getRemoved());
+    }
+
+    /**
+     * Notifies the registered listeners of the given changes, if there are any.
+     *
+     * @param added   Workloads added to the repository.
+     * @param removed Workloads removed from the repository.
+     */
+    protected void notifyChangeListeners(Set<Workload> added, Set<Workload> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        Set<Workload> unmodifiableAdded = Collections.unmodifiableSet(added);
+        Set<Workload> unmodifiableRemoved = Collections.unmodifiableSet(removed);
+
+        for (WorkloadRepositoryListener listener : changeListeners) {
             try {
-                workloads.addAll(source.queryWorkloads());
+                listener.onChange(unmodifiableAdded, unmodifiableRemoved);
             }
             catch (Exception e) {
-                log.error("unhandled exception encountered while querying a workload repository source", e);
+                log.error("unhandled exception encountered while notifying a workload repository listener", e);
+            }
+        }
+    }
+
+    /**
+     * Queries the given {@link WorkloadRepositorySource workload repository sources} and aggregates their workloads.
+     * Sources that fail or time out are logged and recorded in the result, and their last known good workloads are
+     * used in place of their results.
+     *
+     * @param sources Sources to query.
+     * @return The result of the query.
+     */
+    protected QueryResult query(List<WorkloadRepositorySource> sources) {
+        Set<Workload> workloads = new HashSet<>();
+        Set<Workload> added = new HashSet<>();
+        Set<Workload> removed = new HashSet<>();
+        List<WorkloadRepositorySource> failedSources = new ArrayList<>();
+
+        CompletionService<SourceQuery> completionService = new ExecutorCompletionService<>(queryExecutor);
+        Map<Future<SourceQuery>, SourceQuery> pending = new LinkedHashMap<>();
+
+        for (WorkloadRepositorySource source : sources) {
+            SourceQuery query = new SourceQuery(source);
+            pending.put(completionService.submit(query), query);
+        }
+
+        long timeout = schedulerProperties.getRepositoryQueryTimeout().toNanos();
+        int rounds = (sources.size() + queryExecutor.getMaximumPoolSize() - 1) / queryExecutor.getMaximumPoolSize();
+        long deadline = System.nanoTime() + timeout * rounds;
+
+        try {
+            while (!pending.isEmpty()) {
+                Future<SourceQuery> future = timeout > 0 ? completionService.poll(getWait(pending.values(), timeout, deadline), TimeUnit.NANOSECONDS) : completionService.take();
+
+                if (future != null) {
+                    SourceQuery query = pending.remove(future);
+
+                    try {
+                        future.get();
+                        lastKnownGood.put(query.source, new KnownWorkloads(query.workloads, query.token));
+                        attributedWorkloads.addAll(query.added);
+                        workloads.addAll(query.workloads);
+                        added.addAll(query.added);
+                        removed.addAll(query.removed);
+                    }
+                    catch (ExecutionException e) {
+                        log.error("unhandled exception encountered while querying a workload repository source", e.getCause());
+                        sourceStatistics.get(query.source).failureCount.incrementAndGet();
+                        failedSources.add(query.source);
+                    }
+
+                    continue;
+                }
+
+                long now = System.nanoTime();
+
+                pending.entrySet().removeIf(entry -> {
+                    SourceQuery query = entry.getValue();
+                    long startedAt = query.startedAt;
+
+                    if ((startedAt == 0 || now - startedAt < timeout) && now < deadline) {
+                        return false;
+                    }
+
+                    entry.getKey().cancel(true);
+
+                    log.error("workload repository source " + sourceStatistics.get(query.source).getName() + " did not return within " + schedulerProperties.getRepositoryQueryTimeout());
+                    sourceStatistics.get(query.source).timeoutCount.incrementAndGet();
+                    failedSources.add(query.source);
+
+                    return true;
+                });
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            for (Map.Entry<Future<SourceQuery>, SourceQuery> entry : pending.entrySet()) {
+                entry.getKey().cancel(true);
+                failedSources.add(entry.getValue().source);
+            }
+        }
+
+        List<WorkloadRepositorySource> unknownSources = new ArrayList<>();
+
+        for (WorkloadRepositorySource source : failedSources) {
+            KnownWorkloads known = lastKnownGood.get(source);
+
+            if (known == null) {
+                log.warn("workload repository source " + sourceStatistics.get(source).getName() + " failed and has no last known good workloads");
+                unknownSources.add(source);
+            }
+            else {
+                log.warn("workload repository source " + sourceStatistics.get(source).getName() + " failed; using its last known good workloads");
+                workloads.addAll(known.workloads);
             }
         }
 
-        return workloads;
+        removed.removeAll(workloads);
+
+        if (sources.size() < this.sources.size()) {
+            removed.removeIf(workload -> isKnownByOtherSource(workload, sources));
+        }
+        else if (unknownSources.isEmpty()) {
+            attributedWorkloads.retainAll(workloads);
+        }
+
+        return new QueryResult(workloads, added, removed, failedSources, unknownSources);
     }
 
     /**
@@ -82,4 +387,434 @@ public class SimpleWorkloadRepository implements WorkloadRepository {
     protected List<WorkloadRepositorySource> getSources() {
         return sources;
     }
+
+    /**
+     * Gives each source a change notifier, once.
+     */
+    private void registerChangeNotifiers() {
+        if (!changeNotifiersRegistered.compareAndSet(false, true)) {
+            return;
+        }
+
+        for (WorkloadRepositorySource source : sources) {
+            source.setChangeNotifier(() -> {
+                try {
+                    onSourceChanged(source);
+                }
+                catch (Exception e) {
+                    log.error("unhandled exception encountered while handling a change to workload repository source " + sourceStatistics.get(source).getName(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns whether the given workload is among the last known good workloads of a source other than the given ones.
+     *
+     * @param workload Workload to check.
+     * @param sources  Sources to exclude.
+     * @return Whether another source is known to provide the workload.
+     */
+    private boolean isKnownByOtherSource(Workload workload, List<WorkloadRepositorySource> sources) {
+        for (Map.Entry<WorkloadRepositorySource, KnownWorkloads> entry : lastKnownGood.entrySet()) {
+            if (!sources.contains(entry.getKey()) && entry.getValue().workloads.contains(workload)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns how long to wait for the next query to complete before checking pending queries for timeouts.
+     *
+     * @param pending  Pending queries.
+     * @param timeout  Per-query timeout, in nanoseconds.
+     * @param deadline Time after which all pending queries time out, in nanoseconds.
+     * @return Time to wait, in nanoseconds.
+     */
+    private long getWait(Collection<SourceQuery> pending, long timeout, long deadline) {
+        long now = System.nanoTime();
+        long wait = deadline - now;
+
+        for (SourceQuery query : pending) {
+            long startedAt = query.startedAt;
+
+            if (startedAt != 0) {
+                wait = Math.min(wait, startedAt + timeout - now);
+            }
+        }
+
+        return Math.max(0, wait);
+    }
+
+    /**
+     * Returns a name for the given source suitable for logging and metrics.
+     *
+     * @param source Workload repository source.
+     * @return The name of the source.
+     */
+    private static String getSourceName(WorkloadRepositorySource source) {
+        String name = source.getClass().getSimpleName();
+
+        return name.isEmpty() ? source.getClass().getName() : name;
+    }
+
+    /**
+     * The workloads most recently returned by a source, along with the change token they correspond to.
+     */
+    private static class KnownWorkloads {
+        /**
+         * Workloads.
+         */
+        private final Set<Workload> workloads;
+
+        /**
+         * Change token of an incremental source, or {@code null}.
+         */
+        private final String token;
+
+        /**
+         * Constructor.
+         *
+         * @param workloads Workloads.
+         * @param token     Change token of an incremental source, or {@code null}.
+         */
+        KnownWorkloads(Set<Workload> workloads, String token) {
+            this.workloads = workloads;
+            this.token = token;
+        }
+    }
+
+    /**
+     * A query of a single source, which records when it started and how long it took, and the changes to the
+     * source's workloads since its last known good workloads.
+     */
+    private class SourceQuery implements Callable<SourceQuery> {
+        /**
+         * Source to query.
+         */
+        private final WorkloadRepositorySource source;
+
+        /**
+         * Time the query started, in nanoseconds, or 0 if it has not started.
+         */
+        private volatile long startedAt = 0;
+
+        /**
+         * Workloads returned by the source.
+         */
+        private Set<Workload> workloads;
+
+        /**
+         * Workloads added since the source's last known good workloads.
+         */
+        private Set<Workload> added;
+
+        /**
+         * Workloads removed since the source's last known good workloads.
+         */
+        private Set<Workload> removed;
+
+        /**
+         * Change token returned by an incremental source.
+         */
+        private String token;
+
+        /**
+         * Constructor.
+         *
+         * @param source Source to query.
+         */
+        SourceQuery(WorkloadRepositorySource source) {
+            this.source = source;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public SourceQuery call() {
+            long start = System.nanoTime();
+            startedAt = start;
+
+            try {
+                KnownWorkloads known = lastKnownGood.get(source);
+
+                if (source instanceof IncrementalWorkloadRepositorySource) {
+                    applyChanges(known, ((IncrementalWorkloadRepositorySource) source).queryChanges(known == null ? null : known.token));
+                }
+                else if (source instanceof StreamingWorkloadRepositorySource) {
+                    try (Stream<? extends Workload> stream = ((StreamingWorkloadRepositorySource) source).streamWorkloads()) {
+                        Set<Workload> workloads = new HashSet<>();
+                        stream.forEach(workloads::add);
+                        replace(known, workloads);
+                    }
+                }
+                else {
+                    replace(known, new HashSet<>(source.queryWorkloads()));
+                }
+
+                return this;
+            }
+            finally {
+                SourceStatistics statistics = sourceStatistics.get(source);
+                statistics.queryCount.incrementAndGet();
+                statistics.queryTime.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Applies the changes returned by an incremental source to its last known good workloads.
+         *
+         * @param known   Last known good workloads of the source, or {@code null}.
+         * @param changes Changes returned by the source.
+         */
+        private void applyChanges(KnownWorkloads known, WorkloadChanges changes) {
+            token = changes.getToken();
+
+            if (known == null || changes.isFull()) {
+                replace(known, new HashSet<>(changes.getAdded()));
+                return;
+            }
+
+            workloads = new HashSet<>(known.workloads);
+            workloads.removeAll(changes.getRemoved());
+            workloads.addAll(changes.getAdded());
+
+            added = difference(changes.getAdded(), known.workloads);
+            removed = difference(changes.getRemoved(), workloads);
+            removed.retainAll(known.workloads);
+        }
+
+        /**
+         * Replaces the last known good workloads of the source, and determines the changes between them.
+         *
+         * @param known     Last known good workloads of the source, or {@code null}.
+         * @param workloads All of the source's workloads, which the query takes ownership of. Sets returned by a
+         *                  source must be copied first, since the source may reuse or modify them.
+         */
+        private void replace(KnownWorkloads known, Set<Workload> workloads) {
+            this.workloads = workloads;
+
+            if (known == null) {
+                added = workloads;
+                removed = Collections.emptySet();
+                return;
+            }
+
+            added = difference(workloads, known.workloads);
+            removed = difference(known.workloads, workloads);
+        }
+
+        /**
+         * Returns the workloads in the first set that are not in the second. Only the difference is copied, so that
+         * comparing two large sets that differ slightly does not copy either of them.
+         *
+         * @param workloads Workloads to filter.
+         * @param excluded  Workloads to exclude.
+         * @return The workloads in the first set that are not in the second.
+         */
+        private Set<Workload> difference(Set<Workload> workloads, Set<Workload> excluded) {
+            Set<Workload> difference = new HashSet<>();
+
+            for (Workload workload : workloads) {
+                if (!excluded.contains(workload)) {
+                    difference.add(workload);
+                }
+            }
+
+            return difference;
+        }
+    }
+
+    /**
+     * Query statistics of a single workload repository source.
+     */
+    public static class SourceStatistics {
+        /**
+         * Name of the source.
+         */
+        private final String name;
+
+        /**
+         * Number of queries, whether successful or not.
+         */
+        private final AtomicLong queryCount = new AtomicLong();
+
+        /**
+         * Total time spent querying, in nanoseconds.
+         */
+        private final AtomicLong queryTime = new AtomicLong();
+
+        /**
+         * Number of queries that failed.
+         */
+        private final AtomicLong failureCount = new AtomicLong();
+
+        /**
+         * Number of queries that timed out.
+         */
+        private final AtomicLong timeoutCount = new AtomicLong();
+
+        /**
+         * Constructor.
+         *
+         * @param name Name of the source.
+         */
+        SourceStatistics(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the name of the source, which is its simple class name, suffixed with an index if several
+         * sources share the same class.
+         *
+         * @return The name of the source.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of queries of the source, whether successful or not.
+         *
+         * @return The number of queries.
+         */
+        public long getQueryCount() {
+            return queryCount.get();
+        }
+
+        /**
+         * Returns the total time spent querying the source.
+         *
+         * @param unit Time unit to return the time in.
+         * @return The total time spent querying the source.
+         */
+        public double getQueryTime(TimeUnit unit) {
+            return (double) queryTime.get() / unit.toNanos(1);
+        }
+
+        /**
+         * Returns the number of queries of the source that failed.
+         *
+         * @return The number of failed queries.
+         */
+        public long getFailureCount() {
+            return failureCount.get();
+        }
+
+        /**
+         * Returns the number of queries of the source that timed out.
+         *
+         * @return The number of timed out queries.
+         */
+        public long getTimeoutCount() {
+            return timeoutCount.get();
+        }
+    }
+
+    /**
+     * The aggregated result of querying all workload repository sources.
+     */
+    protected static class QueryResult {
+        /**
+         * Workloads returned by the sources that succeeded, and the last known good workloads of those that failed.
+         */
+        private final Set<Workload> workloads;
+
+        /**
+         * Workloads added since the sources were last queried.
+         */
+        private final Set<Workload> added;
+
+        /**
+         * Workloads removed since the sources were last queried.
+         */
+        private final Set<Workload> removed;
+
+        /**
+         * Sources that failed.
+         */
+        private final List<WorkloadRepositorySource> failedSources;
+
+        /**
+         * Sources that failed and have no last known good workloads.
+         */
+        private final List<WorkloadRepositorySource> unknownSources;
+
+        /**
+         * Constructor.
+         *
+         * @param workloads      Workloads returned by the sources that succeeded, and the last known good workloads
+         *                       of those that failed.
+         * @param added          Workloads added since the sources were last queried.
+         * @param removed        Workloads removed since the sources were last queried.
+         * @param failedSources  Sources that failed.
+         * @param unknownSources Sources that failed and have no last known good workloads.
+         */
+        protected QueryResult(Set<Workload> workloads, Set<Workload> added, Set<Workload> removed, List<WorkloadRepositorySource> failedSources, List<WorkloadRepositorySource> unknownSources) {
+            this.workloads = workloads;
+            this.added = added;
+            this.removed = removed;
+            this.failedSources = failedSources;
+            this.unknownSources = unknownSources;
+        }
+
+        /**
+         * Returns the workloads returned by the sources that succeeded, and the last known good workloads of those
+         * that failed.
+         *
+         * @return The aggregated workloads.
+         */
+        public Set<Workload> getWorkloads() {
+            return workloads;
+        }
+
+        /**
+         * Returns the workloads added since the sources were last queried.
+         *
+         * @return The added workloads.
+         */
+        public Set<Workload> getAdded() {
+            return added;
+        }
+
+        /**
+         * Returns the workloads removed since the sources were last queried.
+         *
+         * @return The removed workloads.
+         */
+        public Set<Workload> getRemoved() {
+            return removed;
+        }
+
+        /**
+         * Returns the sources that failed.
+         *
+         * @return The sources that failed.
+         */
+        public List<WorkloadRepositorySource> getFailedSources() {
+            return failedSources;
+        }
+
+        /**
+         * Returns the sources that failed and have no last known good workloads.
+         *
+         * @return The sources that failed and have no last known good workloads.
+         */
+        public List<WorkloadRepositorySource> getUnknownSources() {
+            return unknownSources;
+        }
+
+        /**
+         * Returns whether the workloads of every source are known, either because the source was queried
+         * successfully or because its last known good workloads were used.
+         *
+         * @return Whether the workloads of every source are known.
+         */
+        public boolean isComplete() {
+            return unknownSources.isEmpty();
+        }
+    }
 }
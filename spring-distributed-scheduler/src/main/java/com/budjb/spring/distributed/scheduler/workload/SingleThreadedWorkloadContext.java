@@ -39,7 +39,32 @@ public class SingleThreadedWorkloadContext implements WorkloadContext {
     /**
      * Workload runnable thread.
      */
-    private Thread thread;
+    private volatile Thread thread;
+
+    /**
+     * Whether the workload has been asked to stop.
+     */
+    private volatile boolean stopRequested = false;
+
+    /**
+     * Whether the workload has been started but is waiting for room in its bulkhead.
+     */
+    private volatile boolean waitingForBulkhead = false;
+
+    /**
+     * Bulkhead the workload thread is created in (may be null).
+     */
+    private volatile WorkloadBulkhead bulkhead;
+
+    /**
+     * Most recently measured CPU time of the workload thread, in nanoseconds.
+     */
+    private volatile long cpuTime = -1;
+
+    /**
+     * Most recently measured number of bytes allocated by the workload thread.
+     */
+    private volatile long allocatedBytes = -1;
 
     /**
      * Constructor.
@@ -69,15 +94,54 @@ public class SingleThreadedWorkloadContext implements WorkloadContext {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * When the workload's bulkhead is full, the workload is left waiting, rather than failed, until a thread
+     * of the bulkhead exits.
      */
     @Override
     public void start() {
-        if (thread != null) {
-            throw new IllegalStateException("context for workload " + getWorkload().getUrn() + " has already previously been started");
+        WorkloadBulkhead bulkhead = this.bulkhead;
+
+        synchronized (this) {
+            if (thread != null || waitingForBulkhead) {
+                throw new IllegalStateException("context for workload " + getWorkload().getUrn() + " has already previously been started");
+            }
+
+            if (bulkhead == null) {
+                launch(new Thread(runnable, "runnable-" + getWorkload().getUrn()));
+                return;
+            }
+
+            waitingForBulkhead = true;
+        }
+
+        if (bulkhead.start(getWorkload(), runnable, this::launch)) {
+            log.info("Workload " + getWorkload().getUrn() + " is waiting for room in the bulkhead of workload type " + bulkhead.getType());
+        }
+    }
+
+    /**
+     * Starts the given workload thread, unless the workload has since been asked to stop.
+     *
+     * @param thread Workload thread to start.
+     * @return Whether the thread was started.
+     */
+    private synchronized boolean launch(Thread thread) {
+        waitingForBulkhead = false;
+
+        if (stopRequested) {
+            return false;
         }
 
-        thread = new Thread(runnable, "runnable-" + getWorkload().getUrn());
+        thread.setUncaughtExceptionHandler((t, e) -> {
+            log.error("Unhandled exception encountered while running workload " + getWorkload().getUrn(), e);
+            runnable.fail(e);
+        });
+
+        this.thread = thread;
         thread.start();
+
+        return true;
     }
 
     /**
@@ -85,6 +149,8 @@ public class SingleThreadedWorkloadContext implements WorkloadContext {
      */
     @Override
     public void stop() {
+        requestStop();
+
         if (thread != null && thread.isAlive() && !thread.isInterrupted()) {
             thread.interrupt();
         }
@@ -117,6 +183,8 @@ public class SingleThreadedWorkloadContext implements WorkloadContext {
      */
     @Override
     public void terminate() {
+        requestStop();
+
         if (thread == null) {
             return;
         }
@@ -131,6 +199,21 @@ public class SingleThreadedWorkloadContext implements WorkloadContext {
         }
     }
 
+    /**
+     * Marks the workload as asked to stop, and gives up its place in its bulkhead if it is still waiting.
+     */
+    private void requestStop() {
+        synchronized (this) {
+            stopRequested = true;
+        }
+
+        WorkloadBulkhead bulkhead = this.bulkhead;
+
+        if (waitingForBulkhead && bulkhead != null && bulkhead.cancel(getWorkload())) {
+            waitingForBulkhead = false;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -139,6 +222,112 @@ public class SingleThreadedWorkloadContext implements WorkloadContext {
         runnable.fail();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void fail(Throwable cause) {
+        runnable.fail(cause);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDead() {
+        Thread thread = this.thread;
+
+        return thread != null && !thread.isAlive() && !stopRequested && !runnable.getRunningState().isTerminated();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getStateTimestamp(RunningState runningState) {
+        return runnable.getStateTimestamp(runningState);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addStateListener(WorkloadStateListener listener) {
+        runnable.addStateListener(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeStateListener(WorkloadStateListener listener) {
+        runnable.removeStateListener(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLastHeartbeat() {
+        return runnable.getLastHeartbeat();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getProgress() {
+        return runnable.getProgress();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getLoadScore() {
+        return runnable.getLoadScore();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Once the workload thread has exited, the last measurement taken while it was alive is returned.
+     */
+    @Override
+    public long getCpuTime() {
+        Thread thread = this.thread;
+
+        if (thread != null && thread.isAlive()) {
+            long cpuTime = ThreadResourceUsage.getCpuTime(thread);
+
+            if (cpuTime >= 0) {
+                this.cpuTime = cpuTime;
+            }
+        }
+
+        return cpuTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Once the workload thread has exited, the last measurement taken while it was alive is returned.
+     */
+    @Override
+    public long getAllocatedBytes() {
+        Thread thread = this.thread;
+
+        if (thread != null && thread.isAlive()) {
+            long allocatedBytes = ThreadResourceUsage.getAllocatedBytes(thread);
+
+            if (allocatedBytes >= 0) {
+                this.allocatedBytes = allocatedBytes;
+            }
+        }
+
+        return allocatedBytes;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -147,6 +336,24 @@ public class SingleThreadedWorkloadContext implements WorkloadContext {
         return runnable.getRunningState();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWaitingForBulkhead() {
+        return waitingForBulkhead;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The bulkhead is used for threads started after it is assigned.
+     */
+    @Override
+    public void setBulkhead(WorkloadBulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
     /**
      * Sets the priority of the thread.
      *
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link WorkloadRepositorySource} that streams its workloads rather than returning them as a set.
+ * <p>
+ * The repository consumes the stream directly into its own copy of the source's workloads, so that the source
+ * does not need to hold all of its workloads in memory at once. Sources backed by a database cursor or a paged
+ * API can fetch one page at a time as the stream is consumed. The repository closes the stream once it has been
+ * consumed, so any underlying cursor or connection should be released in a {@link Stream#onClose close handler}.
+ */
+public interface StreamingWorkloadRepositorySource extends WorkloadRepositorySource {
+    /**
+     * Returns a stream of all of the source's workloads.
+     *
+     * @return A stream of all of the source's workloads.
+     */
+    Stream<? extends Workload> streamWorkloads();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    default Set<Workload> queryWorkloads() {
+        try (Stream<? extends Workload> stream = streamWorkloads()) {
+            return stream.collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads per-thread CPU time and allocated bytes through the platform {@link ThreadMXBean}.
+ * <p>
+ * Allocation accounting relies on the HotSpot extension of the thread MX bean; on JVMs that do not
+ * provide it, or when a measurement is not supported or enabled, -1 is returned.
+ */
+final class ThreadResourceUsage {
+    /**
+     * Platform thread MX bean.
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Whether per-thread CPU time can be measured.
+     */
+    private static final boolean CPU_TIME_ENABLED = enableCpuTime();
+
+    /**
+     * Whether per-thread allocated bytes can be measured.
+     */
+    private static final boolean ALLOCATED_BYTES_ENABLED = enableAllocatedBytes();
+
+    /**
+     * Constructor.
+     */
+    private ThreadResourceUsage() {
+    }
+
+    /**
+     * Returns the total CPU time used by the given thread, in nanoseconds.
+     *
+     * @param thread Thread to measure.
+     * @return The CPU time used by the thread, or -1 if it can not be measured.
+     */
+    static long getCpuTime(Thread thread) {
+        if (!CPU_TIME_ENABLED) {
+            return -1;
+        }
+
+        return THREAD_MX_BEAN.getThreadCpuTime(thread.getId());
+    }
+
+    /**
+     * Returns the total number of bytes allocated by the given thread.
+     *
+     * @param thread Thread to measure.
+     * @return The number of bytes allocated by the thread, or -1 if it can not be measured.
+     */
+    static long getAllocatedBytes(Thread thread) {
+        if (!ALLOCATED_BYTES_ENABLED) {
+            return -1;
+        }
+
+        return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(thread.getId());
+    }
+
+    /**
+     * Enables per-thread CPU time measurement, if it is supported.
+     *
+     * @return Whether per-thread CPU time can be measured.
+     */
+    private static boolean enableCpuTime() {
+        try {
+            if (!THREAD_MX_BEAN.isThreadCpuTimeSupported()) {
+                return false;
+            }
+
+            if (!THREAD_MX_BEAN.isThreadCpuTimeEnabled()) {
+                THREAD_MX_BEAN.setThreadCpuTimeEnabled(true);
+            }
+
+            return true;
+        }
+        catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Enables per-thread allocation measurement, if it is supported.
+     *
+     * @return Whether per-thread allocated bytes can be measured.
+     */
+    private static boolean enableAllocatedBytes() {
+        try {
+            if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean)) {
+                return false;
+            }
+
+            com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+
+            if (!threadMXBean.isThreadAllocatedMemorySupported()) {
+                return false;
+            }
+
+            if (!threadMXBean.isThreadAllocatedMemoryEnabled()) {
+                threadMXBean.setThreadAllocatedMemoryEnabled(true);
+            }
+
+            return true;
+        }
+        catch (LinkageError | UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+}
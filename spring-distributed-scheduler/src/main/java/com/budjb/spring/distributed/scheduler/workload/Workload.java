@@ -19,22 +19,108 @@ package com.budjb.spring.distributed.scheduler.workload;
 import org.springframework.util.Assert;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Provides the basis for representing a a unit of work that can be considered a workload.
+ * <p>
+ * Workloads are used as hash keys throughout the scheduler, so their type, URN and hash code are computed only
+ * once: when the workload is constructed with an explicit type, or otherwise the first time any of them is used,
+ * so that {@link #getType()} may depend on state set by subclass constructors. The default type name of each
+ * workload class is computed once per class.
+ * <p>
+ * A workload may carry an immutable set of labels that scheduler strategies use for placement decisions, such as
+ * its tenant, region, data locality key, weight or priority. Labels do not take part in the workload's identity.
+ * They are held as a sorted array of keys and values, which keeps workloads small in memory and when serialized.
+ * <p>
+ * Labels also express placement constraints. A label prefixed with {@value #REQUIRED_MEMBER_LABEL_PREFIX} requires
+ * the cluster member running the workload to have the rest of the key as a label with the same value, and a label
+ * prefixed with {@value #PREFERRED_MEMBER_LABEL_PREFIX} prefers such a member when one is available. Workloads that
+ * share a value of the {@value #ANTI_AFFINITY_LABEL} label are never placed on the same cluster member.
  */
 public abstract class Workload implements Serializable {
+    /**
+     * Label holding the tenant a workload belongs to.
+     */
+    public final static String TENANT_LABEL = "tenant";
+
+    /**
+     * Label holding the region a workload should run in.
+     */
+    public final static String REGION_LABEL = "region";
+
+    /**
+     * Label holding a key identifying the data a workload reads, for colocating workloads with their data.
+     */
+    public final static String LOCALITY_LABEL = "locality";
+
+    /**
+     * Label holding the relative weight of a workload, a positive number that defaults to 1.
+     */
+    public final static String WEIGHT_LABEL = "weight";
+
+    /**
+     * Label holding the priority of a workload, an integer where higher is more important, that defaults to 0.
+     */
+    public final static String PRIORITY_LABEL = "priority";
+
+    /**
+     * Prefix of labels that a cluster member must have to run a workload.
+     */
+    public final static String REQUIRED_MEMBER_LABEL_PREFIX = "require.";
+
+    /**
+     * Prefix of labels that a cluster member should have to run a workload.
+     */
+    public final static String PREFERRED_MEMBER_LABEL_PREFIX = "prefer.";
+
+    /**
+     * Label holding the anti-affinity group of a workload; no two workloads of a group run on the same cluster member.
+     */
+    public final static String ANTI_AFFINITY_LABEL = "anti-affinity";
+
+    /**
+     * Labels of workloads that have none.
+     */
+    private final static String[] NO_LABELS = new String[0];
+
+    /**
+     * Type names, cached per workload class.
+     */
+    private final static ClassValue<String> TYPE_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return type.getSimpleName().intern();
+        }
+    };
+
     /**
      * ID of the workload.
      */
     private final String id;
 
     /**
-     * URN of the workload.
-     * <p>
-     * The URN is expected to be unique per endpoint type.
+     * Type, URN and hash code of the workload, or {@code null} until they are first used.
+     */
+    private Identity identity;
+
+    /**
+     * Labels, as alternating keys and values sorted by key.
+     */
+    private final String[] labels;
+
+    /**
+     * Weight of the workload.
+     */
+    private final double weight;
+
+    /**
+     * Priority of the workload.
      */
-    private String urn;
+    private final int priority;
 
     /**
      * Constructor.
@@ -42,8 +128,36 @@ public abstract class Workload implements Serializable {
      * @param id ID of the workload.
      */
     protected Workload(String id) {
+        this(id, Collections.emptyMap());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param id     ID of the workload.
+     * @param labels Labels of the workload.
+     */
+    protected Workload(String id, Map<String, String> labels) {
         Assert.notNull(id, "the [id] of a workload may not be null");
+        Assert.notNull(labels, "the [labels] of a workload may not be null");
         this.id = id;
+        this.labels = toArray(labels);
+        this.weight = parseWeight(getLabel(WEIGHT_LABEL));
+        this.priority = parsePriority(getLabel(PRIORITY_LABEL));
+    }
+
+    /**
+     * Constructor for workloads whose type is known up front, which computes the workload's identity right away
+     * instead of calling {@link #getType()}.
+     *
+     * @param type   Type of the workload.
+     * @param id     ID of the workload.
+     * @param labels Labels of the workload.
+     */
+    protected Workload(String type, String id, Map<String, String> labels) {
+        this(id, labels);
+        Assert.notNull(type, "the [type] of a workload may not be null");
+        this.identity = new Identity(type, id);
     }
 
     /**
@@ -52,23 +166,120 @@ public abstract class Workload implements Serializable {
      * @return the URN of the workload.
      */
     public String getUrn() {
-        if (urn == null) {
-            synchronized (this) {
-                if (urn == null) {
-                    urn = "urn:workload:" + getType() + ":" + id;
-                }
+        return getIdentity().urn;
+    }
+
+    /**
+     * Returns the value of the given label, or {@code null} if the workload does not have the label.
+     *
+     * @param key Label key.
+     * @return The value of the label, or {@code null}.
+     */
+    public String getLabel(String key) {
+        int low = 0;
+        int high = labels.length / 2 - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = labels[middle * 2].compareTo(key);
+
+            if (comparison < 0) {
+                low = middle + 1;
             }
+            else if (comparison > 0) {
+                high = middle - 1;
+            }
+            else {
+                return labels[middle * 2 + 1];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns all labels of the workload, sorted by key.
+     *
+     * @return An unmodifiable map of the workload's labels.
+     */
+    public Map<String, String> getLabels() {
+        Map<String, String> map = new LinkedHashMap<>();
+
+        for (int i = 0; i < labels.length; i += 2) {
+            map.put(labels[i], labels[i + 1]);
         }
-        return urn;
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Returns the labels a cluster member must have to run the workload, taken from the workload's labels prefixed
+     * with {@value #REQUIRED_MEMBER_LABEL_PREFIX}.
+     *
+     * @return The required cluster member labels, with the prefix removed from their keys.
+     */
+    public Map<String, String> getRequiredMemberLabels() {
+        return getLabelsWithPrefix(REQUIRED_MEMBER_LABEL_PREFIX);
+    }
+
+    /**
+     * Returns the labels a cluster member should have to run the workload, taken from the workload's labels prefixed
+     * with {@value #PREFERRED_MEMBER_LABEL_PREFIX}.
+     *
+     * @return The preferred cluster member labels, with the prefix removed from their keys.
+     */
+    public Map<String, String> getPreferredMemberLabels() {
+        return getLabelsWithPrefix(PREFERRED_MEMBER_LABEL_PREFIX);
+    }
+
+    /**
+     * Returns the anti-affinity group of the workload, taken from its {@link #ANTI_AFFINITY_LABEL anti-affinity label}.
+     *
+     * @return The anti-affinity group of the workload, or {@code null} if it does not belong to one.
+     */
+    public String getAntiAffinityGroup() {
+        return getLabel(ANTI_AFFINITY_LABEL);
+    }
+
+    /**
+     * Returns the weight of the workload, taken from its {@link #WEIGHT_LABEL weight label}.
+     *
+     * @return The weight of the workload.
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the priority of the workload, taken from its {@link #PRIORITY_LABEL priority label}.
+     *
+     * @return The priority of the workload.
+     */
+    public int getPriority() {
+        return priority;
     }
 
     /**
      * The type of the endpoint.
+     * <p>
+     * This is called once, the first time the workload's type, URN or hash code is used, unless the type was
+     * passed to the constructor. Overriding implementations must not return {@code null}, and the value returned
+     * by the first call is kept for the life of the workload.
      *
      * @return the endpoint type.
      */
     protected String getType() {
-        return getClass().getSimpleName();
+        return TYPE_NAMES.get(getClass());
+    }
+
+    /**
+     * Returns the type of the workload, which is the type passed to the constructor or otherwise the value returned
+     * by the first call to {@link #getType()}.
+     *
+     * @return the workload type.
+     */
+    public final String getTypeName() {
+        return getIdentity().type;
     }
 
     /**
@@ -88,13 +299,14 @@ public abstract class Workload implements Serializable {
             return true;
         }
 
-        if (getClass() != o.getClass()) {
+        if (o == null || getClass() != o.getClass()) {
             return false;
         }
 
-        Workload endpoint = (Workload) o;
+        Identity identity = getIdentity();
+        Identity other = ((Workload) o).getIdentity();
 
-        return getUrn().equals(endpoint.getUrn());
+        return identity.hash == other.hash && identity.urn.equals(other.urn);
     }
 
     /**
@@ -102,8 +314,148 @@ public abstract class Workload implements Serializable {
      */
     @Override
     public int hashCode() {
-        int result;
-        result = (getUrn() != null ? getUrn().hashCode() : 0);
-        return result;
+        return getIdentity().hash;
+    }
+
+    /**
+     * Returns the identity of the workload, computing it from {@link #getType()} on first use. Concurrent first
+     * uses may each compute it, which is harmless since they compute equal values and the identity is immutable.
+     *
+     * @return The identity of the workload.
+     */
+    private Identity getIdentity() {
+        Identity identity = this.identity;
+
+        if (identity == null) {
+            String type = getType();
+            Assert.state(type != null, "the type of workload [" + id + "] may not be null");
+            identity = new Identity(type, id);
+            this.identity = identity;
+        }
+
+        return identity;
+    }
+
+    /**
+     * Returns the labels whose keys start with the given prefix.
+     *
+     * @param prefix Label key prefix.
+     * @return The matching labels, with the prefix removed from their keys.
+     */
+    private Map<String, String> getLabelsWithPrefix(String prefix) {
+        Map<String, String> map = null;
+
+        for (int i = 0; i < labels.length; i += 2) {
+            if (labels[i].startsWith(prefix)) {
+                if (map == null) {
+                    map = new LinkedHashMap<>();
+                }
+                map.put(labels[i].substring(prefix.length()), labels[i + 1]);
+            }
+        }
+
+        return map == null ? Collections.emptyMap() : Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Converts the given labels to an array of alternating keys and values sorted by key.
+     *
+     * @param labels Labels to convert.
+     * @return The converted labels.
+     */
+    private static String[] toArray(Map<String, String> labels) {
+        if (labels.isEmpty()) {
+            return NO_LABELS;
+        }
+
+        String[] array = new String[labels.size() * 2];
+        int i = 0;
+
+        for (Map.Entry<String, String> label : new TreeMap<>(labels).entrySet()) {
+            Assert.notNull(label.getValue(), "the value of workload label [" + label.getKey() + "] may not be null");
+            array[i++] = label.getKey();
+            array[i++] = label.getValue();
+        }
+
+        return array;
+    }
+
+    /**
+     * Parses the value of the weight label.
+     *
+     * @param value Value of the weight label, or {@code null}.
+     * @return The weight.
+     */
+    private static double parseWeight(String value) {
+        if (value == null) {
+            return 1;
+        }
+
+        double weight;
+
+        try {
+            weight = Double.parseDouble(value);
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("the [" + WEIGHT_LABEL + "] label of a workload must be a number", e);
+        }
+
+        Assert.isTrue(weight > 0, "the [" + WEIGHT_LABEL + "] label of a workload must be greater than 0");
+
+        return weight;
+    }
+
+    /**
+     * Parses the value of the priority label.
+     *
+     * @param value Value of the priority label, or {@code null}.
+     * @return The priority.
+     */
+    private static int parsePriority(String value) {
+        if (value == null) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("the [" + PRIORITY_LABEL + "] label of a workload must be an integer", e);
+        }
+    }
+
+    /**
+     * The type, URN and hash code of a workload. All fields are final, so an identity may be shared between threads
+     * without synchronization.
+     */
+    private static class Identity implements Serializable {
+        /**
+         * Type of the workload.
+         */
+        private final String type;
+
+        /**
+         * URN of the workload.
+         * <p>
+         * The URN is expected to be unique per endpoint type.
+         */
+        private final String urn;
+
+        /**
+         * Hash code of the workload, which is the hash code of its URN.
+         */
+        private final int hash;
+
+        /**
+         * Constructor.
+         *
+         * @param type Type of the workload.
+         * @param id   ID of the workload.
+         */
+        Identity(String type, String id) {
+            this.type = type;
+            this.urn = "urn:workload:" + type + ":" + id;
+            this.hash = urn.hashCode();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Isolates the threads of one workload type from those of other types.
+ * <p>
+ * Workload threads are created in a thread group of their own, with the bulkhead's thread priority,
+ * and the bulkhead limits how many of them may be alive at once. Once the limit is reached, further
+ * starts wait in line rather than creating a thread, so that one workload type can not exhaust the threads
+ * of the cluster member and starve the others. When a thread of the bulkhead exits, its slot is handed
+ * directly to the start that has waited the longest.
+ */
+public class WorkloadBulkhead {
+    /**
+     * Workload type.
+     */
+    private final String type;
+
+    /**
+     * Maximum number of live threads, where 0 means unlimited.
+     */
+    private final int maxThreads;
+
+    /**
+     * Priority of threads created by the bulkhead.
+     */
+    private final int threadPriority;
+
+    /**
+     * Thread group of threads created by the bulkhead.
+     */
+    private final ThreadGroup threadGroup;
+
+    /**
+     * Permits for live threads, or null when the number of threads is unlimited.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Starts waiting for a slot in the bulkhead, in the order they were requested (guarded by this).
+     */
+    private final Queue<PendingStart> pendingStarts = new ArrayDeque<>();
+
+    /**
+     * Number of starts that had to wait because the bulkhead was full.
+     */
+    private final AtomicLong queuedCount = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param type           Workload type.
+     * @param maxThreads     Maximum number of live threads, where 0 means unlimited.
+     * @param threadPriority Priority of threads created by the bulkhead.
+     */
+    public WorkloadBulkhead(String type, int maxThreads, int threadPriority) {
+        Assert.isTrue(threadPriority >= Thread.MIN_PRIORITY && threadPriority <= Thread.MAX_PRIORITY, "thread priority must be between " + Thread.MIN_PRIORITY + " and " + Thread.MAX_PRIORITY);
+
+        this.type = type;
+        this.maxThreads = Math.max(0, maxThreads);
+        this.threadPriority = threadPriority;
+        this.threadGroup = new ThreadGroup("workload-" + type);
+        this.permits = this.maxThreads > 0 ? new Semaphore(this.maxThreads) : null;
+    }
+
+    /**
+     * Starts a new thread for the given workload, or, when the bulkhead is full, queues the start until
+     * another thread of the bulkhead exits.
+     * <p>
+     * The unstarted thread is handed to the given starter, which either starts it and returns true, or
+     * returns false when the workload no longer needs to be started, so that the slot is passed on. The
+     * starter may be called from the exiting thread of another workload, and should not block.
+     *
+     * @param workload Workload the thread runs.
+     * @param runnable Logic the thread runs.
+     * @param starter  Starts the thread handed to it.
+     * @return Whether the start was queued because the bulkhead was full.
+     */
+    public boolean start(Workload workload, Runnable runnable, Predicate<Thread> starter) {
+        PendingStart start = new PendingStart(workload, runnable, starter);
+
+        if (permits != null) {
+            synchronized (this) {
+                if (!pendingStarts.isEmpty() || !permits.tryAcquire()) {
+                    queuedCount.incrementAndGet();
+                    pendingStarts.add(start);
+                    return true;
+                }
+            }
+        }
+
+        handOff(start);
+        return false;
+    }
+
+    /**
+     * Removes the queued start of the given workload, if it is still waiting for a slot.
+     *
+     * @param workload Workload whose start should be removed.
+     * @return Whether a queued start was removed.
+     */
+    public synchronized boolean cancel(Workload workload) {
+        return pendingStarts.removeIf(start -> start.workload.equals(workload));
+    }
+
+    /**
+     * Hands a new thread to the given start, which holds a slot of the bulkhead. The slot is released
+     * if the thread is not started.
+     *
+     * @param start Start to hand a thread to.
+     */
+    private void handOff(PendingStart start) {
+        Runnable task = start.runnable;
+
+        if (permits != null) {
+            task = () -> {
+                try {
+                    start.runnable.run();
+                }
+                finally {
+                    release();
+                }
+            };
+        }
+
+        Thread thread = new Thread(threadGroup, task, "runnable-" + start.workload.getUrn());
+        thread.setDaemon(false);
+        thread.setPriority(Math.min(threadPriority, threadGroup.getMaxPriority()));
+
+        boolean started = false;
+
+        try {
+            started = start.starter.test(thread);
+        }
+        finally {
+            if (!started && permits != null) {
+                release();
+            }
+        }
+    }
+
+    /**
+     * Passes a slot of the bulkhead on to the start that has waited the longest, or frees it when no
+     * start is waiting.
+     */
+    private void release() {
+        PendingStart next;
+
+        synchronized (this) {
+            next = pendingStarts.poll();
+
+            if (next == null) {
+                permits.release();
+                return;
+            }
+        }
+
+        handOff(next);
+    }
+
+    /**
+     * Returns the workload type of the bulkhead.
+     *
+     * @return The workload type of the bulkhead.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the maximum number of live threads, where 0 means unlimited.
+     *
+     * @return The maximum number of live threads.
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Returns the priority of threads created by the bulkhead.
+     *
+     * @return The priority of threads created by the bulkhead.
+     */
+    public int getThreadPriority() {
+        return threadPriority;
+    }
+
+    /**
+     * Returns the approximate number of live threads created by the bulkhead.
+     *
+     * @return The approximate number of live threads.
+     */
+    public int getActiveThreads() {
+        return threadGroup.activeCount();
+    }
+
+    /**
+     * Returns the number of starts waiting for a slot in the bulkhead.
+     *
+     * @return The number of waiting starts.
+     */
+    public synchronized int getPendingStarts() {
+        return pendingStarts.size();
+    }
+
+    /**
+     * Returns the number of starts that had to wait because the bulkhead was full.
+     *
+     * @return The number of queued starts.
+     */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * A start of a workload thread.
+     */
+    private static class PendingStart {
+        /**
+         * Workload the thread runs.
+         */
+        private final Workload workload;
+
+        /**
+         * Logic the thread runs.
+         */
+        private final Runnable runnable;
+
+        /**
+         * Starts the thread handed to it.
+         */
+        private final Predicate<Thread> starter;
+
+        /**
+         * Constructor.
+         *
+         * @param workload Workload the thread runs.
+         * @param runnable Logic the thread runs.
+         * @param starter  Starts the thread handed to it.
+         */
+        PendingStart(Workload workload, Runnable runnable, Predicate<Thread> starter) {
+            this.workload = workload;
+            this.runnable = runnable;
+            this.starter = starter;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The changes to the workloads of an {@link IncrementalWorkloadRepositorySource} since a previous change token.
+ */
+public class WorkloadChanges {
+    /**
+     * Workloads added since the previous token, or all workloads if the changes are full.
+     */
+    private final Set<Workload> added;
+
+    /**
+     * Workloads removed since the previous token.
+     */
+    private final Set<Workload> removed;
+
+    /**
+     * Change token to pass to the following query.
+     */
+    private final String token;
+
+    /**
+     * Whether the added workloads replace all of the source's workloads.
+     */
+    private final boolean full;
+
+    /**
+     * Constructor.
+     *
+     * @param added   Workloads added since the previous token, or all workloads if the changes are full.
+     * @param removed Workloads removed since the previous token.
+     * @param token   Change token to pass to the following query.
+     * @param full    Whether the added workloads replace all of the source's workloads.
+     */
+    private WorkloadChanges(Set<Workload> added, Set<Workload> removed, String token, boolean full) {
+        Assert.notNull(added, "the added workloads may not be null");
+        Assert.notNull(removed, "the removed workloads may not be null");
+
+        this.added = added;
+        this.removed = removed;
+        this.token = token;
+        this.full = full;
+    }
+
+    /**
+     * Creates changes that replace all of the source's workloads.
+     *
+     * @param workloads All of the source's workloads.
+     * @param token     Change token to pass to the following query.
+     * @return The changes.
+     */
+    public static WorkloadChanges full(Set<Workload> workloads, String token) {
+        return new WorkloadChanges(workloads, Collections.emptySet(), token, true);
+    }
+
+    /**
+     * Creates changes that add and remove workloads relative to the previous token.
+     *
+     * @param added   Workloads added since the previous token.
+     * @param removed Workloads removed since the previous token.
+     * @param token   Change token to pass to the following query.
+     * @return The changes.
+     */
+    public static WorkloadChanges delta(Set<Workload> added, Set<Workload> removed, String token) {
+        return new WorkloadChanges(added, removed, token, false);
+    }
+
+    /**
+     * Returns the workloads added since the previous token, or all workloads if the changes are full.
+     *
+     * @return The added workloads.
+     */
+    public Set<Workload> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the workloads removed since the previous token.
+     *
+     * @return The removed workloads.
+     */
+    public Set<Workload> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns the change token to pass to the following query.
+     *
+     * @return The change token.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Returns whether the added workloads replace all of the source's workloads.
+     *
+     * @return Whether the changes are full.
+     */
+    public boolean isFull() {
+        return full;
+    }
+}
@@ -67,6 +67,118 @@ public interface WorkloadContext {
      */
     void fail();
 
+    /**
+     * Forces an error state on the workload, recording the given cause as the reason for the failure.
+     *
+     * @param cause the reason for the failure.
+     */
+    default void fail(Throwable cause) {
+        fail();
+    }
+
+    /**
+     * Returns whether the workload has died without its running state reflecting it; for example, when
+     * its thread has exited while it still reports itself as running. Workloads that have been asked to
+     * stop are not considered dead.
+     *
+     * @return whether the workload has died unexpectedly.
+     */
+    default boolean isDead() {
+        return false;
+    }
+
+    /**
+     * Returns the time at which the workload entered the given running state, in milliseconds since the epoch,
+     * or 0 if it has not entered that state or does not track transitions.
+     *
+     * @param runningState Running state to check.
+     * @return the time the running state was entered, or 0.
+     */
+    default long getStateTimestamp(RunningState runningState) {
+        return 0;
+    }
+
+    /**
+     * Registers a listener to be notified of the workload's running state transitions. Implementations that
+     * do not track transitions never notify the listener.
+     *
+     * @param listener Listener to register.
+     */
+    default void addStateListener(WorkloadStateListener listener) {
+    }
+
+    /**
+     * Removes a previously registered running state listener.
+     *
+     * @param listener Listener to remove.
+     */
+    default void removeStateListener(WorkloadStateListener listener) {
+    }
+
+    /**
+     * Assigns the bulkhead that the workload's threads should be created in. Implementations that do not
+     * manage their own threads may ignore it.
+     *
+     * @param bulkhead Bulkhead of the workload's type.
+     */
+    default void setBulkhead(WorkloadBulkhead bulkhead) {
+    }
+
+    /**
+     * Returns whether the workload has been started but is still waiting for room in its bulkhead.
+     *
+     * @return Whether the workload is waiting for room in its bulkhead.
+     */
+    default boolean isWaitingForBulkhead() {
+        return false;
+    }
+
+    /**
+     * Returns the time of the workload's most recent heartbeat, in milliseconds since the epoch, or 0 if
+     * the workload does not report heartbeats.
+     *
+     * @return the time of the most recent heartbeat, or 0.
+     */
+    default long getLastHeartbeat() {
+        return 0;
+    }
+
+    /**
+     * Returns the amount of progress the workload has reported.
+     *
+     * @return the amount of progress reported.
+     */
+    default long getProgress() {
+        return 0;
+    }
+
+    /**
+     * Returns the load score reported by the workload.
+     *
+     * @return the load score of the workload, or 0 if it does not report one.
+     */
+    default double getLoadScore() {
+        return 0;
+    }
+
+    /**
+     * Returns the total CPU time used by the workload, in nanoseconds.
+     *
+     * @return the CPU time used by the workload, or -1 if it is not measured.
+     */
+    default long getCpuTime() {
+        return -1;
+    }
+
+    /**
+     * Returns the total number of bytes allocated by the workload.
+     *
+     * @return the number of bytes allocated by the workload, or -1 if it is not measured.
+     */
+    default long getAllocatedBytes() {
+        return -1;
+    }
+
     /**
      * Returns the running state of the workload.
      *
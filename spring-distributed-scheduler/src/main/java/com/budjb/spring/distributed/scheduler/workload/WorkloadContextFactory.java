@@ -16,6 +16,9 @@
 
 package com.budjb.spring.distributed.scheduler.workload;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Describes a factory for workload contexts.
  * <p>
@@ -37,6 +40,19 @@ public interface WorkloadContextFactory {
      */
     boolean supports(Workload workload);
 
+    /**
+     * Returns whether the result of {@link #supports} may be cached and reused for all workloads
+     * that share the same class and type.
+     * <p>
+     * Factories whose support decision depends on the state of an individual workload instance
+     * should return {@code false}, in which case {@link #supports} is consulted for every workload.
+     *
+     * @return Whether the result of {@link #supports} may be cached per workload class and type.
+     */
+    default boolean isSupportCacheable() {
+        return true;
+    }
+
     /**
      * Creates a new {@link WorkloadContext} for the given workload.
      *
@@ -44,4 +60,19 @@ public interface WorkloadContextFactory {
      * @return a new {@link WorkloadRunnable} for the given workload.
      */
     WorkloadContext createContext(Workload workload);
+
+    /**
+     * Creates new {@link WorkloadContext workload contexts} for a batch of workloads.
+     * <p>
+     * Factories may override this to amortize expensive setup, such as connections, clients, or sessions,
+     * across all of the workloads in the batch. The returned list must contain one context per workload,
+     * in the same order as the given workloads. By default, contexts are created one at a time with
+     * {@link #createContext}.
+     *
+     * @param workloads Workloads to create contexts for.
+     * @return A list of new workload contexts, one for each of the given workloads.
+     */
+    default List<WorkloadContext> createContexts(List<Workload> workloads) {
+        return workloads.stream().map(this::createContext).collect(Collectors.toList());
+    }
 }
@@ -16,19 +16,30 @@
 
 package com.budjb.spring.distributed.scheduler.workload;
 
+import com.budjb.spring.distributed.scheduler.RunningState;
 import com.budjb.spring.distributed.scheduler.SchedulerProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -36,23 +47,31 @@ import java.util.stream.Collectors;
  * by {@link WorkloadContextFactory workload factories}. Managing the lifecycle of a workload through the manager
  * only interacts with workload contexts running on locally running application node, and not the cluster.
  * Therefore, this class should be treated as an internal component and not interacted with directly.
+ * <p>
+ * The member-local supervisor, watchdog and resource sampler run on background threads that are started once the
+ * manager has been initialized, and stopped when it is destroyed or shuts down its workloads.
  */
-public class WorkloadContextManager {
+public class WorkloadContextManager implements InitializingBean, DisposableBean {
     /**
      * Logger.
      */
     private final Logger log = LoggerFactory.getLogger(WorkloadContextManager.class);
 
     /**
-     * Executors service.
+     * Executor that runs workload lifecycle operations.
      */
-    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final WorkloadLifecycleExecutor lifecycleExecutor;
 
     /**
      * Workload context factories.
      */
     private final List<WorkloadContextFactory> workloadContextFactories;
 
+    /**
+     * Workload context factories that may support a workload, keyed by workload class and type.
+     */
+    private final Map<FactoryCacheKey, List<WorkloadContextFactory>> factoryCache = new ConcurrentHashMap<>();
+
     /**
      * Scheduler properties.
      */
@@ -63,6 +82,41 @@ public class WorkloadContextManager {
      */
     private final List<WorkloadContext> workloadContexts = Collections.synchronizedList(new ArrayList<>());
 
+    /**
+     * Workload contexts that have been added but are still waiting to be admitted by the start throttle.
+     */
+    private final Set<WorkloadContext> pendingStarts = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Admission control for workload starts.
+     */
+    private final WorkloadStartThrottle startThrottle;
+
+    /**
+     * Member-local supervisor that restarts failed workloads.
+     */
+    private final WorkloadSupervisor supervisor;
+
+    /**
+     * Member-local watchdog that detects dead and stalled workloads.
+     */
+    private final WorkloadWatchdog watchdog;
+
+    /**
+     * Member-local sampler of workload CPU and allocation rates.
+     */
+    private final WorkloadResourceSampler resourceSampler;
+
+    /**
+     * Listeners notified of the running state transitions of all managed workloads.
+     */
+    private final List<WorkloadStateListener> stateListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Thread bulkheads, keyed by workload type.
+     */
+    private final Map<String, WorkloadBulkhead> bulkheads = new ConcurrentHashMap<>();
+
     /**
      * Constructor.
      *
@@ -72,6 +126,30 @@ public class WorkloadContextManager {
     public WorkloadContextManager(List<WorkloadContextFactory> workloadContextFactories, SchedulerProperties schedulerProperties) {
         this.workloadContextFactories = workloadContextFactories;
         this.schedulerProperties = schedulerProperties;
+        this.lifecycleExecutor = new WorkloadLifecycleExecutor(schedulerProperties);
+        this.startThrottle = new WorkloadStartThrottle(schedulerProperties);
+        this.supervisor = new WorkloadSupervisor(this, schedulerProperties);
+        this.watchdog = new WorkloadWatchdog(this, schedulerProperties);
+        this.resourceSampler = new WorkloadResourceSampler(this, schedulerProperties);
+    }
+
+    /**
+     * Starts the member-local supervisor, watchdog and resource sampler, each of which only runs if it is enabled.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        supervisor.start();
+        watchdog.start();
+        resourceSampler.start();
+    }
+
+    /**
+     * Stops the member-local supervisor, watchdog and resource sampler, and the start throttle's timer.
+     */
+    @Override
+    public void destroy() {
+        stopMonitoring();
+        startThrottle.stop();
     }
 
     /**
@@ -92,6 +170,103 @@ public class WorkloadContextManager {
         return workloadContextFactories;
     }
 
+    /**
+     * Returns the executor that runs workload lifecycle operations.
+     *
+     * @return The executor that runs workload lifecycle operations.
+     */
+    public WorkloadLifecycleExecutor getLifecycleExecutor() {
+        return lifecycleExecutor;
+    }
+
+    /**
+     * Returns the member-local supervisor that restarts failed workloads.
+     *
+     * @return The member-local supervisor that restarts failed workloads.
+     */
+    public WorkloadSupervisor getSupervisor() {
+        return supervisor;
+    }
+
+    /**
+     * Returns the member-local watchdog that detects dead and stalled workloads.
+     *
+     * @return The member-local watchdog that detects dead and stalled workloads.
+     */
+    public WorkloadWatchdog getWatchdog() {
+        return watchdog;
+    }
+
+    /**
+     * Returns the member-local sampler of workload CPU and allocation rates.
+     *
+     * @return The member-local sampler of workload CPU and allocation rates.
+     */
+    public WorkloadResourceSampler getResourceSampler() {
+        return resourceSampler;
+    }
+
+    /**
+     * Returns the number of workload contexts waiting to be admitted by the start throttle.
+     *
+     * @return The number of workload contexts waiting to be admitted by the start throttle.
+     */
+    public int getPendingStartCount() {
+        return pendingStarts.size();
+    }
+
+    /**
+     * Returns the thread bulkhead of the given workload type, creating it if necessary.
+     *
+     * @param type Workload type.
+     * @return The thread bulkhead of the workload type.
+     */
+    public WorkloadBulkhead getBulkhead(String type) {
+        return bulkheads.computeIfAbsent(type, t -> new WorkloadBulkhead(
+            t,
+            schedulerProperties.getWorkloadThreadLimitPerType().getOrDefault(t, schedulerProperties.getWorkloadThreadLimit()),
+            schedulerProperties.getWorkloadThreadPriorityPerType().getOrDefault(t, schedulerProperties.getWorkloadThreadPriority())
+        ));
+    }
+
+    /**
+     * Returns the thread bulkheads that have been created, keyed by workload type.
+     *
+     * @return The thread bulkheads, keyed by workload type.
+     */
+    public Map<String, WorkloadBulkhead> getBulkheads() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+
+    /**
+     * Registers a listener to be notified of the running state transitions of all managed workloads.
+     *
+     * @param listener Listener to register.
+     */
+    public void addStateListener(WorkloadStateListener listener) {
+        stateListeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered running state listener.
+     *
+     * @param listener Listener to remove.
+     */
+    public void removeStateListener(WorkloadStateListener listener) {
+        stateListeners.remove(listener);
+    }
+
+    /**
+     * Returns whether the given workload context is still waiting to be admitted by the start throttle, or
+     * waiting for room in its bulkhead.
+     *
+     * @param workloadContext Workload context to check.
+     * @return Whether the workload context is waiting to be started.
+     */
+    boolean isPendingStart(WorkloadContext workloadContext) {
+        return pendingStarts.contains(workloadContext) || workloadContext.isWaitingForBulkhead();
+    }
+
     /**
      * Creates a workload report containing entries for all workloads.
      *
@@ -101,6 +276,9 @@ public class WorkloadContextManager {
         synchronized (this) {
             // TODO: verify that the null entry problem is resolved, and change back to the stream
             WorkloadReport report = new WorkloadReport();
+            report.setLabels(schedulerProperties.getMemberLabels());
+            report.setMaxWorkloads(schedulerProperties.getMemberMaxWorkloads());
+            report.setMaxWeight(schedulerProperties.getMemberMaxWeight());
 
             for (WorkloadContext workloadContext : workloadContexts) {
                 if (workloadContext == null) {
@@ -108,7 +286,7 @@ public class WorkloadContextManager {
                     continue;
                 }
 
-                report.add(workloadContext.getWorkloadReportEntry());
+                report.add(getWorkloadReportEntry(workloadContext));
             }
 
             return report;
@@ -116,6 +294,38 @@ public class WorkloadContextManager {
         }
     }
 
+    /**
+     * Builds the workload report entry for the given workload context.
+     * <p>
+     * Contexts waiting to be admitted by the start throttle or for room in their bulkhead, and workloads waiting to be
+     * restarted by the supervisor, are reported as {@link RunningState#STARTING} so that the scheduler does not act on
+     * them.
+     *
+     * @param workloadContext Workload context to report on.
+     * @return The workload report entry for the context.
+     */
+    private WorkloadReport.Entry getWorkloadReportEntry(WorkloadContext workloadContext) {
+        Workload workload = workloadContext.getWorkload();
+        WorkloadReport.Entry entry;
+
+        if (isPendingStart(workloadContext) || supervisor.isRestartPending(workload)) {
+            entry = new WorkloadReport.Entry(workload, RunningState.STARTING);
+        }
+        else {
+            entry = workloadContext.getWorkloadReportEntry();
+            entry.setStalled(watchdog.isStalled(workloadContext));
+            entry.setProgress(workloadContext.getProgress());
+            entry.setLoadScore(workloadContext.getLoadScore());
+        }
+
+        entry.setRestartCount(supervisor.getRestartCount(workload));
+        entry.setCrashLooping(supervisor.isCrashLooping(workload));
+        entry.setCpuRate(resourceSampler.getCpuRate(workload));
+        entry.setAllocationRate(resourceSampler.getAllocationRate(workload));
+
+        return entry;
+    }
+
     /**
      * Returns the set of workload context factories that support the given workload.
      *
@@ -123,23 +333,135 @@ public class WorkloadContextManager {
      * @return The set of workload context factories that support the given workload.
      */
     private List<WorkloadContextFactory> findSupportingContextFactories(Workload workload) {
-        return workloadContextFactories.stream().filter(f -> f.supports(workload)).collect(Collectors.toList());
+        List<WorkloadContextFactory> candidates = factoryCache.computeIfAbsent(
+            new FactoryCacheKey(workload),
+            k -> workloadContextFactories.stream().filter(f -> !f.isSupportCacheable() || f.supports(workload)).collect(Collectors.toList())
+        );
+
+        return candidates.stream().filter(f -> f.isSupportCacheable() || f.supports(workload)).collect(Collectors.toList());
     }
 
     /**
      * Starts the given workload.
+     * <p>
+     * The workload's contexts are registered immediately and report as {@link RunningState#STARTING} until
+     * they are admitted by the start throttle. This call blocks until the contexts have been started.
      *
      * @param workload Workload to start.
      */
     public void start(Workload workload) {
+        try {
+            start(createContexts(workload), WorkloadLifecycleExecutor.Operation.START).get();
+        }
+        catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for workload " + workload.getUrn() + " to start");
+        }
+        catch (ExecutionException ignored) {
+            // Already logged when the workload context failed to start.
+        }
+    }
+
+    /**
+     * Creates and registers the workload contexts of the given workload.
+     *
+     * @param workload Workload to create contexts for.
+     * @return The registered workload contexts.
+     */
+    private List<WorkloadContext> createContexts(Workload workload) {
+        List<WorkloadContext> contexts = new ArrayList<>();
+
         synchronized (this) {
             for (WorkloadContextFactory factory : findSupportingContextFactories(workload)) {
                 WorkloadContext workloadContext = factory.createContext(workload);
 
                 Assert.notNull(workloadContext, "Workload context was null for workload " + workload.toString() + " using factory " + factory.getClass().getName());
 
-                workloadContexts.add(workloadContext);
-                workloadContext.start();
+                contexts.add(workloadContext);
+            }
+
+            register(contexts);
+        }
+
+        return contexts;
+    }
+
+    /**
+     * Starts the given workloads in bulk.
+     * <p>
+     * Workloads are grouped by their supporting {@link WorkloadContextFactory workload context factories} so that
+     * each factory creates the contexts for its whole batch at once through
+     * {@link WorkloadContextFactory#createContexts}. The resulting contexts are then started in parallel, subject
+     * to the configured start parallelism.
+     * <p>
+     * The contexts are created and registered, and report as {@link RunningState#STARTING}, before this method
+     * returns. The returned future completes only once they have been admitted by the start throttle and started,
+     * which may take a while when a start rate is configured.
+     *
+     * @param workloads Workloads to start.
+     * @return A future for the process of starting the workloads.
+     */
+    public Future startAll(Collection<? extends Workload> workloads) {
+        List<WorkloadContext> contexts = new ArrayList<>();
+
+        synchronized (this) {
+            Map<WorkloadContextFactory, List<Workload>> batches = new LinkedHashMap<>();
+
+            for (Workload workload : workloads) {
+                for (WorkloadContextFactory factory : findSupportingContextFactories(workload)) {
+                    batches.computeIfAbsent(factory, f -> new ArrayList<>()).add(workload);
+                }
+            }
+
+            batches.forEach((factory, batch) -> {
+                try {
+                    contexts.addAll(createContexts(factory, batch));
+                }
+                catch (Exception e) {
+                    log.error("Unhandled exception encountered while creating workload contexts using factory " + factory.getClass().getName(), e);
+                }
+            });
+
+            register(contexts);
+        }
+
+        return start(contexts, WorkloadLifecycleExecutor.Operation.START);
+    }
+
+    /**
+     * Registers newly created workload contexts as managed and waiting to start, assigns them the bulkhead
+     * of their workload type, and subscribes to their running state transitions.
+     *
+     * @param contexts Workload contexts to register.
+     */
+    private void register(List<WorkloadContext> contexts) {
+        for (WorkloadContext context : contexts) {
+            context.setBulkhead(getBulkhead(context.getWorkload().getTypeName()));
+            context.addStateListener(transition -> onTransition(context, transition));
+        }
+
+        workloadContexts.addAll(contexts);
+        pendingStarts.addAll(contexts);
+    }
+
+    /**
+     * Reacts to a running state transition of a managed workload context. Failures of contexts that are still
+     * managed are handed to the supervisor right away, and the transition is passed on to the registered listeners.
+     *
+     * @param context    Workload context that changed state.
+     * @param transition The state transition.
+     */
+    private void onTransition(WorkloadContext context, WorkloadStateTransition transition) {
+        if (transition.getTo() == RunningState.ERROR && workloadContexts.contains(context)) {
+            supervisor.supervise(context);
+        }
+
+        for (WorkloadStateListener listener : stateListeners) {
+            try {
+                listener.onTransition(transition);
+            }
+            catch (Exception e) {
+                log.error("Unhandled exception encountered while notifying a listener of " + transition, e);
             }
         }
     }
@@ -151,10 +473,23 @@ public class WorkloadContextManager {
      * @return A future for the process of removing the workload.
      */
     public Future remove(Workload workload) {
+        supervisor.forget(workload);
+        return remove(workload, WorkloadLifecycleExecutor.Operation.STOP);
+    }
+
+    /**
+     * Stops and removes the given workloads in bulk.
+     *
+     * @param workloads Workloads to remove.
+     * @return A future for the process of removing the workloads.
+     */
+    public Future removeAll(Collection<? extends Workload> workloads) {
         synchronized (this) {
-            List<WorkloadContext> contexts = getContexts(workload);
+            Set<Workload> lookup = new HashSet<>(workloads);
+            lookup.forEach(supervisor::forget);
+            List<WorkloadContext> contexts = workloadContexts.stream().filter(c -> lookup.contains(c.getWorkload())).collect(Collectors.toList());
             this.workloadContexts.removeAll(contexts);
-            return stop(contexts);
+            return stop(contexts, WorkloadLifecycleExecutor.Operation.STOP);
         }
     }
 
@@ -165,7 +500,7 @@ public class WorkloadContextManager {
      * @return A future for the process of stopping the workload.
      */
     public Future stop(Workload workload) {
-        return stop(getContexts(workload));
+        return stop(getContexts(workload), WorkloadLifecycleExecutor.Operation.STOP);
     }
 
     /**
@@ -175,35 +510,45 @@ public class WorkloadContextManager {
      * @return A future for the process of restarting the workload.
      */
     public Future restart(Workload workload) {
-        return executorService.submit(() -> {
-            Future future = remove(workload);
+        return restart(workload, WorkloadLifecycleExecutor.Operation.RESTART);
+    }
 
-            while (!future.isDone()) {
-                try {
-                    future.get();
-                }
-                catch (InterruptedException ignored) {
-                    Thread.currentThread().interrupt();
-                    log.error("Interrupted while restarting workload " + workload.getUrn());
-                    return;
-                }
-                catch (ExecutionException e) {
-                    log.error("Unexpected execution exception while attempting to restart workload " + workload.getUrn());
-                    return;
+    /**
+     * Restarts the given workload.
+     *
+     * @param workload  Workload to restart.
+     * @param operation Lifecycle operation the restart is a part of.
+     * @return A future for the process of restarting the workload.
+     */
+    CompletableFuture<Void> restart(Workload workload, WorkloadLifecycleExecutor.Operation operation) {
+        List<WorkloadContext> contexts = new ArrayList<>();
+
+        return remove(workload, operation)
+            .thenCompose(ignored -> lifecycleExecutor.submit(operation, () -> contexts.addAll(createContexts(workload))))
+            .thenCompose(ignored -> start(contexts, operation))
+            .whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    log.error("Unexpected exception while attempting to restart workload " + workload.getUrn(), throwable);
                 }
-            }
-
-            start(workload);
-        });
+            });
     }
 
     /**
-     * Shuts down all workloads.
+     * Shuts down all workloads. The supervisor, watchdog and resource sampler are stopped first, so that workloads
+     * are not restarted or failed while they are being stopped.
      *
      * @return A future to track its execution state.
      */
     public Future shutdown() {
-        return stop(workloadContexts);
+        stopMonitoring();
+
+        List<WorkloadContext> contexts;
+
+        synchronized (this) {
+            contexts = new ArrayList<>(workloadContexts);
+        }
+
+        return stop(contexts, WorkloadLifecycleExecutor.Operation.SHUTDOWN);
     }
 
     /**
@@ -228,6 +573,15 @@ public class WorkloadContextManager {
         }
     }
 
+    /**
+     * Stops the member-local supervisor, watchdog and resource sampler.
+     */
+    private void stopMonitoring() {
+        supervisor.stop();
+        watchdog.stop();
+        resourceSampler.stop();
+    }
+
     /**
      * Returns all workload contexts associated with the given workload.
      *
@@ -241,43 +595,166 @@ public class WorkloadContextManager {
     }
 
     /**
-     * Stops the given list of workload contexts.
+     * Creates workload contexts for a batch of workloads using the given factory.
      *
-     * @param contexts Workload contexts to stop.
-     * @return A future to track completion of the workload context.
+     * @param factory   Workload context factory.
+     * @param workloads Workloads to create contexts for.
+     * @return The created workload contexts.
      */
-    private Future stop(List<WorkloadContext> contexts) {
-        return executorService.submit(() -> {
-            List<Future> futures = contexts.stream().map(this::stop).collect(Collectors.toList());
+    private List<WorkloadContext> createContexts(WorkloadContextFactory factory, List<Workload> workloads) {
+        List<WorkloadContext> contexts = factory.createContexts(workloads);
 
-            try {
-                do {
-                    futures.removeIf(Future::isDone);
-                    Thread.sleep(schedulerProperties.getActionPollInterval().toMillis());
+        Assert.notNull(contexts, "Workload contexts were null for a batch of workloads using factory " + factory.getClass().getName());
+        Assert.isTrue(contexts.size() == workloads.size(), "Factory " + factory.getClass().getName() + " created " + contexts.size() + " workload contexts for " + workloads.size() + " workloads");
+
+        for (int i = 0; i < contexts.size(); i++) {
+            Assert.notNull(contexts.get(i), "Workload context was null for workload " + workloads.get(i).toString() + " using factory " + factory.getClass().getName());
+        }
+
+        return contexts;
+    }
+
+    /**
+     * Starts the given workload contexts.
+     *
+     * @param contexts  Workload contexts to start.
+     * @param operation Lifecycle operation the start is a part of.
+     * @return A future for the process of starting the workload contexts.
+     */
+    private CompletableFuture<Void> start(List<WorkloadContext> contexts, WorkloadLifecycleExecutor.Operation operation) {
+        return CompletableFuture.allOf(contexts.stream().map(c -> start(c, operation)).toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Starts the given workload context on the lifecycle executor once the start throttle has admitted it.
+     * Waiting for admission does not occupy a lifecycle thread.
+     *
+     * @param context   Workload context to start.
+     * @param operation Lifecycle operation the start is a part of.
+     * @return A future for the process of starting the workload context.
+     */
+    private CompletableFuture<Void> start(WorkloadContext context, WorkloadLifecycleExecutor.Operation operation) {
+        return startThrottle.acquire(context.getWorkload())
+            .thenCompose(ignored -> lifecycleExecutor.submit(operation, () -> startAdmitted(context)))
+            .whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    log.error("Unhandled exception encountered while starting workload " + context.getWorkload().getUrn(), throwable);
+                }
+            });
+    }
+
+    /**
+     * Starts the given workload context, which has been admitted by the start throttle.
+     * <p>
+     * If the workload's type is subject to a start concurrency cap, its admission is held until the context
+     * is running or has terminated, or until the action poll timeout elapses. Contexts that were stopped or
+     * removed while waiting for admission are not started.
+     *
+     * @param context Workload context to start.
+     */
+    private void startAdmitted(WorkloadContext context) {
+        Workload workload = context.getWorkload();
+        boolean started = false;
+
+        try {
+            synchronized (context) {
+                if (!pendingStarts.remove(context)) {
+                    log.debug("Workload " + workload.getUrn() + " was stopped before it was started");
+                    return;
                 }
-                while (futures.size() > 0);
+
+                context.start();
+                started = true;
+            }
+        }
+        finally {
+            if (started && startThrottle.isConcurrencyCapped(workload)) {
+                releaseOnStartup(context, System.currentTimeMillis() + schedulerProperties.getActionPollTimeout().toMillis());
             }
-            catch (InterruptedException ignored) {
-                Thread.currentThread().interrupt();
-                log.error("Interrupted while stopping workloads");
+            else {
+                startThrottle.release(workload);
             }
-        });
+        }
+    }
+
+    /**
+     * Releases the start throttle admission of the given workload context once it is running or has terminated,
+     * or once the given deadline has passed. The check is repeated on the start throttle's timer rather than
+     * on a lifecycle thread.
+     *
+     * @param context  Workload context that was started.
+     * @param deadline Time after which the admission is released regardless, in milliseconds.
+     */
+    private void releaseOnStartup(WorkloadContext context, long deadline) {
+        RunningState runningState = context.getRunningState();
+
+        if (runningState == RunningState.RUNNING || runningState.isTerminal()) {
+            startThrottle.release(context.getWorkload());
+        }
+        else if (System.currentTimeMillis() >= deadline) {
+            log.warn("Workload " + context.getWorkload().getUrn() + " did not start within " + schedulerProperties.getActionPollTimeout());
+            startThrottle.release(context.getWorkload());
+        }
+        else {
+            startThrottle.schedule(Math.max(1, schedulerProperties.getActionPollInterval().toMillis()), TimeUnit.MILLISECONDS, () -> releaseOnStartup(context, deadline));
+        }
+    }
+
+    /**
+     * Stops and removes the given workload.
+     *
+     * @param workload  Workload to remove.
+     * @param operation Lifecycle operation the removal is a part of.
+     * @return A future for the process of removing the workload.
+     */
+    private CompletableFuture<Void> remove(Workload workload, WorkloadLifecycleExecutor.Operation operation) {
+        synchronized (this) {
+            List<WorkloadContext> contexts = getContexts(workload);
+            this.workloadContexts.removeAll(contexts);
+            return stop(contexts, operation);
+        }
+    }
+
+    /**
+     * Stops the given list of workload contexts.
+     *
+     * @param contexts  Workload contexts to stop.
+     * @param operation Lifecycle operation the stop is a part of.
+     * @return A future to track completion of the workload context.
+     */
+    private CompletableFuture<Void> stop(List<WorkloadContext> contexts, WorkloadLifecycleExecutor.Operation operation) {
+        return CompletableFuture.allOf(contexts.stream().map(c -> stop(c, operation)).toArray(CompletableFuture[]::new));
     }
 
     /**
      * Stops the given workload context.
+     * <p>
+     * If the context has not stopped within the action poll timeout, for example because its thread ignores
+     * interrupts, it is abandoned: it is forced into an error state and its lifecycle slot is released.
      *
-     * @param context Workload context to stop.
+     * @param context   Workload context to stop.
+     * @param operation Lifecycle operation the stop is a part of.
      * @return A future for the process of stopping the workload context.
      */
-    private Future stop(WorkloadContext context) {
-        return executorService.submit(() -> {
+    private CompletableFuture<Void> stop(WorkloadContext context, WorkloadLifecycleExecutor.Operation operation) {
+        return lifecycleExecutor.submit(operation, () -> {
             log.debug("Stopping workload " + context.getWorkload().getUrn());
-            context.stop();
+
+            synchronized (context) {
+                pendingStarts.remove(context);
+                context.stop();
+            }
+
+            long deadline = System.currentTimeMillis() + schedulerProperties.getActionPollTimeout().toMillis();
 
             while (true) {
                 if (context.isStopped()) {
-                    log.debug("Workload " + context.getWorkload().getUrn() + "has stopped");
+                    log.debug("Workload " + context.getWorkload().getUrn() + " has stopped");
+                    return;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    log.error("Workload " + context.getWorkload().getUrn() + " did not stop within " + schedulerProperties.getActionPollTimeout() + " and has been abandoned");
+                    context.fail(new IllegalStateException("workload did not stop within " + schedulerProperties.getActionPollTimeout()));
                     return;
                 }
                 try {
@@ -286,6 +763,7 @@ public class WorkloadContextManager {
                 catch (InterruptedException ignored) {
                     Thread.currentThread().interrupt();
                     log.error("Interrupted while stopping workload " + context.getWorkload().getUrn());
+                    return;
                 }
             }
         });
@@ -308,4 +786,82 @@ public class WorkloadContextManager {
     private void fail(WorkloadContext context) {
         context.fail();
     }
+
+    /**
+     * Forces an error state on the given workload context on behalf of the member, and passes the failure to the
+     * supervisor and state listeners the same way as a failure the workload reports itself. Contexts that do not
+     * publish their own state transitions are given a transition here, so that no failure goes unannounced.
+     *
+     * @param context Workload context to fail.
+     * @param cause   Cause of the failure.
+     */
+    void fail(WorkloadContext context, Throwable cause) {
+        RunningState from = context.getRunningState();
+        AtomicBoolean published = new AtomicBoolean();
+        WorkloadStateListener listener = transition -> published.set(true);
+
+        context.addStateListener(listener);
+
+        try {
+            context.fail(cause);
+        }
+        finally {
+            context.removeStateListener(listener);
+        }
+
+        if (!published.get() && context.getRunningState() == RunningState.ERROR) {
+            onTransition(context, new WorkloadStateTransition(context.getWorkload(), from, RunningState.ERROR, System.currentTimeMillis(), cause));
+        }
+    }
+
+    /**
+     * Cache key of the workload context factories that support a workload, made up of the workload's class and type.
+     */
+    private static class FactoryCacheKey {
+        /**
+         * Workload class.
+         */
+        private final Class<? extends Workload> workloadClass;
+
+        /**
+         * Workload type.
+         */
+        private final String type;
+
+        /**
+         * Constructor.
+         *
+         * @param workload Workload to build the key for.
+         */
+        FactoryCacheKey(Workload workload) {
+            this.workloadClass = workload.getClass();
+            this.type = workload.getTypeName();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            FactoryCacheKey that = (FactoryCacheKey) o;
+
+            return workloadClass.equals(that.workloadClass) && Objects.equals(type, that.type);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(workloadClass, type);
+        }
+    }
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import com.budjb.spring.distributed.scheduler.SchedulerProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded executor that runs workload lifecycle operations on behalf of the {@link WorkloadContextManager}.
+ * <p>
+ * Tasks are handed directly to a thread pool with a fixed core and maximum size, which grows up to its maximum
+ * size whenever no idle thread is available. Once the pool is full, tasks are run on the submitting thread so
+ * that mass lifecycle operations slow down rather than exhausting the node. In addition, each
+ * {@link Operation operation type} has its own parallelism limit; tasks beyond that limit wait in a per-operation
+ * backlog without occupying a pool thread, so the backlogs take the place of a queue in front of the pool.
+ */
+public class WorkloadLifecycleExecutor {
+    /**
+     * Prefix of the names of threads created by the executor.
+     */
+    private final static String THREAD_NAME_PREFIX = "workload-lifecycle-";
+
+    /**
+     * Underlying thread pool.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Parallelism limited lanes, per operation type.
+     */
+    private final Map<Operation, Lane> lanes = new EnumMap<>(Operation.class);
+
+    /**
+     * Constructor.
+     *
+     * @param schedulerProperties Scheduler properties.
+     */
+    public WorkloadLifecycleExecutor(SchedulerProperties schedulerProperties) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+
+        executor = new ThreadPoolExecutor(
+            schedulerProperties.getLifecycleCorePoolSize(),
+            Math.max(schedulerProperties.getLifecycleCorePoolSize(), schedulerProperties.getLifecycleMaxPoolSize()),
+            schedulerProperties.getLifecycleKeepAlive().toMillis(),
+            TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(),
+            threadFactory,
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+
+        lanes.put(Operation.START, new Lane(schedulerProperties.getLifecycleStartParallelism()));
+        lanes.put(Operation.STOP, new Lane(schedulerProperties.getLifecycleStopParallelism()));
+        lanes.put(Operation.RESTART, new Lane(schedulerProperties.getLifecycleRestartParallelism()));
+        lanes.put(Operation.SHUTDOWN, new Lane(schedulerProperties.getLifecycleShutdownParallelism()));
+    }
+
+    /**
+     * Submits a task for the given operation type.
+     *
+     * @param operation Type of lifecycle operation the task performs.
+     * @param task      Task to run.
+     * @return A future that completes when the task has run.
+     */
+    public CompletableFuture<Void> submit(Operation operation, Runnable task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        lanes.get(operation).submit(() -> {
+            try {
+                task.run();
+                future.complete(null);
+            }
+            catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Returns the number of tasks waiting to run, including those waiting on a per-operation parallelism limit.
+     *
+     * @return The number of tasks waiting to run.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size() + lanes.values().stream().mapToInt(Lane::getBacklog).sum();
+    }
+
+    /**
+     * Returns the number of tasks waiting to run for the given operation type.
+     *
+     * @param operation Operation type.
+     * @return The number of tasks waiting to run for the given operation type.
+     */
+    public int getQueueDepth(Operation operation) {
+        return lanes.get(operation).getBacklog();
+    }
+
+    /**
+     * Returns the approximate number of threads actively running tasks.
+     *
+     * @return The approximate number of threads actively running tasks.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the current number of threads in the pool.
+     *
+     * @return The current number of threads in the pool.
+     */
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    /**
+     * Types of lifecycle operations, each of which is subject to its own parallelism limit.
+     */
+    public enum Operation {
+        /**
+         * Starting workload contexts in bulk.
+         */
+        START,
+
+        /**
+         * Stopping or removing individual workloads.
+         */
+        STOP,
+
+        /**
+         * Restarting individual workloads.
+         */
+        RESTART,
+
+        /**
+         * Stopping all workloads during shutdown.
+         */
+        SHUTDOWN
+    }
+
+    /**
+     * Feeds tasks to the thread pool while keeping no more than a fixed number of them in flight.
+     */
+    private class Lane {
+        /**
+         * Maximum number of tasks that may be in flight.
+         */
+        private final int parallelism;
+
+        /**
+         * Tasks waiting for an in-flight slot.
+         */
+        private final Queue<Runnable> backlog = new ArrayDeque<>();
+
+        /**
+         * Number of tasks currently in flight.
+         */
+        private int inFlight = 0;
+
+        /**
+         * Constructor.
+         *
+         * @param parallelism Maximum number of tasks that may be in flight.
+         */
+        Lane(int parallelism) {
+            Assert.isTrue(parallelism > 0, "lifecycle parallelism must be greater than 0");
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * Submits a task to the lane.
+         *
+         * @param task Task to run.
+         */
+        void submit(Runnable task) {
+            synchronized (this) {
+                if (inFlight >= parallelism) {
+                    backlog.add(task);
+                    return;
+                }
+                inFlight++;
+            }
+
+            dispatch(task);
+        }
+
+        /**
+         * Returns the number of tasks waiting for an in-flight slot.
+         *
+         * @return The number of tasks waiting for an in-flight slot.
+         */
+        synchronized int getBacklog() {
+            return backlog.size();
+        }
+
+        /**
+         * Hands the task to the thread pool. Once it completes, the same thread runs the tasks waiting for a slot
+         * until the backlog is empty, and then releases the slot. Running the backlog in a loop rather than handing
+         * each task back to the pool keeps the stack flat when the pool is saturated and runs tasks on the caller.
+         *
+         * @param task Task to run.
+         */
+        private void dispatch(Runnable task) {
+            executor.execute(() -> {
+                Runnable next = task;
+
+                while (next != null) {
+                    next.run();
+
+                    synchronized (this) {
+                        next = backlog.poll();
+
+                        if (next == null) {
+                            inFlight--;
+                        }
+                    }
+                }
+            });
+        }
+    }
+}
@@ -20,7 +20,10 @@ import com.budjb.spring.distributed.scheduler.RunningState;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +35,21 @@ public class WorkloadReport implements Serializable, Cloneable {
      */
     private final List<Entry> entries;
 
+    /**
+     * Labels of the cluster member that produced the report.
+     */
+    private Map<String, String> labels = Collections.emptyMap();
+
+    /**
+     * Maximum number of workloads the cluster member that produced the report runs, or 0 if unlimited.
+     */
+    private int maxWorkloads;
+
+    /**
+     * Maximum total weight of the workloads the cluster member that produced the report runs, or 0 if unlimited.
+     */
+    private double maxWeight;
+
     /**
      * Constructor.
      */
@@ -57,6 +75,60 @@ public class WorkloadReport implements Serializable, Cloneable {
         return entries;
     }
 
+    /**
+     * Returns the labels of the cluster member that produced the report.
+     *
+     * @return the labels of the cluster member.
+     */
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    /**
+     * Sets the labels of the cluster member that produced the report.
+     *
+     * @param labels the labels of the cluster member.
+     */
+    public void setLabels(Map<String, String> labels) {
+        this.labels = Collections.unmodifiableMap(new HashMap<>(labels));
+    }
+
+    /**
+     * Returns the maximum number of workloads the cluster member that produced the report runs.
+     *
+     * @return the maximum number of workloads, or 0 if unlimited.
+     */
+    public int getMaxWorkloads() {
+        return maxWorkloads;
+    }
+
+    /**
+     * Sets the maximum number of workloads the cluster member that produced the report runs.
+     *
+     * @param maxWorkloads the maximum number of workloads, or 0 if unlimited.
+     */
+    public void setMaxWorkloads(int maxWorkloads) {
+        this.maxWorkloads = maxWorkloads;
+    }
+
+    /**
+     * Returns the maximum total weight of the workloads the cluster member that produced the report runs.
+     *
+     * @return the maximum total weight of the workloads, or 0 if unlimited.
+     */
+    public double getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Sets the maximum total weight of the workloads the cluster member that produced the report runs.
+     *
+     * @param maxWeight the maximum total weight of the workloads, or 0 if unlimited.
+     */
+    public void setMaxWeight(double maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
     /**
      * Adds a collector report entry.
      *
@@ -72,7 +144,11 @@ public class WorkloadReport implements Serializable, Cloneable {
      * @return a deep copy of the report.
      */
     public WorkloadReport copy() {
-        return new WorkloadReport(entries.stream().map(entry -> new Entry(entry.getWorkload(), entry.getState(), entry.getError())).collect(Collectors.toList()));
+        WorkloadReport report = new WorkloadReport(entries.stream().map(Entry::copy).collect(Collectors.toList()));
+        report.labels = labels;
+        report.maxWorkloads = maxWorkloads;
+        report.maxWeight = maxWeight;
+        return report;
     }
 
     /**
@@ -94,6 +170,43 @@ public class WorkloadReport implements Serializable, Cloneable {
          */
         private final String error;
 
+        /**
+         * Number of times the workload has been restarted by its cluster member within the crash loop window.
+         * Always 0 unless supervision is enabled.
+         */
+        private int restartCount;
+
+        /**
+         * Whether the workload has failed often enough to be considered crash looping. Always false unless
+         * supervision is enabled.
+         */
+        private boolean crashLooping;
+
+        /**
+         * Whether the workload reports heartbeats but has stopped doing so for longer than its stall threshold.
+         */
+        private boolean stalled;
+
+        /**
+         * Amount of progress the workload has reported.
+         */
+        private long progress;
+
+        /**
+         * Rolling CPU usage of the workload, as the number of CPU cores it kept busy.
+         */
+        private double cpuRate;
+
+        /**
+         * Rolling allocation rate of the workload, in bytes per second.
+         */
+        private double allocationRate;
+
+        /**
+         * Load score reported by the workload.
+         */
+        private double loadScore;
+
         /**
          * Constructor.
          *
@@ -154,5 +267,150 @@ public class WorkloadReport implements Serializable, Cloneable {
         public String getError() {
             return error;
         }
+
+        /**
+         * Returns the number of times the workload has been restarted by its cluster member within the crash loop window.
+         *
+         * @return the number of recent restarts of the workload.
+         */
+        public int getRestartCount() {
+            return restartCount;
+        }
+
+        /**
+         * Sets the number of times the workload has been restarted by its cluster member within the crash loop window.
+         *
+         * @param restartCount the number of recent restarts of the workload.
+         */
+        public void setRestartCount(int restartCount) {
+            this.restartCount = restartCount;
+        }
+
+        /**
+         * Returns whether the workload has failed often enough to be considered crash looping. Crash looping
+         * workloads are quarantined by the scheduler rather than restarted or moved.
+         *
+         * @return whether the workload is crash looping.
+         */
+        public boolean isCrashLooping() {
+            return crashLooping;
+        }
+
+        /**
+         * Sets whether the workload has failed often enough to be considered crash looping.
+         *
+         * @param crashLooping whether the workload is crash looping.
+         */
+        public void setCrashLooping(boolean crashLooping) {
+            this.crashLooping = crashLooping;
+        }
+
+        /**
+         * Returns whether the workload has stopped reporting heartbeats for longer than its stall threshold.
+         * Stalled workloads are treated as failed by the scheduler.
+         *
+         * @return whether the workload is stalled.
+         */
+        public boolean isStalled() {
+            return stalled;
+        }
+
+        /**
+         * Sets whether the workload has stopped reporting heartbeats for longer than its stall threshold.
+         *
+         * @param stalled whether the workload is stalled.
+         */
+        public void setStalled(boolean stalled) {
+            this.stalled = stalled;
+        }
+
+        /**
+         * Returns the amount of progress the workload has reported.
+         *
+         * @return the amount of progress reported.
+         */
+        public long getProgress() {
+            return progress;
+        }
+
+        /**
+         * Sets the amount of progress the workload has reported.
+         *
+         * @param progress the amount of progress reported.
+         */
+        public void setProgress(long progress) {
+            this.progress = progress;
+        }
+
+        /**
+         * Returns the rolling CPU usage of the workload, as the number of CPU cores it kept busy.
+         *
+         * @return the rolling CPU usage of the workload.
+         */
+        public double getCpuRate() {
+            return cpuRate;
+        }
+
+        /**
+         * Sets the rolling CPU usage of the workload.
+         *
+         * @param cpuRate the rolling CPU usage of the workload.
+         */
+        public void setCpuRate(double cpuRate) {
+            this.cpuRate = cpuRate;
+        }
+
+        /**
+         * Returns the rolling allocation rate of the workload, in bytes per second.
+         *
+         * @return the rolling allocation rate of the workload.
+         */
+        public double getAllocationRate() {
+            return allocationRate;
+        }
+
+        /**
+         * Sets the rolling allocation rate of the workload, in bytes per second.
+         *
+         * @param allocationRate the rolling allocation rate of the workload.
+         */
+        public void setAllocationRate(double allocationRate) {
+            this.allocationRate = allocationRate;
+        }
+
+        /**
+         * Returns the load score reported by the workload.
+         *
+         * @return the load score of the workload, or 0 if it does not report one.
+         */
+        public double getLoadScore() {
+            return loadScore;
+        }
+
+        /**
+         * Sets the load score reported by the workload.
+         *
+         * @param loadScore the load score of the workload.
+         */
+        public void setLoadScore(double loadScore) {
+            this.loadScore = loadScore;
+        }
+
+        /**
+         * Returns a copy of the entry.
+         *
+         * @return a copy of the entry.
+         */
+        public Entry copy() {
+            Entry entry = new Entry(workload, state, error);
+            entry.setRestartCount(restartCount);
+            entry.setCrashLooping(crashLooping);
+            entry.setStalled(stalled);
+            entry.setProgress(progress);
+            entry.setCpuRate(cpuRate);
+            entry.setAllocationRate(allocationRate);
+            entry.setLoadScore(loadScore);
+            return entry;
+        }
     }
 }
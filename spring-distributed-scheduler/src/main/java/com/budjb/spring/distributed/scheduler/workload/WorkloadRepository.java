@@ -39,4 +39,47 @@ public interface WorkloadRepository {
      * @return All workloads that the scheduler should act upon.
      */
     Set<Workload> getWorkloads();
+
+    /**
+     * Returns whether the workloads most recently returned by {@link #getWorkloads()} are partial, meaning that at
+     * least one source could not be queried and had no previously known workloads to fall back on. While the
+     * repository is partial, the scheduler only removes running workloads that are {@link #isAttributed attributed}
+     * to a source, since the others may belong to the unknown source.
+     *
+     * @return Whether the most recently returned workloads are partial.
+     */
+    default boolean isPartial() {
+        return false;
+    }
+
+    /**
+     * Returns whether the given workload has been returned by a source since the repository was last complete, even
+     * if no source returns it anymore. Such a workload cannot belong to a source that has never returned workloads,
+     * so it may be removed while the repository is {@link #isPartial() partial} once no source returns it.
+     * Repositories that do not track this attribute no workloads.
+     *
+     * @param workload Workload to check.
+     * @return Whether the workload is attributed to a source.
+     */
+    default boolean isAttributed(Workload workload) {
+        return false;
+    }
+
+    /**
+     * Registers a listener that is notified of workload changes observed outside of calls to
+     * {@link #getWorkloads()}, such as background refreshes and change notifications from sources.
+     * Repositories that do not observe changes on their own never notify listeners.
+     *
+     * @param listener Listener to register.
+     */
+    default void addChangeListener(WorkloadRepositoryListener listener) {
+    }
+
+    /**
+     * Unregisters a listener that was registered with {@link #addChangeListener(WorkloadRepositoryListener)}.
+     *
+     * @param listener Listener to unregister.
+     */
+    default void removeChangeListener(WorkloadRepositoryListener listener) {
+    }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import java.util.Set;
+
+/**
+ * Receives the changes to the workloads of a {@link WorkloadRepository} as the repository observes them.
+ */
+@FunctionalInterface
+public interface WorkloadRepositoryListener {
+    /**
+     * Called when workloads have been added to or removed from the repository.
+     *
+     * @param added   Workloads added to the repository.
+     * @param removed Workloads removed from the repository.
+     */
+    void onChange(Set<Workload> added, Set<Workload> removed);
+}
@@ -32,7 +32,22 @@ import java.util.Set;
  * As a note, the default {@link WorkloadRepository} registered in Spring is a
  * {@link CachingWorkloadRepository}, which caches the results from all repository
  * source implementations at an aggregated level.
+ * <p>
+ * Sources are queried concurrently from the repository's query threads, and a query
+ * that runs longer than the configured timeout is interrupted and treated as failed.
+ * Sources that know when their workloads change can signal it through the
+ * {@link #setChangeNotifier(Runnable) change notifier}.
  */
 public interface WorkloadRepositorySource {
     Set<Workload> queryWorkloads();
+
+    /**
+     * Called by the repository with a callback that the source may invoke whenever its workloads
+     * have changed, for example in response to a database trigger or a message. The repository then
+     * queries just this source and schedules the changes without waiting for its cache to expire.
+     *
+     * @param changeNotifier Callback to invoke when the source's workloads have changed.
+     */
+    default void setChangeNotifier(Runnable changeNotifier) {
+    }
 }
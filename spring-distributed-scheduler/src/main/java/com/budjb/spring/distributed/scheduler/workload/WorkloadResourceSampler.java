@@ -0,0 +1,288 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import com.budjb.spring.distributed.scheduler.SchedulerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically samples the CPU time and allocated bytes of the workloads running on the local cluster member,
+ * and computes their rolling rates per workload URN.
+ * <p>
+ * Samples are taken from each {@link WorkloadContext}'s cumulative counters, summed across the contexts of a
+ * workload. Rates are computed over the samples taken within the sample window. When a workload's counters go
+ * backwards, such as after it was restarted with a new context, its history is discarded.
+ */
+public class WorkloadResourceSampler {
+    /**
+     * Logger.
+     */
+    private final Logger log = LoggerFactory.getLogger(WorkloadResourceSampler.class);
+
+    /**
+     * Workload context manager.
+     */
+    private final WorkloadContextManager workloadContextManager;
+
+    /**
+     * Scheduler properties.
+     */
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Recent samples, keyed by workload URN.
+     */
+    private final Map<String, Deque<Sample>> samples = new ConcurrentHashMap<>();
+
+    /**
+     * Runs sampling.
+     */
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor.
+     *
+     * @param workloadContextManager Workload context manager.
+     * @param schedulerProperties    Scheduler properties.
+     */
+    public WorkloadResourceSampler(WorkloadContextManager workloadContextManager, SchedulerProperties schedulerProperties) {
+        this.workloadContextManager = workloadContextManager;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    /**
+     * Starts periodic sampling, if it is enabled.
+     */
+    public synchronized void start() {
+        long interval = schedulerProperties.getResourceSampleInterval().toMillis();
+
+        if (interval <= 0 || scheduler != null) {
+            return;
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("workload-sampler-");
+        threadFactory.setDaemon(true);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::sample, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic sampling.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Returns the rolling CPU usage of the given workload, as the number of CPU cores it kept busy.
+     *
+     * @param workload Workload to check.
+     * @return The rolling CPU usage of the workload, or 0 if it is not known.
+     */
+    public double getCpuRate(Workload workload) {
+        return getRate(workload.getUrn(), true);
+    }
+
+    /**
+     * Returns the rolling allocation rate of the given workload, in bytes per second.
+     *
+     * @param workload Workload to check.
+     * @return The rolling allocation rate of the workload, or 0 if it is not known.
+     */
+    public double getAllocationRate(Workload workload) {
+        return getRate(workload.getUrn(), false);
+    }
+
+    /**
+     * Returns the rolling CPU usage of all sampled workloads, as the number of CPU cores they kept busy.
+     *
+     * @return The rolling CPU usage of all sampled workloads.
+     */
+    public double getTotalCpuRate() {
+        return samples.keySet().stream().mapToDouble(urn -> getRate(urn, true)).sum();
+    }
+
+    /**
+     * Returns the rolling allocation rate of all sampled workloads, in bytes per second.
+     *
+     * @return The rolling allocation rate of all sampled workloads.
+     */
+    public double getTotalAllocationRate() {
+        return samples.keySet().stream().mapToDouble(urn -> getRate(urn, false)).sum();
+    }
+
+    /**
+     * Samples the counters of all workload contexts.
+     */
+    void sample() {
+        List<WorkloadContext> contexts;
+
+        synchronized (workloadContextManager) {
+            contexts = new ArrayList<>(workloadContextManager.getWorkloadContexts());
+        }
+
+        long now = System.nanoTime();
+        Map<String, Sample> current = new HashMap<>();
+
+        for (WorkloadContext context : contexts) {
+            try {
+                current.merge(context.getWorkload().getUrn(), new Sample(now, context.getCpuTime(), context.getAllocatedBytes()), Sample::add);
+            }
+            catch (Exception e) {
+                log.error("Unhandled exception encountered while sampling workload " + context.getWorkload().getUrn(), e);
+            }
+        }
+
+        samples.keySet().retainAll(current.keySet());
+
+        long horizon = now - schedulerProperties.getResourceSampleWindow().toNanos();
+
+        current.forEach((urn, sample) -> {
+            Deque<Sample> history = samples.computeIfAbsent(urn, k -> new ArrayDeque<>());
+
+            synchronized (history) {
+                Sample last = history.peekLast();
+
+                if (last != null && (sample.cpuTime < last.cpuTime || sample.allocatedBytes < last.allocatedBytes)) {
+                    history.clear();
+                }
+
+                history.addLast(sample);
+
+                while (history.size() > 2 && history.peekFirst().time < horizon) {
+                    history.removeFirst();
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the rate of the given counter of the given workload over the sample window.
+     *
+     * @param urn Workload URN.
+     * @param cpu Whether to compute the CPU rate rather than the allocation rate.
+     * @return The rate, or 0 if it is not known.
+     */
+    private double getRate(String urn, boolean cpu) {
+        Deque<Sample> history = samples.get(urn);
+
+        if (history == null) {
+            return 0;
+        }
+
+        Sample first;
+        Sample last;
+
+        synchronized (history) {
+            if (history.size() < 2) {
+                return 0;
+            }
+
+            first = history.peekFirst();
+            last = history.peekLast();
+        }
+
+        long from = cpu ? first.cpuTime : first.allocatedBytes;
+        long to = cpu ? last.cpuTime : last.allocatedBytes;
+        long elapsed = last.time - first.time;
+
+        if (from < 0 || to < 0 || elapsed <= 0) {
+            return 0;
+        }
+
+        double rate = (double) (to - from) / elapsed;
+
+        return cpu ? rate : rate * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * A sample of a workload's cumulative counters.
+     */
+    private static class Sample {
+        /**
+         * Time the sample was taken, in nanoseconds.
+         */
+        private final long time;
+
+        /**
+         * Cumulative CPU time, in nanoseconds, or -1 if unknown.
+         */
+        private final long cpuTime;
+
+        /**
+         * Cumulative allocated bytes, or -1 if unknown.
+         */
+        private final long allocatedBytes;
+
+        /**
+         * Constructor.
+         *
+         * @param time           Time the sample was taken, in nanoseconds.
+         * @param cpuTime        Cumulative CPU time, in nanoseconds.
+         * @param allocatedBytes Cumulative allocated bytes.
+         */
+        Sample(long time, long cpuTime, long allocatedBytes) {
+            this.time = time;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * Combines two samples of the same workload taken at the same time.
+         *
+         * @param other Other sample.
+         * @return The combined sample.
+         */
+        Sample add(Sample other) {
+            return new Sample(time, sum(cpuTime, other.cpuTime), sum(allocatedBytes, other.allocatedBytes));
+        }
+
+        /**
+         * Sums two counters, where either may be unknown.
+         *
+         * @param a First counter.
+         * @param b Second counter.
+         * @return The sum, or -1 if both are unknown.
+         */
+        private static long sum(long a, long b) {
+            if (a < 0) {
+                return b;
+            }
+            if (b < 0) {
+                return a;
+            }
+            return a + b;
+        }
+    }
+}
@@ -52,6 +52,77 @@ public interface WorkloadRunnable extends Runnable {
      */
     void fail();
 
+    /**
+     * Forces a failure state, recording the given cause as the reason for the failure.
+     * <p>
+     * This is used by the watchdog when it discovers that the runnable has died or stalled
+     * without its running state reflecting it.
+     *
+     * @param cause the reason for the failure.
+     */
+    default void fail(Throwable cause) {
+        fail();
+    }
+
+    /**
+     * Returns the time at which the runnable entered the given running state, in milliseconds since the epoch,
+     * or 0 if it has not entered that state or does not track transitions.
+     *
+     * @param runningState Running state to check.
+     * @return the time the running state was entered, or 0.
+     */
+    default long getStateTimestamp(RunningState runningState) {
+        return 0;
+    }
+
+    /**
+     * Registers a listener to be notified of the runnable's running state transitions. Implementations that
+     * do not track transitions never notify the listener.
+     *
+     * @param listener Listener to register.
+     */
+    default void addStateListener(WorkloadStateListener listener) {
+    }
+
+    /**
+     * Removes a previously registered running state listener.
+     *
+     * @param listener Listener to remove.
+     */
+    default void removeStateListener(WorkloadStateListener listener) {
+    }
+
+    /**
+     * Returns the time of the runnable's most recent heartbeat, in milliseconds since the epoch, or 0 if
+     * the runnable does not report heartbeats. Runnables that report heartbeats may be considered stalled
+     * when they stop doing so.
+     *
+     * @return the time of the most recent heartbeat, or 0.
+     */
+    default long getLastHeartbeat() {
+        return 0;
+    }
+
+    /**
+     * Returns the amount of progress the runnable has reported, such as the number of records processed.
+     *
+     * @return the amount of progress reported.
+     */
+    default long getProgress() {
+        return 0;
+    }
+
+    /**
+     * Returns a score describing how much load the runnable currently puts on its cluster member, such as
+     * its consumer lag, queue depth or throughput. Scores are only meaningful relative to each other, and
+     * may be used by a scheduler strategy to spread load across cluster members.
+     *
+     * @return the load score of the runnable, or 0 if it does not report one.
+     */
+    default double getLoadScore() {
+        return 0;
+    }
+
     /**
      * Returns an exception that was encountered during an error in execution.
      * <p>
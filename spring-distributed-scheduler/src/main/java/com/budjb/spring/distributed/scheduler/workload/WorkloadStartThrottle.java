@@ -0,0 +1,370 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import com.budjb.spring.distributed.scheduler.SchedulerProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for workload starts on the local cluster member.
+ * <p>
+ * Before a workload is started, it waits for a randomized jitter delay, then for a slot under its
+ * workload type's concurrency cap, and finally for a token from a token bucket shared by all workload
+ * types. This spreads out the burst of starts that happens when the cluster cold-starts or a member
+ * joins, so that downstream resources are not stampeded. Each mechanism is disabled by default.
+ * <p>
+ * Admission never parks the calling thread. Delays run on a timer, and workloads waiting on a concurrency
+ * cap wait in a queue of their own type, so a saturated type does not hold up the starts of other types.
+ */
+public class WorkloadStartThrottle {
+    /**
+     * Prefix of the names of threads created by the throttle.
+     */
+    private final static String THREAD_NAME_PREFIX = "workload-start-throttle-";
+
+    /**
+     * Scheduler properties.
+     */
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Concurrency caps, by workload type.
+     */
+    private final Map<String, ConcurrencyCap> concurrencyCaps = new ConcurrentHashMap<>();
+
+    /**
+     * Admissions that have been requested but have not completed yet.
+     */
+    private final Set<CompletableFuture<Void>> waiting = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Number of tokens currently in the bucket. May be negative when starts have reserved future tokens; the debt
+     * is one token per admission waiting on the bucket, each of which is scheduled for the time its token is due,
+     * so it is bounded by the number of workloads being started and is intentionally not capped.
+     */
+    private double tokens;
+
+    /**
+     * Time the token bucket was last refilled, in nanoseconds.
+     */
+    private long lastRefill;
+
+    /**
+     * Timer that runs delayed admissions, created when first needed.
+     */
+    private ScheduledExecutorService timer;
+
+    /**
+     * Whether the throttle has been stopped.
+     */
+    private boolean stopped = false;
+
+    /**
+     * Constructor.
+     *
+     * @param schedulerProperties Scheduler properties.
+     */
+    public WorkloadStartThrottle(SchedulerProperties schedulerProperties) {
+        this.schedulerProperties = schedulerProperties;
+        this.tokens = Math.max(1, schedulerProperties.getStartBurst());
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Requests admission of the given workload to start. The returned future completes once the workload is
+     * admitted, which happens right away when no throttling applies. Every admission must be paired with a
+     * call to {@link #release}. If the throttle is stopped before the workload is admitted, the future completes
+     * with a {@link CancellationException}.
+     *
+     * @param workload Workload to start.
+     * @return A future that completes when the workload is admitted.
+     */
+    public CompletableFuture<Void> acquire(Workload workload) {
+        CompletableFuture<Void> admitted = new CompletableFuture<>();
+
+        synchronized (this) {
+            if (stopped) {
+                admitted.completeExceptionally(new CancellationException("the workload start throttle has been stopped"));
+                return admitted;
+            }
+
+            waiting.add(admitted);
+        }
+
+        admitted.whenComplete((ignored, throwable) -> waiting.remove(admitted));
+
+        long jitter = schedulerProperties.getStartJitter().toMillis();
+        long delay = jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0;
+
+        schedule(delay, TimeUnit.MILLISECONDS, () -> acquireConcurrencyCap(workload, () -> schedule(reserveToken(), TimeUnit.NANOSECONDS, () -> admitted.complete(null))));
+
+        return admitted;
+    }
+
+    /**
+     * Releases the admission of the given workload once it has started. If other workloads of its type are
+     * waiting on the concurrency cap, the slot is handed to the next of them.
+     *
+     * @param workload Workload that has started.
+     */
+    public void release(Workload workload) {
+        ConcurrencyCap cap = getConcurrencyCap(workload);
+
+        if (cap != null) {
+            cap.release();
+        }
+    }
+
+    /**
+     * Returns whether starts of the given workload's type are subject to a concurrency cap.
+     *
+     * @param workload Workload to check.
+     * @return Whether starts of the given workload's type are subject to a concurrency cap.
+     */
+    public boolean isConcurrencyCapped(Workload workload) {
+        return getConcurrencyCap(workload.getTypeName()) > 0;
+    }
+
+    /**
+     * Runs the given task after the given delay on the throttle's timer, or on the calling thread if there is no delay.
+     * Delayed tasks are dropped once the throttle has been stopped.
+     *
+     * @param delay Delay before running the task.
+     * @param unit  Unit of the delay.
+     * @param task  Task to run.
+     */
+    void schedule(long delay, TimeUnit unit, Runnable task) {
+        if (delay <= 0) {
+            task.run();
+            return;
+        }
+
+        ScheduledExecutorService timer = getTimer();
+
+        if (timer == null) {
+            return;
+        }
+
+        try {
+            timer.schedule(task, delay, unit);
+        }
+        catch (RejectedExecutionException ignored) {
+            // The throttle was stopped concurrently, which cancelled the admission the task belongs to.
+        }
+    }
+
+    /**
+     * Stops the throttle's timer. Admissions that have not completed yet complete with a
+     * {@link CancellationException}, as do admissions requested afterwards.
+     */
+    public void stop() {
+        synchronized (this) {
+            stopped = true;
+
+            if (timer != null) {
+                timer.shutdownNow();
+                timer = null;
+            }
+        }
+
+        for (CompletableFuture<Void> admission : waiting) {
+            admission.completeExceptionally(new CancellationException("the workload start throttle has been stopped"));
+        }
+    }
+
+    /**
+     * Runs the given task once the given workload holds a slot under its type's concurrency cap.
+     *
+     * @param workload   Workload to start.
+     * @param onAcquired Task to run once a slot is held.
+     */
+    private void acquireConcurrencyCap(Workload workload, Runnable onAcquired) {
+        ConcurrencyCap cap = getConcurrencyCap(workload);
+
+        if (cap == null) {
+            onAcquired.run();
+        }
+        else {
+            cap.acquire(onAcquired);
+        }
+    }
+
+    /**
+     * Returns the concurrency cap of the given workload's type, or {@code null} if that type is not capped.
+     *
+     * @param workload Workload to get the concurrency cap for.
+     * @return The concurrency cap, or {@code null}.
+     */
+    private ConcurrencyCap getConcurrencyCap(Workload workload) {
+        String type = workload.getTypeName();
+        int cap = getConcurrencyCap(type);
+
+        if (cap <= 0) {
+            return null;
+        }
+
+        return concurrencyCaps.computeIfAbsent(type, t -> new ConcurrencyCap(cap));
+    }
+
+    /**
+     * Returns the configured concurrency cap for the given workload type, where 0 means unlimited.
+     *
+     * @param type Workload type.
+     * @return The configured concurrency cap.
+     */
+    private int getConcurrencyCap(String type) {
+        return schedulerProperties.getStartConcurrencyPerType().getOrDefault(type, schedulerProperties.getStartConcurrency());
+    }
+
+    /**
+     * Returns the throttle's timer, creating it if necessary.
+     *
+     * @return The throttle's timer, or {@code null} if the throttle has been stopped.
+     */
+    private synchronized ScheduledExecutorService getTimer() {
+        if (stopped) {
+            return null;
+        }
+
+        if (timer == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+            threadFactory.setDaemon(true);
+
+            timer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+
+        return timer;
+    }
+
+    /**
+     * Takes a token from the bucket, and returns how long the caller must wait before its token is available.
+     * When the bucket is empty the token is borrowed from the future, leaving the bucket in debt until it is due.
+     *
+     * @return Time to wait, in nanoseconds.
+     */
+    private synchronized long reserveToken() {
+        double rate = schedulerProperties.getStartRate();
+
+        if (rate <= 0) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+
+        tokens = Math.min(Math.max(1, schedulerProperties.getStartBurst()), tokens + (now - lastRefill) * rate / TimeUnit.SECONDS.toNanos(1));
+        lastRefill = now;
+        tokens -= 1;
+
+        if (tokens >= 0) {
+            return 0;
+        }
+
+        return (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Concurrency cap of a single workload type. Workloads beyond the cap wait in a queue instead of on a thread.
+     */
+    private class ConcurrencyCap {
+        /**
+         * Maximum number of workloads that may hold a slot.
+         */
+        private final int limit;
+
+        /**
+         * Admissions waiting for a slot.
+         */
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+
+        /**
+         * Number of slots currently held.
+         */
+        private int held = 0;
+
+        /**
+         * Constructor.
+         *
+         * @param limit Maximum number of workloads that may hold a slot.
+         */
+        ConcurrencyCap(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Runs the given task once a slot is held, right away if one is free.
+         *
+         * @param onAcquired Task to run once a slot is held.
+         */
+        void acquire(Runnable onAcquired) {
+            synchronized (this) {
+                if (held >= limit) {
+                    waiting.add(onAcquired);
+                    return;
+                }
+                held++;
+            }
+
+            onAcquired.run();
+        }
+
+        /**
+         * Releases a slot, handing it to the next waiting admission on the throttle's timer. Once the throttle has
+         * been stopped, waiting admissions have been cancelled and are not run.
+         */
+        void release() {
+            Runnable next;
+
+            synchronized (this) {
+                next = waiting.poll();
+
+                if (next == null) {
+                    held--;
+                }
+            }
+
+            if (next == null) {
+                return;
+            }
+
+            ScheduledExecutorService timer = getTimer();
+
+            if (timer == null) {
+                return;
+            }
+
+            try {
+                timer.execute(next);
+            }
+            catch (RejectedExecutionException ignored) {
+                // The throttle was stopped concurrently, which cancelled the waiting admission.
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes the running state transitions of the workloads managed by a {@link WorkloadContextManager}
+ * as application events. Each transition is published as a {@link WorkloadStateTransition} payload, so
+ * it may be received by an {@code @EventListener} method that accepts one.
+ */
+public class WorkloadStateEventPublisher implements WorkloadStateListener {
+    /**
+     * Application event publisher.
+     */
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Constructor.
+     *
+     * @param workloadContextManager    Workload context manager whose transitions should be published.
+     * @param applicationEventPublisher Application event publisher.
+     */
+    public WorkloadStateEventPublisher(WorkloadContextManager workloadContextManager, ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+        workloadContextManager.addStateListener(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onTransition(WorkloadStateTransition transition) {
+        applicationEventPublisher.publishEvent(transition);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+/**
+ * Receives notifications of workload running state transitions as they happen.
+ * <p>
+ * Listeners are called on the thread that caused the transition, which is often the workload's own
+ * thread, so they should return quickly.
+ */
+@FunctionalInterface
+public interface WorkloadStateListener {
+    /**
+     * Called after a workload has moved from one running state to another.
+     *
+     * @param transition The state transition.
+     */
+    void onTransition(WorkloadStateTransition transition);
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import com.budjb.spring.distributed.scheduler.RunningState;
+
+/**
+ * Describes a workload moving from one running state to another.
+ */
+public class WorkloadStateTransition {
+    /**
+     * Workload.
+     */
+    private final Workload workload;
+
+    /**
+     * Running state the workload moved from.
+     */
+    private final RunningState from;
+
+    /**
+     * Running state the workload moved to.
+     */
+    private final RunningState to;
+
+    /**
+     * Time of the transition, in milliseconds since the epoch.
+     */
+    private final long timestamp;
+
+    /**
+     * Exception that caused the transition (may be null).
+     */
+    private final Throwable exception;
+
+    /**
+     * Constructor.
+     *
+     * @param workload  Workload that changed state.
+     * @param from      Running state the workload moved from.
+     * @param to        Running state the workload moved to.
+     * @param timestamp Time of the transition, in milliseconds since the epoch.
+     * @param exception Exception that caused the transition (may be {@code null}).
+     */
+    public WorkloadStateTransition(Workload workload, RunningState from, RunningState to, long timestamp, Throwable exception) {
+        this.workload = workload;
+        this.from = from;
+        this.to = to;
+        this.timestamp = timestamp;
+        this.exception = exception;
+    }
+
+    /**
+     * Returns the workload that changed state.
+     *
+     * @return the workload that changed state.
+     */
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    /**
+     * Returns the running state the workload moved from.
+     *
+     * @return the running state the workload moved from.
+     */
+    public RunningState getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the running state the workload moved to.
+     *
+     * @return the running state the workload moved to.
+     */
+    public RunningState getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the time of the transition, in milliseconds since the epoch.
+     *
+     * @return the time of the transition.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the exception that caused the transition, if any.
+     *
+     * @return the exception that caused the transition, or {@code null}.
+     */
+    public Throwable getException() {
+        return exception;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "WorkloadStateTransition{" + workload.getUrn() + ": " + from + " -> " + to + "}";
+    }
+}
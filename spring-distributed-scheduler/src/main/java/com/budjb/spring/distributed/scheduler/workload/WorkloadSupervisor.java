@@ -0,0 +1,314 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import com.budjb.spring.distributed.scheduler.RunningState;
+import com.budjb.spring.distributed.scheduler.SchedulerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Supervises the workloads running on the local cluster member, restarting failed workloads without waiting
+ * for the next scheduling round.
+ * <p>
+ * Failed workloads are restarted with an exponential backoff. A workload that fails too many times within the
+ * crash loop window is considered crash looping; it is left in its failed state and flagged in its workload report
+ * entry so that the scheduler quarantines it instead of restarting or moving it. The quarantine lifts once its
+ * failures age out of the crash loop window.
+ * <p>
+ * The supervisor only acts, and only counts failures and restarts, while supervision is enabled. Otherwise failed
+ * workloads are restarted by the next scheduling round, and are never reported as crash looping.
+ */
+public class WorkloadSupervisor {
+    /**
+     * Logger.
+     */
+    private final Logger log = LoggerFactory.getLogger(WorkloadSupervisor.class);
+
+    /**
+     * Workload context manager.
+     */
+    private final WorkloadContextManager workloadContextManager;
+
+    /**
+     * Scheduler properties.
+     */
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Failure and restart histories, keyed by workload URN.
+     */
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+
+    /**
+     * Runs sweeps and delayed restarts.
+     */
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor.
+     *
+     * @param workloadContextManager Workload context manager.
+     * @param schedulerProperties    Scheduler properties.
+     */
+    public WorkloadSupervisor(WorkloadContextManager workloadContextManager, SchedulerProperties schedulerProperties) {
+        this.workloadContextManager = workloadContextManager;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    /**
+     * Starts periodic supervision, if it is enabled.
+     */
+    public synchronized void start() {
+        if (!schedulerProperties.isSupervisionEnabled() || scheduler != null) {
+            return;
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("workload-supervisor-");
+        threadFactory.setDaemon(true);
+
+        long interval = schedulerProperties.getSupervisionInterval().toMillis();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic supervision.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Returns the number of times the given workload has been restarted by the supervisor within the crash loop window.
+     *
+     * @param workload Workload to check.
+     * @return The number of recent restarts of the workload.
+     */
+    public int getRestartCount(Workload workload) {
+        History history = histories.get(workload.getUrn());
+
+        if (history == null) {
+            return 0;
+        }
+
+        synchronized (history) {
+            return prune(history.restarts).size();
+        }
+    }
+
+    /**
+     * Returns whether the given workload has failed often enough within the crash loop window to be considered
+     * crash looping.
+     *
+     * @param workload Workload to check.
+     * @return Whether the workload is crash looping.
+     */
+    public boolean isCrashLooping(Workload workload) {
+        History history = histories.get(workload.getUrn());
+
+        if (history == null) {
+            return false;
+        }
+
+        synchronized (history) {
+            return prune(history.failures).size() >= schedulerProperties.getCrashLoopThreshold();
+        }
+    }
+
+    /**
+     * Returns whether the given workload has failed and is waiting out its backoff before being restarted.
+     *
+     * @param workload Workload to check.
+     * @return Whether a restart of the workload is pending.
+     */
+    public boolean isRestartPending(Workload workload) {
+        History history = histories.get(workload.getUrn());
+
+        if (history == null) {
+            return false;
+        }
+
+        synchronized (history) {
+            return history.restartPending;
+        }
+    }
+
+    /**
+     * Discards the failure and restart history of the given workload. This should be called when the workload is
+     * removed from the cluster member.
+     *
+     * @param workload Workload to forget.
+     */
+    public void forget(Workload workload) {
+        histories.remove(workload.getUrn());
+    }
+
+    /**
+     * Checks all workload contexts for failures, and restarts failed workloads that are not crash looping.
+     */
+    void sweep() {
+        List<WorkloadContext> contexts;
+
+        synchronized (workloadContextManager) {
+            contexts = new ArrayList<>(workloadContextManager.getWorkloadContexts());
+        }
+
+        for (WorkloadContext context : contexts) {
+            try {
+                supervise(context);
+            }
+            catch (Exception e) {
+                log.error("Unhandled exception encountered while supervising workload " + context.getWorkload().getUrn(), e);
+            }
+        }
+    }
+
+    /**
+     * Records a failure of the given workload context and schedules its restart, if applicable.
+     *
+     * @param context Workload context to supervise.
+     */
+    void supervise(WorkloadContext context) {
+        ScheduledExecutorService scheduler = this.scheduler;
+
+        if (scheduler == null || context.getRunningState() != RunningState.ERROR) {
+            return;
+        }
+
+        Workload workload = context.getWorkload();
+        History history = histories.computeIfAbsent(workload.getUrn(), k -> new History());
+
+        long delay;
+
+        synchronized (history) {
+            if (history.restartPending || history.lastFailure == context) {
+                return;
+            }
+
+            history.lastFailure = context;
+            history.failures.add(System.currentTimeMillis());
+
+            int failures = prune(history.failures).size();
+
+            if (failures >= schedulerProperties.getCrashLoopThreshold()) {
+                log.warn("Workload " + workload.getUrn() + " has failed " + failures + " times within " + schedulerProperties.getCrashLoopWindow() + " and is crash looping; it will not be restarted");
+                return;
+            }
+
+            delay = getBackoff(failures);
+            history.restartPending = true;
+        }
+
+        log.info("Workload " + workload.getUrn() + " has failed; restarting it in " + delay + "ms");
+
+        scheduler.schedule(() -> restart(workload, history), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Restarts the given workload, provided that it is still being serviced by the cluster member.
+     *
+     * @param workload Workload to restart.
+     * @param history  Failure and restart history of the workload.
+     */
+    private void restart(Workload workload, History history) {
+        if (!workloadContextManager.isServicing(workload)) {
+            synchronized (history) {
+                history.restartPending = false;
+            }
+            return;
+        }
+
+        synchronized (history) {
+            history.restarts.add(System.currentTimeMillis());
+        }
+
+        workloadContextManager.restart(workload, WorkloadLifecycleExecutor.Operation.RESTART).whenComplete((ignored, throwable) -> {
+            synchronized (history) {
+                history.restartPending = false;
+            }
+        });
+    }
+
+    /**
+     * Returns the backoff to wait before restarting a workload with the given number of recent failures.
+     *
+     * @param failures Number of failures within the crash loop window.
+     * @return Backoff, in milliseconds.
+     */
+    private long getBackoff(int failures) {
+        double backoff = schedulerProperties.getRestartBackoffInitial().toMillis() * Math.pow(2, failures - 1);
+
+        return (long) Math.min(schedulerProperties.getRestartBackoffMax().toMillis(), backoff);
+    }
+
+    /**
+     * Removes timestamps older than the crash loop window from the given list.
+     *
+     * @param timestamps Timestamps to prune.
+     * @return The given timestamps.
+     */
+    private Deque<Long> prune(Deque<Long> timestamps) {
+        long horizon = System.currentTimeMillis() - schedulerProperties.getCrashLoopWindow().toMillis();
+
+        while (!timestamps.isEmpty() && timestamps.peekFirst() < horizon) {
+            timestamps.removeFirst();
+        }
+
+        return timestamps;
+    }
+
+    /**
+     * Failure and restart history of a single workload.
+     */
+    private static class History {
+        /**
+         * Times of recent failures.
+         */
+        private final Deque<Long> failures = new ArrayDeque<>();
+
+        /**
+         * Times of recent restarts.
+         */
+        private final Deque<Long> restarts = new ArrayDeque<>();
+
+        /**
+         * The most recent workload context found to have failed.
+         */
+        private WorkloadContext lastFailure;
+
+        /**
+         * Whether a restart is scheduled or in progress.
+         */
+        private boolean restartPending;
+    }
+}
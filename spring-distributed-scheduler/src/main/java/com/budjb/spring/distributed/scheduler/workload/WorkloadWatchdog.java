@@ -0,0 +1,225 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload;
+
+import com.budjb.spring.distributed.scheduler.RunningState;
+import com.budjb.spring.distributed.scheduler.SchedulerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically sweeps the workloads running on the local cluster member for workloads that have died or
+ * stalled without their running state reflecting it.
+ * <p>
+ * A workload is considered dead when its context reports that it is {@link WorkloadContext#isDead() dead}, for
+ * example when its thread has exited while it still reports itself as running. A workload is considered stalled
+ * when it has been started but has not reached its running state within the startup timeout. In either case the
+ * workload is forced into an error state with a reason, so that the next workload report carries the failure.
+ * The failure is passed through the same path as a failure the workload reports itself, so the
+ * {@link WorkloadSupervisor} and the registered {@link WorkloadStateListener state listeners} learn of it right away.
+ * <p>
+ * The watchdog and its startup timeout are both disabled by default.
+ * <p>
+ * The watchdog also decides whether a running workload that reports heartbeats has stalled; that is, whether
+ * it has gone longer than its workload type's stall threshold without a heartbeat. Stalled workloads are flagged
+ * in their workload report entries so that the scheduler treats them as failed.
+ */
+public class WorkloadWatchdog {
+    /**
+     * Logger.
+     */
+    private final Logger log = LoggerFactory.getLogger(WorkloadWatchdog.class);
+
+    /**
+     * Workload context manager.
+     */
+    private final WorkloadContextManager workloadContextManager;
+
+    /**
+     * Scheduler properties.
+     */
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Times at which workload contexts were first seen waiting to reach their running state.
+     */
+    private final Map<WorkloadContext, Long> startingSince = new HashMap<>();
+
+    /**
+     * Number of dead or stalled workloads detected.
+     */
+    private final AtomicLong detectedFailures = new AtomicLong();
+
+    /**
+     * Runs sweeps.
+     */
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor.
+     *
+     * @param workloadContextManager Workload context manager.
+     * @param schedulerProperties    Scheduler properties.
+     */
+    public WorkloadWatchdog(WorkloadContextManager workloadContextManager, SchedulerProperties schedulerProperties) {
+        this.workloadContextManager = workloadContextManager;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    /**
+     * Starts periodic sweeps, if the watchdog is enabled.
+     */
+    public synchronized void start() {
+        long interval = schedulerProperties.getWatchdogInterval().toMillis();
+
+        if (interval <= 0 || scheduler != null) {
+            return;
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("workload-watchdog-");
+        threadFactory.setDaemon(true);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic sweeps.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Returns the number of dead or stalled workloads the watchdog has detected.
+     *
+     * @return The number of dead or stalled workloads detected.
+     */
+    public long getDetectedFailureCount() {
+        return detectedFailures.get();
+    }
+
+    /**
+     * Returns whether the given workload context is running but has gone longer than its workload type's stall
+     * threshold without reporting a heartbeat. Workloads that have never reported a heartbeat are never stalled.
+     *
+     * @param context Workload context to check.
+     * @return Whether the workload is stalled.
+     */
+    public boolean isStalled(WorkloadContext context) {
+        long lastHeartbeat = context.getLastHeartbeat();
+
+        if (lastHeartbeat <= 0 || context.getRunningState() != RunningState.RUNNING) {
+            return false;
+        }
+
+        Duration threshold = schedulerProperties.getStallThresholdPerType().getOrDefault(context.getWorkload().getTypeName(), schedulerProperties.getStallThreshold());
+
+        if (threshold == null || threshold.isZero() || threshold.isNegative()) {
+            return false;
+        }
+
+        return System.currentTimeMillis() - lastHeartbeat > threshold.toMillis();
+    }
+
+    /**
+     * Checks all workload contexts for dead or stalled workloads, and fails them.
+     */
+    synchronized void sweep() {
+        List<WorkloadContext> contexts;
+
+        synchronized (workloadContextManager) {
+            contexts = new ArrayList<>(workloadContextManager.getWorkloadContexts());
+        }
+
+        startingSince.keySet().retainAll(contexts);
+
+        for (WorkloadContext context : contexts) {
+            try {
+                inspect(context);
+            }
+            catch (Exception e) {
+                log.error("Unhandled exception encountered while inspecting workload " + context.getWorkload().getUrn(), e);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given workload context has died or stalled, and fails it if so.
+     *
+     * @param context Workload context to inspect.
+     */
+    private void inspect(WorkloadContext context) {
+        if (context.isDead()) {
+            startingSince.remove(context);
+            fail(context, "workload thread exited without reporting a terminal state");
+            return;
+        }
+
+        RunningState state = context.getRunningState();
+
+        if ((state != RunningState.NOT_STARTED && state != RunningState.STARTING) || workloadContextManager.isPendingStart(context) || !isStartupTimeoutEnabled()) {
+            startingSince.remove(context);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long since = startingSince.computeIfAbsent(context, c -> now);
+
+        if (now - since >= schedulerProperties.getWatchdogStartupTimeout().toMillis()) {
+            startingSince.remove(context);
+            fail(context, "workload did not start within " + schedulerProperties.getWatchdogStartupTimeout());
+        }
+    }
+
+    /**
+     * Returns whether workloads that do not reach their running state in time should be failed.
+     *
+     * @return Whether the startup timeout is enabled.
+     */
+    private boolean isStartupTimeoutEnabled() {
+        Duration timeout = schedulerProperties.getWatchdogStartupTimeout();
+        return timeout != null && !timeout.isZero() && !timeout.isNegative();
+    }
+
+    /**
+     * Forces the given workload context into an error state, and notifies the supervisor and state listeners.
+     *
+     * @param context Workload context to fail.
+     * @param reason  Reason for the failure.
+     */
+    private void fail(WorkloadContext context, String reason) {
+        log.warn("Workload " + context.getWorkload().getUrn() + " is no longer running: " + reason);
+
+        workloadContextManager.fail(context, new IllegalStateException(reason));
+        detectedFailures.incrementAndGet();
+    }
+}
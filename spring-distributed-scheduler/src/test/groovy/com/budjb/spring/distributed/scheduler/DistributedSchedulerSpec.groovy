@@ -23,9 +23,11 @@ import com.budjb.spring.distributed.lock.DistributedLockProvider
 import com.budjb.spring.distributed.scheduler.instruction.ReportInstruction
 import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruction
 import com.budjb.spring.distributed.scheduler.strategy.SchedulerStrategy
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
 import com.budjb.spring.distributed.scheduler.workload.Workload
 import com.budjb.spring.distributed.scheduler.workload.WorkloadReport
 import com.budjb.spring.distributed.scheduler.workload.WorkloadRepository
+import com.budjb.spring.distributed.scheduler.workload.WorkloadRepositoryListener
 import org.junit.Ignore
 import spock.lang.Specification
 
@@ -147,4 +149,83 @@ class DistributedSchedulerSpec extends Specification {
         1 * lock.unlock()
         0 * schedulerStrategy.schedule(*_)
     }
+
+    def 'When the workload repository is partial, running workloads not attributed to a source are kept in the registered set'() {
+        setup:
+        schedulerProperties.getRebalanceInterval() >> Duration.ofSeconds(30)
+
+        DistributedLock lock = Mock(DistributedLock)
+        lock.tryLock(*_) >> true
+        distributedLockProvider.getDistributedLock((String) _) >> lock
+
+        Workload registered = new TestWorkload('a')
+        Workload running = new TestWorkload('b')
+        Workload orphaned = new TestWorkload('c')
+        workloadRepository.getWorkloads() >> ([registered] as Set)
+        workloadRepository.isPartial() >> true
+        workloadRepository.isAttributed(orphaned) >> true
+
+        ClusterMember clusterMember = Mock(ClusterMember)
+        WorkloadReport workloadReport = new WorkloadReport()
+        workloadReport.add(new WorkloadReport.Entry(running, RunningState.RUNNING))
+        workloadReport.add(new WorkloadReport.Entry(orphaned, RunningState.RUNNING))
+        Map<ClusterMember, WorkloadReport> reports = [(clusterMember): workloadReport]
+        clusterManager.submitInstruction({ it instanceof ReportInstruction }) >> reports
+
+        when:
+        distributedScheduler.schedule(true)
+
+        then:
+        1 * schedulerStrategy.schedule({ it == [registered, running] as Set }, reports) >> []
+    }
+
+    def 'Repository changes are scheduled through the strategy without updating the schedule time'() {
+        setup:
+        DistributedLock lock = Mock(DistributedLock)
+        lock.tryLock(*_) >> true
+        distributedLockProvider.getDistributedLock((String) _) >> lock
+
+        Workload added = new TestWorkload('a')
+        Workload removed = new TestWorkload('b')
+
+        ClusterMember clusterMember = Mock(ClusterMember)
+        Map<ClusterMember, WorkloadReport> reports = [(clusterMember): new WorkloadReport()]
+        clusterManager.submitInstruction({ it instanceof ReportInstruction }) >> reports
+
+        WorkloadActionsInstruction workloadActionsInstruction = Mock(WorkloadActionsInstruction)
+        Map<ClusterMember, WorkloadActionsInstruction> instructionSet = [(clusterMember): workloadActionsInstruction]
+
+        when:
+        distributedScheduler.scheduleChanges([added] as Set, [removed] as Set)
+
+        then:
+        1 * schedulerStrategy.scheduleChanges({ it == [added] as Set }, { it == [removed] as Set }, reports) >> [instructionSet]
+        1 * clusterManager.submitInstructions(instructionSet)
+        0 * clusterManager.setProperty(*_)
+        1 * lock.unlock()
+    }
+
+    def 'The scheduler listens for workload repository changes while it is initialized'() {
+        setup:
+        WorkloadRepository repository = Mock(WorkloadRepository)
+        WorkloadRepositoryListener listener = null
+
+        when:
+        DistributedScheduler scheduler = new DistributedScheduler(distributedLockProvider, clusterManager, schedulerProperties, schedulerStrategy, repository)
+
+        then:
+        0 * repository.addChangeListener(_)
+
+        when:
+        scheduler.afterPropertiesSet()
+
+        then:
+        1 * repository.addChangeListener(_) >> { listener = it[0] }
+
+        when:
+        scheduler.destroy()
+
+        then:
+        1 * repository.removeChangeListener({ it.is(listener) })
+    }
 }
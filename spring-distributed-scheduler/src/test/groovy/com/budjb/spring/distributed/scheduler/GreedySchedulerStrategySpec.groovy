@@ -21,8 +21,11 @@ import com.budjb.spring.distributed.cluster.standalone.StandaloneClusterMember
 import com.budjb.spring.distributed.scheduler.instruction.ActionType
 import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruction
 import com.budjb.spring.distributed.scheduler.strategy.GreedySchedulerStrategy
+import com.budjb.spring.distributed.scheduler.strategy.SchedulerAction
 import com.budjb.spring.distributed.scheduler.strategy.SchedulerStrategy
+import com.budjb.spring.distributed.scheduler.support.workload.Test2Workload
 import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import com.budjb.spring.distributed.scheduler.workload.Workload
 import com.budjb.spring.distributed.scheduler.workload.WorkloadReport
 import spock.lang.Specification
 
@@ -205,6 +208,61 @@ class GreedySchedulerStrategySpec extends Specification {
         round.entrySet()[0].value.actions[0].actionType == ActionType.ADD
     }
 
+    def 'Stalled workloads are restarted like failed workloads'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a')
+        TestWorkload wlb = new TestWorkload('b')
+
+        StandaloneClusterMember member = new StandaloneClusterMember('local')
+
+        WorkloadReport.Entry ea = new WorkloadReport.Entry(wla, RunningState.RUNNING)
+        ea.stalled = true
+        WorkloadReport.Entry eb = new WorkloadReport.Entry(wlb, RunningState.RUNNING)
+
+        WorkloadReport report = new WorkloadReport()
+        report.add(ea)
+        report.add(eb)
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb] as Set, [(member): report])
+
+        then:
+        rounds.size() == 1
+        rounds[0].get(member).actions.size() == 1
+        rounds[0].get(member).actions[0].workload.is(wla)
+        rounds[0].get(member).actions[0].actionType == ActionType.RESTART
+    }
+
+    def 'Crash looping workloads are quarantined rather than restarted or moved'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a')
+        TestWorkload wlb = new TestWorkload('b')
+        TestWorkload wlc = new TestWorkload('c')
+
+        ClusterMember cm1 = Mock(ClusterMember)
+        ClusterMember cm2 = Mock(ClusterMember)
+
+        WorkloadReport.Entry ea = new WorkloadReport.Entry(wla, RunningState.ERROR)
+        ea.crashLooping = true
+        WorkloadReport.Entry eb = new WorkloadReport.Entry(wlb, RunningState.ERROR)
+        eb.crashLooping = true
+        WorkloadReport.Entry ec = new WorkloadReport.Entry(wlc, RunningState.ERROR)
+        ec.crashLooping = true
+
+        WorkloadReport r1 = new WorkloadReport()
+        r1.add(ea)
+        r1.add(eb)
+        r1.add(ec)
+
+        WorkloadReport r2 = new WorkloadReport()
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb, wlc] as Set, [(cm1): r1, (cm2): r2])
+
+        then:
+        rounds.size() == 0
+    }
+
     def 'When a workload exists on multiple cluster members, balancing removes it until it only exists on one'() {
         setup:
         TestWorkload wla = new TestWorkload('a')
@@ -252,4 +310,448 @@ class GreedySchedulerStrategySpec extends Specification {
         round.entrySet()*.value*.actions*.workload == [[wlb], [wlb]]
         round.entrySet()*.value*.actions*.actionType == [[ActionType.REMOVE], [ActionType.REMOVE]]
     }
+
+    def 'Repository changes are scheduled without rebalancing the rest of the cluster'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a')
+        TestWorkload wlb = new TestWorkload('b')
+        TestWorkload wlc = new TestWorkload('c')
+        TestWorkload wld = new TestWorkload('d')
+        TestWorkload wle = new TestWorkload('e')
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.add(new WorkloadReport.Entry(wla, RunningState.RUNNING))
+        report1.add(new WorkloadReport.Entry(wlb, RunningState.RUNNING))
+        report1.add(new WorkloadReport.Entry(wlc, RunningState.RUNNING))
+
+        WorkloadReport report2 = new WorkloadReport()
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.scheduleChanges([wld, wle, wlb] as Set, [wla] as Set, [(member1): report1, (member2): report2])
+
+        and:
+        List member1Actions = rounds.findAll { it.containsKey(member1) }.collectMany { it.get(member1).actions }
+        List member2Actions = rounds.findAll { it.containsKey(member2) }.collectMany { it.get(member2).actions }
+
+        then:
+        member1Actions.size() == 1
+        member1Actions[0].workload == wla
+        member1Actions[0].actionType == ActionType.REMOVE
+        member2Actions*.workload as Set == [wld, wle] as Set
+        member2Actions.every { it.actionType == ActionType.ADD }
+    }
+
+    def 'Workloads are only placed on members with the labels they require, even when that leaves the cluster uneven'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a', ['require.zone': 'east'])
+        TestWorkload wlb = new TestWorkload('b', ['require.zone': 'east'])
+        TestWorkload wlc = new TestWorkload('c', ['require.zone': 'east'])
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.labels = [zone: 'west']
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.labels = [zone: 'east']
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb, wlc] as Set, [(member1): report1, (member2): report2])
+
+        then:
+        rounds.size() == 1
+        rounds[0].keySet() == [member2] as Set
+        rounds[0].get(member2).actions*.workload as Set == [wla, wlb, wlc] as Set
+    }
+
+    def 'Workloads are placed on members with the labels they prefer, and are not moved away from them to balance'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a', ['prefer.zone': 'east'])
+        TestWorkload wlb = new TestWorkload('b', ['prefer.zone': 'east'])
+        TestWorkload wlc = new TestWorkload('c')
+        TestWorkload wld = new TestWorkload('d')
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.labels = [zone: 'west']
+        report1.add(new WorkloadReport.Entry(wlc, RunningState.RUNNING))
+        report1.add(new WorkloadReport.Entry(wld, RunningState.RUNNING))
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.labels = [zone: 'east']
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb, wlc, wld] as Set, [(member1): report1, (member2): report2])
+
+        then:
+        rounds.size() == 1
+        rounds[0].keySet() == [member2] as Set
+        rounds[0].get(member2).actions*.workload as Set == [wla, wlb] as Set
+    }
+
+    def 'Workloads of the same anti-affinity group are spread across members'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a', ['anti-affinity': 'group'])
+        TestWorkload wlb = new TestWorkload('b', ['anti-affinity': 'group'])
+        TestWorkload wlc = new TestWorkload('c')
+        TestWorkload wld = new TestWorkload('d')
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.add(new WorkloadReport.Entry(wla, RunningState.RUNNING))
+        report1.add(new WorkloadReport.Entry(wlb, RunningState.RUNNING))
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.add(new WorkloadReport.Entry(wlc, RunningState.RUNNING))
+        report2.add(new WorkloadReport.Entry(wld, RunningState.RUNNING))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb, wlc, wld] as Set, [(member1): report1, (member2): report2])
+
+        and:
+        List member1Actions = rounds.findAll { it.containsKey(member1) }.collectMany { it.get(member1).actions }
+        List member2Actions = rounds.findAll { it.containsKey(member2) }.collectMany { it.get(member2).actions }
+
+        then:
+        member1Actions.size() == 2
+        member1Actions.find { it.actionType == ActionType.REMOVE }.workload in [wla, wlb]
+        member1Actions.find { it.actionType == ActionType.ADD }.workload in [wlc, wld]
+        member2Actions.size() == 2
+        member2Actions.find { it.actionType == ActionType.ADD }.workload in [wla, wlb]
+        member2Actions.find { it.actionType == ActionType.REMOVE }.workload in [wlc, wld]
+    }
+
+    def 'Workloads running on a member that no longer has the labels they require are moved'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a', ['require.zone': 'east'])
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.labels = [zone: 'west']
+        report1.add(new WorkloadReport.Entry(wla, RunningState.RUNNING))
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.labels = [zone: 'east']
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla] as Set, [(member1): report1, (member2): report2])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(member1).actions*.actionType == [ActionType.REMOVE]
+        rounds[1].get(member2).actions*.workload == [wla]
+        rounds[1].get(member2).actions*.actionType == [ActionType.ADD]
+    }
+
+    def 'New workloads of each type are spread evenly across members'() {
+        setup:
+        List<Workload> workloads = [new TestWorkload('a'), new TestWorkload('b'), new Test2Workload('c'), new Test2Workload('d')]
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule(workloads as Set, [(member1): new WorkloadReport(), (member2): new WorkloadReport()])
+
+        then:
+        rounds.size() == 1
+        rounds[0].get(member1).actions*.workload*.typeName.sort() == ['Test2Workload', 'TestWorkload']
+        rounds[0].get(member2).actions*.workload*.typeName.sort() == ['Test2Workload', 'TestWorkload']
+    }
+
+    def 'When members are balanced by count but not by type, workloads of different types are swapped'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a')
+        TestWorkload wlb = new TestWorkload('b')
+        Test2Workload wlc = new Test2Workload('c')
+        Test2Workload wld = new Test2Workload('d')
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.add(new WorkloadReport.Entry(wla, RunningState.RUNNING))
+        report1.add(new WorkloadReport.Entry(wlb, RunningState.RUNNING))
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.add(new WorkloadReport.Entry(wlc, RunningState.RUNNING))
+        report2.add(new WorkloadReport.Entry(wld, RunningState.RUNNING))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb, wlc, wld] as Set, [(member1): report1, (member2): report2])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(member1).actions*.workload*.typeName == ['TestWorkload']
+        rounds[0].get(member2).actions*.workload*.typeName == ['Test2Workload']
+        rounds[1].get(member1).actions*.workload*.typeName == ['Test2Workload']
+        rounds[1].get(member2).actions*.workload*.typeName == ['TestWorkload']
+    }
+
+    def 'When balancing counts, workloads of the types the busy member runs the most of are moved first'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a')
+        TestWorkload wlb = new TestWorkload('b')
+        Test2Workload wlc = new Test2Workload('c')
+        Test2Workload wld = new Test2Workload('d')
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.add(new WorkloadReport.Entry(wla, RunningState.RUNNING))
+        report1.add(new WorkloadReport.Entry(wlc, RunningState.ERROR))
+        report1.add(new WorkloadReport.Entry(wlb, RunningState.RUNNING))
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.add(new WorkloadReport.Entry(wld, RunningState.RUNNING))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb, wlc, wld] as Set, [(member1): report1, (member2): report2])
+
+        then:
+        rounds[0].get(member1).actions*.actionType == [ActionType.REMOVE]
+        rounds[0].get(member1).actions[0].workload in [wla, wlb]
+        rounds[1].get(member2).actions*.workload == rounds[0].get(member1).actions*.workload
+    }
+
+    def 'Workloads beyond the capacity of the cluster are not placed on any member'() {
+        setup:
+        List<Workload> workloads = (1..3).collect { new TestWorkload("w$it") }
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.maxWorkloads = 1
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.maxWorkloads = 1
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule(workloads as Set, [(member1): report1, (member2): report2])
+
+        then:
+        rounds.size() == 1
+        rounds[0].get(member1).actions.size() == 1
+        rounds[0].get(member2).actions.size() == 1
+    }
+
+    def 'A higher priority workload preempts a lower priority workload on a member that is at capacity'() {
+        setup:
+        TestWorkload low = new TestWorkload('low', [priority: '0'])
+        TestWorkload high = new TestWorkload('high', [priority: '10'])
+
+        StandaloneClusterMember member = new StandaloneClusterMember('member')
+
+        WorkloadReport report = new WorkloadReport()
+        report.maxWorkloads = 1
+        report.add(new WorkloadReport.Entry(low, RunningState.RUNNING))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([low, high] as Set, [(member): report])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(member).actions*.workload == [low]
+        rounds[0].get(member).actions*.actionType == [ActionType.REMOVE]
+        rounds[1].get(member).actions*.workload == [high]
+        rounds[1].get(member).actions*.actionType == [ActionType.ADD]
+    }
+
+    def 'A workload does not preempt workloads of the same priority'() {
+        setup:
+        TestWorkload running = new TestWorkload('running', [priority: '5'])
+        TestWorkload waiting = new TestWorkload('waiting', [priority: '5'])
+
+        StandaloneClusterMember member = new StandaloneClusterMember('member')
+
+        WorkloadReport report = new WorkloadReport()
+        report.maxWorkloads = 1
+        report.add(new WorkloadReport.Entry(running, RunningState.RUNNING))
+
+        expect:
+        schedulerStrategy.schedule([running, waiting] as Set, [(member): report]).isEmpty()
+    }
+
+    def 'When a member runs more workloads than its capacity, the lowest priority workloads are moved elsewhere'() {
+        setup:
+        TestWorkload low = new TestWorkload('low', [priority: '-1'])
+        TestWorkload high = new TestWorkload('high', [priority: '1'])
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.maxWorkloads = 1
+        report1.add(new WorkloadReport.Entry(high, RunningState.RUNNING))
+        report1.add(new WorkloadReport.Entry(low, RunningState.RUNNING))
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.add(new WorkloadReport.Entry(new TestWorkload('other'), RunningState.RUNNING))
+        report2.add(new WorkloadReport.Entry(new TestWorkload('another'), RunningState.RUNNING))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([low, high, new TestWorkload('other'), new TestWorkload('another')] as Set, [(member1): report1, (member2): report2])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(member1).actions*.workload == [low]
+        rounds[1].get(member2).actions*.workload == [low]
+        rounds[1].get(member2).actions*.actionType == [ActionType.ADD]
+    }
+
+    def 'Workloads that do not fit within the maximum weight of any member remain pending'() {
+        setup:
+        TestWorkload heavy = new TestWorkload('heavy', [weight: '3'])
+        TestWorkload light = new TestWorkload('light', [weight: '2'])
+
+        StandaloneClusterMember member = new StandaloneClusterMember('member')
+
+        WorkloadReport report = new WorkloadReport()
+        report.maxWeight = 2
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([heavy, light] as Set, [(member): report])
+
+        then:
+        rounds.size() == 1
+        rounds[0].get(member).actions*.workload == [light]
+        schedulerStrategy.pendingWorkloads == [heavy] as Set
+
+        when:
+        report.maxWeight = 5
+        schedulerStrategy.schedule([heavy, light] as Set, [(member): report])
+
+        then:
+        schedulerStrategy.pendingWorkloads.isEmpty()
+    }
+
+    def 'A higher priority workload preempts lower priority workloads until its weight fits, leaving them pending'() {
+        setup:
+        TestWorkload low1 = new TestWorkload('low1', [priority: '0'])
+        TestWorkload low2 = new TestWorkload('low2', [priority: '1'])
+        TestWorkload high = new TestWorkload('high', [priority: '10', weight: '2'])
+
+        StandaloneClusterMember member = new StandaloneClusterMember('member')
+
+        WorkloadReport report = new WorkloadReport()
+        report.maxWeight = 3
+        report.add(new WorkloadReport.Entry(low1, RunningState.RUNNING))
+        report.add(new WorkloadReport.Entry(low2, RunningState.RUNNING))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([low1, low2, high] as Set, [(member): report])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(member).actions*.workload == [low1]
+        rounds[1].get(member).actions*.workload == [high]
+        schedulerStrategy.pendingWorkloads == [low1] as Set
+    }
+
+    def 'A chained preemption that evicts a workload placed in the same round drops its placement instead of removing it'() {
+        setup:
+        TestWorkload high = new TestWorkload('high', [priority: '10', 'require.zone': 'east'])
+        TestWorkload middle = new TestWorkload('middle', [priority: '5'])
+        TestWorkload low = new TestWorkload('low', [priority: '0'])
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+
+        WorkloadReport report1 = new WorkloadReport()
+        report1.maxWorkloads = 1
+        report1.labels = [zone: 'east']
+        report1.add(new WorkloadReport.Entry(middle, RunningState.RUNNING))
+
+        WorkloadReport report2 = new WorkloadReport()
+        report2.maxWorkloads = 1
+        report2.labels = [zone: 'west']
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([high, middle, low] as Set, [(member1): report1, (member2): report2])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(member1).actions*.workload == [middle]
+        rounds[0].get(member1).actions*.actionType == [ActionType.REMOVE]
+        !rounds[0].containsKey(member2)
+        rounds[1].get(member1).actions*.workload == [high]
+        rounds[1].get(member2).actions*.workload == [middle]
+        rounds[1].get(member2).actions*.actionType == [ActionType.ADD]
+        schedulerStrategy.pendingWorkloads == [low] as Set
+    }
+
+    def 'A workload moved again after being placed in the same round is never both added to and removed from a member'() {
+        setup:
+        List<TestWorkload> a = (1..4).collect { new TestWorkload("a${it}") }
+        List<Test2Workload> c = (1..8).collect { new Test2Workload("c${it}") }
+
+        StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+        StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+        StandaloneClusterMember member3 = new StandaloneClusterMember('member3')
+
+        WorkloadReport report1 = new WorkloadReport()
+        c[0..3].each { report1.add(new WorkloadReport.Entry(it, RunningState.RUNNING)) }
+
+        WorkloadReport report2 = new WorkloadReport()
+
+        WorkloadReport report3 = new WorkloadReport()
+        c[4..7].each { report3.add(new WorkloadReport.Entry(it, RunningState.RUNNING)) }
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule((a + c) as Set, [(member1): report1, (member2): report2, (member3): report3])
+        Map<ClusterMember, List<SchedulerAction>> actions = [member1, member2, member3].collectEntries { member ->
+            [(member): rounds.collectMany { it.get(member)?.actions ?: [] }]
+        }
+
+        then:
+        actions.every { member, memberActions ->
+            memberActions.groupBy { it.workload }.every { workload, workloadActions -> workloadActions*.actionType.unique().size() == 1 }
+        }
+        actions.values().flatten().findAll { it.actionType == ActionType.ADD }*.workload.countBy { it }.every { it.value == 1 }
+        actions[member2].every { it.actionType == ActionType.ADD }
+        actions[member2].size() == 4
+    }
+
+    def 'Scheduling changes keeps the workloads left pending by earlier rounds'() {
+        setup:
+        TestWorkload pending = new TestWorkload('pending')
+        TestWorkload running = new TestWorkload('running')
+        TestWorkload added = new TestWorkload('added')
+
+        StandaloneClusterMember member = new StandaloneClusterMember('member')
+
+        WorkloadReport report = new WorkloadReport()
+        report.maxWorkloads = 1
+        report.add(new WorkloadReport.Entry(running, RunningState.RUNNING))
+
+        when:
+        schedulerStrategy.schedule([pending, running] as Set, [(member): report])
+
+        then:
+        schedulerStrategy.pendingWorkloads == [pending] as Set
+
+        when:
+        schedulerStrategy.scheduleChanges([added] as Set, [] as Set, [(member): report])
+
+        then:
+        schedulerStrategy.pendingWorkloads == [pending, added] as Set
+
+        when:
+        schedulerStrategy.scheduleChanges([] as Set, [pending] as Set, [(member): report])
+
+        then:
+        schedulerStrategy.pendingWorkloads == [added] as Set
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.budjb.spring.distributed.scheduler
+
+import com.budjb.spring.distributed.scheduler.strategy.LabelSelector
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import spock.lang.Specification
+
+class LabelSelectorSpec extends Specification {
+    def 'A selector is parsed from a comma separated list of requirements'() {
+        when:
+        LabelSelector selector = LabelSelector.parse(' tenant = acme, region=us-east ,')
+
+        then:
+        selector.requirements == [region: 'us-east', tenant: 'acme']
+        selector.toString() == 'region=us-east,tenant=acme'
+        selector == new LabelSelector([tenant: 'acme', region: 'us-east'])
+    }
+
+    def 'A malformed requirement is rejected'() {
+        when:
+        LabelSelector.parse('tenant')
+
+        then:
+        thrown IllegalArgumentException
+    }
+
+    def 'A selector matches workloads and labels that satisfy every requirement'() {
+        setup:
+        LabelSelector selector = LabelSelector.parse('tenant=acme,region=us-east')
+
+        expect:
+        selector.matches(new TestWorkload('a', [tenant: 'acme', region: 'us-east', weight: '2']))
+        !selector.matches(new TestWorkload('b', [tenant: 'acme', region: 'eu-west']))
+        !selector.matches(new TestWorkload('c', [tenant: 'acme']))
+        selector.matches([tenant: 'acme', region: 'us-east'])
+        !selector.matches([tenant: 'acme'])
+    }
+
+    def 'An empty selector matches everything'() {
+        expect:
+        LabelSelector.parse('').isEmpty()
+        LabelSelector.ANY.matches(new TestWorkload('a'))
+        LabelSelector.ANY.matches([:])
+    }
+}
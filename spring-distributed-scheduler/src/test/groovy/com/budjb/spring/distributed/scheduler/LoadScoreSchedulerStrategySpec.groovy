@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler
+
+import com.budjb.spring.distributed.cluster.ClusterMember
+import com.budjb.spring.distributed.scheduler.instruction.ActionType
+import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruction
+import com.budjb.spring.distributed.scheduler.strategy.LoadScoreSchedulerStrategy
+import com.budjb.spring.distributed.scheduler.strategy.SchedulerStrategy
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import com.budjb.spring.distributed.scheduler.workload.WorkloadReport
+import spock.lang.Specification
+
+class LoadScoreSchedulerStrategySpec extends Specification {
+    SchedulerStrategy schedulerStrategy
+
+    def setup() {
+        schedulerStrategy = new LoadScoreSchedulerStrategy()
+    }
+
+    WorkloadReport.Entry entry(TestWorkload workload, double loadScore) {
+        WorkloadReport.Entry entry = new WorkloadReport.Entry(workload, RunningState.RUNNING)
+        entry.loadScore = loadScore
+        return entry
+    }
+
+    def 'Workloads are moved so that load scores, rather than counts, are even across members'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a')
+        TestWorkload wlb = new TestWorkload('b')
+        TestWorkload wlc = new TestWorkload('c')
+        TestWorkload wld = new TestWorkload('d')
+
+        ClusterMember cm1 = Mock(ClusterMember)
+        ClusterMember cm2 = Mock(ClusterMember)
+
+        WorkloadReport r1 = new WorkloadReport()
+        r1.add(entry(wla, 10))
+        r1.add(entry(wlb, 10))
+        r1.add(entry(wlc, 1))
+
+        WorkloadReport r2 = new WorkloadReport()
+        r2.add(entry(wld, 1))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb, wlc, wld] as Set, [(cm1): r1, (cm2): r2])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(cm1).actions.size() == 1
+        rounds[0].get(cm1).actions[0].actionType == ActionType.REMOVE
+        rounds[1].get(cm2).actions.size() == 1
+        rounds[1].get(cm2).actions[0].actionType == ActionType.ADD
+        rounds[0].get(cm1).actions[0].workload == rounds[1].get(cm2).actions[0].workload
+        rounds[1].get(cm2).actions[0].workload in [wla, wlb]
+    }
+
+    def 'Running workloads that do not report a load score are assumed to carry the average score'() {
+        setup:
+        TestWorkload scored = new TestWorkload('scored')
+        List<TestWorkload> unscored = (1..4).collect { new TestWorkload(it.toString()) }
+
+        ClusterMember cm1 = Mock(ClusterMember)
+        ClusterMember cm2 = Mock(ClusterMember)
+
+        WorkloadReport r1 = new WorkloadReport()
+        r1.add(entry(scored, 10))
+
+        WorkloadReport r2 = new WorkloadReport()
+        unscored.each { r2.add(new WorkloadReport.Entry(it, RunningState.RUNNING)) }
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule(([scored] + unscored) as Set, [(cm1): r1, (cm2): r2])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(cm2).actions*.actionType == [ActionType.REMOVE]
+        rounds[1].get(cm1).actions*.actionType == [ActionType.ADD]
+        rounds[1].get(cm1).actions[0].workload in unscored
+    }
+
+    def 'When no workload reports a load score, workload counts are balanced'() {
+        setup:
+        List<TestWorkload> workloads = (1..4).collect { new TestWorkload(it.toString()) }
+
+        ClusterMember cm1 = Mock(ClusterMember)
+        ClusterMember cm2 = Mock(ClusterMember)
+
+        WorkloadReport r1 = new WorkloadReport()
+        workloads.each { r1.add(new WorkloadReport.Entry(it, RunningState.RUNNING)) }
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule(workloads as Set, [(cm1): r1, (cm2): new WorkloadReport()])
+
+        then:
+        rounds.size() == 2
+        rounds[0].get(cm1).actions.size() == 2
+        rounds[1].get(cm2).actions.size() == 2
+    }
+
+    def 'New workloads are assumed to carry the average load score and are placed on the least loaded member'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a')
+        TestWorkload wlb = new TestWorkload('b')
+        TestWorkload wlc = new TestWorkload('c')
+
+        ClusterMember cm1 = Mock(ClusterMember)
+        ClusterMember cm2 = Mock(ClusterMember)
+
+        WorkloadReport r1 = new WorkloadReport()
+        r1.add(entry(wla, 10))
+
+        WorkloadReport r2 = new WorkloadReport()
+        r2.add(entry(wlb, 8))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb, wlc] as Set, [(cm1): r1, (cm2): r2])
+
+        then:
+        rounds.size() == 1
+        rounds[0].size() == 1
+        rounds[0].get(cm2).actions.size() == 1
+        rounds[0].get(cm2).actions[0].workload.is(wlc)
+        rounds[0].get(cm2).actions[0].actionType == ActionType.ADD
+    }
+
+    def 'Imbalances within the tolerance are left alone'() {
+        setup:
+        TestWorkload wla = new TestWorkload('a')
+        TestWorkload wlb = new TestWorkload('b')
+
+        ClusterMember cm1 = Mock(ClusterMember)
+        ClusterMember cm2 = Mock(ClusterMember)
+
+        WorkloadReport r1 = new WorkloadReport()
+        r1.add(entry(wla, 10.5))
+
+        WorkloadReport r2 = new WorkloadReport()
+        r2.add(entry(wlb, 10))
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule([wla, wlb] as Set, [(cm1): r1, (cm2): r2])
+
+        then:
+        rounds.size() == 0
+    }
+}
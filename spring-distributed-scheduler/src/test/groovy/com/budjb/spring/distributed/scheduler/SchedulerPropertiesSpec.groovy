@@ -29,6 +29,42 @@ class SchedulerPropertiesSpec extends Specification {
         properties.rebalanceInterval.toMillis() == 180000L
         properties.rebalancePollDelay.toMillis() == 30000L
         properties.rebalancePollInterval.toMillis() == 30000L
+        properties.lifecycleCorePoolSize == 8
+        properties.lifecycleMaxPoolSize == 128
+        properties.lifecycleKeepAlive.toMillis() == 60000L
+        properties.lifecycleStartParallelism == 16
+        properties.lifecycleStopParallelism == 32
+        properties.lifecycleRestartParallelism == 16
+        properties.lifecycleShutdownParallelism == 64
+        properties.startRate == 0
+        properties.startBurst == 10
+        properties.startJitter.toMillis() == 0L
+        properties.startConcurrency == 0
+        properties.startConcurrencyPerType.isEmpty()
+        !properties.supervisionEnabled
+        properties.supervisionInterval.toMillis() == 1000L
+        properties.restartBackoffInitial.toMillis() == 1000L
+        properties.restartBackoffMax.toMillis() == 300000L
+        properties.crashLoopThreshold == 5
+        properties.crashLoopWindow.toMillis() == 600000L
+        properties.watchdogInterval.isZero()
+        properties.watchdogStartupTimeout.isZero()
+        properties.stallThreshold == Duration.ZERO
+        properties.stallThresholdPerType.isEmpty()
+        properties.resourceSampleInterval.toMillis() == 10000L
+        properties.resourceSampleWindow.toMillis() == 60000L
+        properties.workloadThreadLimit == 0
+        properties.workloadThreadLimitPerType.isEmpty()
+        properties.workloadThreadPriority == Thread.NORM_PRIORITY
+        properties.workloadThreadPriorityPerType.isEmpty()
+        properties.repositoryQueryParallelism == 4
+        properties.repositoryQueryTimeout.toMillis() == 30000L
+        properties.repositoryCacheTtl.toMillis() == 60000L
+        properties.repositoryRefreshAhead.toMillis() == 10000L
+        properties.repositoryStaleWhileError.toMillis() == 300000L
+        properties.memberLabels.isEmpty()
+        properties.memberMaxWorkloads == 0
+        properties.memberMaxWeight == 0
     }
 
     def 'Overridden properties are correct'() {
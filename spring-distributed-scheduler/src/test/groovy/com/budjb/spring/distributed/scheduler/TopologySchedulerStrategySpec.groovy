@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.budjb.spring.distributed.scheduler
+
+import com.budjb.spring.distributed.cluster.ClusterMember
+import com.budjb.spring.distributed.cluster.standalone.StandaloneClusterMember
+import com.budjb.spring.distributed.scheduler.instruction.ActionType
+import com.budjb.spring.distributed.scheduler.instruction.WorkloadActionsInstruction
+import com.budjb.spring.distributed.scheduler.strategy.SchedulerStrategy
+import com.budjb.spring.distributed.scheduler.strategy.TopologySchedulerStrategy
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import com.budjb.spring.distributed.scheduler.workload.Workload
+import com.budjb.spring.distributed.scheduler.workload.WorkloadReport
+import spock.lang.Specification
+
+class TopologySchedulerStrategySpec extends Specification {
+    SchedulerStrategy schedulerStrategy
+
+    StandaloneClusterMember member1 = new StandaloneClusterMember('member1')
+    StandaloneClusterMember member2 = new StandaloneClusterMember('member2')
+    StandaloneClusterMember member3 = new StandaloneClusterMember('member3')
+
+    def setup() {
+        schedulerStrategy = new TopologySchedulerStrategy()
+    }
+
+    WorkloadReport report(String zone, Workload... workloads) {
+        WorkloadReport report = new WorkloadReport()
+        report.labels = [zone: zone]
+        workloads.each { report.add(new WorkloadReport.Entry(it, RunningState.RUNNING)) }
+        return report
+    }
+
+    List actions(List<Map<ClusterMember, WorkloadActionsInstruction>> rounds, ClusterMember member, ActionType actionType) {
+        return rounds.findAll { it.containsKey(member) }.collectMany { it.get(member).actions }.findAll { it.actionType == actionType }*.workload
+    }
+
+    def 'New workloads are spread evenly across zones before they are spread across members'() {
+        setup:
+        List<Workload> workloads = (1..4).collect { new TestWorkload("w$it") }
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule(workloads as Set, [
+            (member1): report('a'),
+            (member2): report('a'),
+            (member3): report('b')
+        ])
+
+        then:
+        actions(rounds, member1, ActionType.ADD).size() == 1
+        actions(rounds, member2, ActionType.ADD).size() == 1
+        actions(rounds, member3, ActionType.ADD).size() == 2
+    }
+
+    def 'Workloads of each tenant are spread across zones independently'() {
+        setup:
+        List<Workload> x = (1..2).collect { new TestWorkload("x$it", [tenant: 'x']) }
+        List<Workload> y = (1..2).collect { new TestWorkload("y$it", [tenant: 'y']) }
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule((x + y) as Set, [
+            (member1): report('a', x[0], x[1]),
+            (member2): report('b', y[0], y[1])
+        ])
+
+        then:
+        actions(rounds, member1, ActionType.REMOVE).size() == 1
+        actions(rounds, member1, ActionType.REMOVE)[0] in x
+        actions(rounds, member1, ActionType.ADD).size() == 1
+        actions(rounds, member1, ActionType.ADD)[0] in y
+        actions(rounds, member2, ActionType.REMOVE).size() == 1
+        actions(rounds, member2, ActionType.REMOVE)[0] in y
+        actions(rounds, member2, ActionType.ADD).size() == 1
+        actions(rounds, member2, ActionType.ADD)[0] in x
+    }
+
+    def 'Once workloads are spread across zones, members are only balanced within their zone'() {
+        setup:
+        List<Workload> a = (1..4).collect { new TestWorkload("a$it") }
+        List<Workload> b = (1..4).collect { new TestWorkload("b$it") }
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule((a + b) as Set, [
+            (member1): report('a', *a),
+            (member2): report('a'),
+            (member3): report('b', *b)
+        ])
+
+        then:
+        actions(rounds, member1, ActionType.REMOVE).size() == 2
+        actions(rounds, member2, ActionType.ADD) as Set == actions(rounds, member1, ActionType.REMOVE) as Set
+        !rounds.any { it.containsKey(member3) }
+    }
+
+    def 'Members without a zone label share a zone'() {
+        setup:
+        List<Workload> workloads = (1..4).collect { new TestWorkload("w$it") }
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.schedule(workloads as Set, [
+            (member1): new WorkloadReport(),
+            (member2): new WorkloadReport(),
+            (member3): report('b')
+        ])
+
+        then:
+        actions(rounds, member1, ActionType.ADD).size() == 1
+        actions(rounds, member2, ActionType.ADD).size() == 1
+        actions(rounds, member3, ActionType.ADD).size() == 2
+    }
+
+    def 'Repository changes are spread across zones'() {
+        setup:
+        Workload existing = new TestWorkload('w1')
+        Workload added = new TestWorkload('w2')
+
+        when:
+        List<Map<ClusterMember, WorkloadActionsInstruction>> rounds = schedulerStrategy.scheduleChanges([added] as Set, [] as Set, [
+            (member1): report('a', existing),
+            (member2): report('a'),
+            (member3): report('b')
+        ])
+
+        then:
+        rounds.size() == 1
+        rounds[0].keySet() == [member3] as Set
+        actions(rounds, member3, ActionType.ADD) == [added]
+    }
+}
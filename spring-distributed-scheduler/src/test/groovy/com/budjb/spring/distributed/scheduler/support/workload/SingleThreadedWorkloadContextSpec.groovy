@@ -16,8 +16,11 @@
 
 package com.budjb.spring.distributed.scheduler.support.workload
 
+import com.budjb.spring.distributed.scheduler.RunningState
+import com.budjb.spring.distributed.scheduler.workload.AbstractWorkloadRunnable
 import com.budjb.spring.distributed.scheduler.workload.SingleThreadedWorkloadContext
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
 
 class SingleThreadedWorkloadContextSpec extends Specification {
     def 'Attempting to start a context that is already started results in an exception'() {
@@ -35,4 +38,27 @@ class SingleThreadedWorkloadContextSpec extends Specification {
         then:
         thrown IllegalStateException
     }
+
+    def 'An exception thrown by the runnable fails the workload with the exception as its reason'() {
+        setup:
+        SingleThreadedWorkloadContext context = new SingleThreadedWorkloadContext(
+            new AbstractWorkloadRunnable(new TestWorkload('foo')) {
+                @Override
+                void run() {
+                    setRunningState(RunningState.RUNNING)
+                    throw new IllegalStateException('boom')
+                }
+            }
+        )
+
+        when:
+        context.start()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert context.runningState == RunningState.ERROR
+        }
+        context.workloadReportEntry.error == 'boom'
+        !context.isDead()
+    }
 }
@@ -22,6 +22,10 @@ class TestWorkload extends Workload {
     TestWorkload(String id) {
         super(id)
     }
+
+    TestWorkload(String id, Map<String, String> labels) {
+        super(id, labels)
+    }
 }
 
 class Test2Workload extends TestWorkload {
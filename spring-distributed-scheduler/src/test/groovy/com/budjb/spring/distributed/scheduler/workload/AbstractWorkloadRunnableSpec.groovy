@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.RunningState
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import org.springframework.context.ApplicationEventPublisher
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class AbstractWorkloadRunnableSpec extends Specification {
+    def 'Heartbeats and progress are recorded'() {
+        setup:
+        HeartbeatRunnable runnable = new HeartbeatRunnable(new TestWorkload('a'))
+
+        expect:
+        runnable.lastHeartbeat == 0
+        runnable.progress == 0
+
+        when:
+        runnable.heartbeat()
+
+        then:
+        runnable.lastHeartbeat > 0
+        runnable.progress == 0
+
+        when:
+        runnable.progress(5)
+        runnable.progress(3)
+
+        then:
+        runnable.progress == 8
+    }
+
+    def 'A running workload is stalled once it misses heartbeats for longer than its type threshold'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.watchdogInterval = Duration.ZERO
+        schedulerProperties.stallThreshold = Duration.ofHours(1)
+        schedulerProperties.stallThresholdPerType = [(TestWorkload.simpleName): Duration.ofMillis(50)]
+
+        HeartbeatRunnable runnable = new HeartbeatRunnable(new TestWorkload('a'))
+        WorkloadContext context = new SingleThreadedWorkloadContext(runnable)
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.supports(_) >> true
+        factory.createContext(_) >> context
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+
+        when:
+        workloadContextManager.start(runnable.workload)
+        sleep(20)
+        runnable.progress(1)
+
+        then:
+        !workloadContextManager.workloadReport.entries[0].stalled
+        workloadContextManager.workloadReport.entries[0].progress == 1
+
+        when:
+        sleep(100)
+
+        then:
+        workloadContextManager.workloadReport.entries[0].stalled
+
+        when:
+        runnable.heartbeat()
+
+        then:
+        !workloadContextManager.workloadReport.entries[0].stalled
+
+        cleanup:
+        workloadContextManager.shutdown().get()
+    }
+
+    def 'Workloads that never report heartbeats are never stalled'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.watchdogInterval = Duration.ZERO
+        schedulerProperties.stallThreshold = Duration.ofMillis(1)
+
+        HeartbeatRunnable runnable = new HeartbeatRunnable(new TestWorkload('a'))
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([], schedulerProperties)
+
+        when:
+        runnable.setRunningState(RunningState.RUNNING)
+        sleep(10)
+
+        then:
+        !workloadContextManager.watchdog.isStalled(new SingleThreadedWorkloadContext(runnable))
+    }
+
+    def 'Running states only move forward and terminal states are final'() {
+        setup:
+        HeartbeatRunnable runnable = new HeartbeatRunnable(new TestWorkload('a'))
+
+        expect:
+        runnable.compareAndSetRunningState(RunningState.RUNNING)
+        !runnable.compareAndSetRunningState(RunningState.STARTING)
+        runnable.runningState == RunningState.RUNNING
+
+        when:
+        runnable.fail(new IllegalStateException('boom'))
+        runnable.terminate()
+
+        then:
+        runnable.runningState == RunningState.ERROR
+        runnable.exception.message == 'boom'
+        !runnable.compareAndSetRunningState(RunningState.RUNNING)
+    }
+
+    def 'An explicit failure forces the error state, even on a stopped workload'() {
+        setup:
+        HeartbeatRunnable runnable = new HeartbeatRunnable(new TestWorkload('a'))
+        List<WorkloadStateTransition> transitions = []
+        runnable.addStateListener({ transitions << it } as WorkloadStateListener)
+
+        when:
+        runnable.setRunningState(RunningState.RUNNING)
+        runnable.terminate()
+        runnable.setRunningState(RunningState.ERROR)
+
+        then:
+        runnable.runningState == RunningState.STOPPED
+
+        when:
+        runnable.fail()
+
+        then:
+        runnable.runningState == RunningState.ERROR
+        transitions*.to == [RunningState.RUNNING, RunningState.STOPPED, RunningState.ERROR]
+        transitions[2].from == RunningState.STOPPED
+
+        when:
+        runnable.fail()
+
+        then:
+        transitions.size() == 3
+    }
+
+    def 'Transitions are timestamped and reported to listeners'() {
+        setup:
+        HeartbeatRunnable runnable = new HeartbeatRunnable(new TestWorkload('a'))
+        List<WorkloadStateTransition> transitions = []
+        runnable.addStateListener({ transitions << it } as WorkloadStateListener)
+        runnable.addStateListener({ throw new RuntimeException('listener failure') } as WorkloadStateListener)
+
+        when:
+        runnable.setRunningState(RunningState.RUNNING)
+        runnable.setRunningState(RunningState.RUNNING)
+        runnable.fail(new IllegalStateException('boom'))
+
+        then:
+        transitions.size() == 2
+        transitions[0].from == RunningState.NOT_STARTED
+        transitions[0].to == RunningState.RUNNING
+        transitions[1].from == RunningState.RUNNING
+        transitions[1].to == RunningState.ERROR
+        transitions[1].exception.message == 'boom'
+        runnable.getStateTimestamp(RunningState.RUNNING) == transitions[0].timestamp
+        runnable.getStateTimestamp(RunningState.ERROR) == transitions[1].timestamp
+        runnable.getStateTimestamp(RunningState.STOPPED) == 0
+    }
+
+    def 'The context manager passes transitions on to its listeners and publishes them as events'() {
+        setup:
+        ApplicationEventPublisher applicationEventPublisher = Mock(ApplicationEventPublisher)
+        HeartbeatRunnable runnable = new HeartbeatRunnable(new TestWorkload('a'))
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.supports(_) >> true
+        factory.createContext(_) >> new SingleThreadedWorkloadContext(runnable)
+
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.watchdogInterval = Duration.ZERO
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+        new WorkloadStateEventPublisher(workloadContextManager, applicationEventPublisher)
+
+        CountDownLatch running = new CountDownLatch(1)
+        runnable.addStateListener({ if (it.to == RunningState.RUNNING) running.countDown() } as WorkloadStateListener)
+
+        when:
+        workloadContextManager.start(runnable.workload)
+        running.await(5, TimeUnit.SECONDS)
+        workloadContextManager.shutdown().get()
+
+        then:
+        1 * applicationEventPublisher.publishEvent({ it.to == RunningState.RUNNING })
+        1 * applicationEventPublisher.publishEvent({ it.to == RunningState.STOPPED })
+    }
+
+    static class HeartbeatRunnable extends AbstractWorkloadRunnable {
+        HeartbeatRunnable(Workload workload) {
+            super(workload)
+        }
+
+        @Override
+        void run() {
+            setRunningState(RunningState.RUNNING)
+
+            while (!Thread.interrupted()) {
+                try {
+                    Thread.sleep(10)
+                }
+                catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt()
+                }
+            }
+
+            setRunningState(RunningState.STOPPED)
+        }
+    }
+}
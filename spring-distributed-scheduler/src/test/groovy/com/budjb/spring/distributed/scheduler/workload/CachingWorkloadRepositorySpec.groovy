@@ -0,0 +1,258 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class CachingWorkloadRepositorySpec extends Specification {
+    SchedulerProperties schedulerProperties
+    Set<Workload> workloads
+    boolean failing
+    int queries
+
+    WorkloadRepositorySource source = new WorkloadRepositorySource() {
+        @Override
+        Set<Workload> queryWorkloads() {
+            queries++
+            if (failing) {
+                throw new IllegalStateException('source is down')
+            }
+            return new HashSet<>(workloads)
+        }
+    }
+
+    def setup() {
+        schedulerProperties = new SchedulerProperties()
+        workloads = [new TestWorkload('a')] as Set
+    }
+
+    def 'Workloads are served from the cache until the TTL expires'() {
+        setup:
+        CachingWorkloadRepository repository = new CachingWorkloadRepository([source], schedulerProperties)
+
+        when:
+        Set<Workload> first = repository.getWorkloads()
+        workloads.add(new TestWorkload('b'))
+        Set<Workload> second = repository.getWorkloads()
+
+        then:
+        first.size() == 1
+        second.is(first)
+        queries == 1
+        repository.hitCount == 1
+        repository.missCount == 1
+        repository.refreshCount == 1
+
+        when:
+        schedulerProperties.repositoryCacheTtl = Duration.ZERO
+        Set<Workload> third = repository.getWorkloads()
+
+        then:
+        third.size() == 2
+        queries == 2
+        repository.missCount == 2
+    }
+
+    def 'The current snapshot is served while a refresh runs in the background'() {
+        setup:
+        schedulerProperties.repositoryCacheTtl = Duration.ofMinutes(1)
+        schedulerProperties.repositoryRefreshAhead = Duration.ofMinutes(1)
+        CachingWorkloadRepository repository = new CachingWorkloadRepository([source], schedulerProperties)
+
+        when:
+        repository.getWorkloads()
+        workloads.add(new TestWorkload('b'))
+        Set<Workload> served = repository.getWorkloads()
+        sleep(100)
+
+        then:
+        served.size() == 1
+        repository.hitCount == 1
+        repository.refreshCount == 2
+
+        when:
+        schedulerProperties.repositoryRefreshAhead = Duration.ZERO
+
+        then:
+        repository.getWorkloads().size() == 2
+        repository.refreshCount == 2
+    }
+
+    def 'Failed sources fall back to their last known good workloads'() {
+        setup:
+        CachingWorkloadRepository repository = new CachingWorkloadRepository([source], schedulerProperties)
+
+        when:
+        repository.getWorkloads()
+        failing = true
+        schedulerProperties.repositoryCacheTtl = Duration.ZERO
+
+        then:
+        repository.getWorkloads() == [new TestWorkload('a')] as Set
+        !repository.partial
+        repository.refreshFailureCount == 1
+    }
+
+    def 'A stale snapshot is served while a source with no known workloads fails within the stale-while-error window'() {
+        setup:
+        Set<Workload> other = [new TestWorkload('b')] as Set
+        WorkloadRepositorySource otherSource = Mock(WorkloadRepositorySource)
+        otherSource.queryWorkloads() >> { new HashSet<>(other) }
+        failing = true
+        CachingWorkloadRepository repository = new CachingWorkloadRepository([source, otherSource], schedulerProperties)
+
+        when:
+        Set<Workload> first = repository.getWorkloads()
+
+        then:
+        first == [new TestWorkload('b')] as Set
+        repository.partial
+        repository.refreshFailureCount == 1
+
+        when:
+        schedulerProperties.repositoryCacheTtl = Duration.ZERO
+        other.add(new TestWorkload('c'))
+        Set<Workload> stale = repository.getWorkloads()
+        sleep(100)
+
+        then:
+        stale.is(first)
+        repository.staleHitCount == 1
+        repository.refreshFailureCount == 2
+
+        when:
+        schedulerProperties.repositoryStaleWhileError = Duration.ZERO
+
+        then:
+        repository.getWorkloads().size() == 2
+        repository.partial
+        repository.refreshFailureCount == 3
+
+        when:
+        failing = false
+
+        then:
+        repository.getWorkloads().size() == 3
+        !repository.partial
+    }
+
+    def 'Workloads are looked up by URN from the cached snapshot'() {
+        setup:
+        Workload a = new TestWorkload('a')
+        workloads = [a, new TestWorkload('b')] as Set
+        CachingWorkloadRepository repository = new CachingWorkloadRepository([source], schedulerProperties)
+
+        expect:
+        repository.lookup(a.urn).is(a)
+        repository.lookup('urn:workload:TestWorkload:c') == null
+        queries == 1
+    }
+
+    def 'A source that signals a change is refreshed on its own and listeners are notified of its changes'() {
+        setup:
+        Runnable notifier = null
+        Set<Workload> signalled = [new TestWorkload('x')] as Set
+        int signalledQueries = 0
+        WorkloadRepositorySource signalling = new WorkloadRepositorySource() {
+            @Override
+            Set<Workload> queryWorkloads() {
+                signalledQueries++
+                return new HashSet<>(signalled)
+            }
+
+            @Override
+            void setChangeNotifier(Runnable changeNotifier) {
+                notifier = changeNotifier
+            }
+        }
+        List<List<Set<Workload>>> changes = []
+        CachingWorkloadRepository repository = new CachingWorkloadRepository([source, signalling], schedulerProperties)
+        repository.addChangeListener({ added, removed -> changes << [added, removed] } as WorkloadRepositoryListener)
+
+        when:
+        repository.getWorkloads()
+        signalled = [new TestWorkload('y')] as Set
+        notifier.run()
+        sleep(100)
+
+        then:
+        repository.getWorkloads() == [new TestWorkload('a'), new TestWorkload('y')] as Set
+        repository.lookup(new TestWorkload('y').urn) != null
+        queries == 1
+        signalledQueries == 2
+        changes == [[[new TestWorkload('y')] as Set, [new TestWorkload('x')] as Set]]
+    }
+
+    def 'Signals from a source whose refresh has not yet started are coalesced'() {
+        setup:
+        Runnable notifier = null
+        CountDownLatch started = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+        AtomicInteger signalledQueries = new AtomicInteger()
+        WorkloadRepositorySource signalling = new WorkloadRepositorySource() {
+            @Override
+            Set<Workload> queryWorkloads() {
+                if (signalledQueries.incrementAndGet() == 2) {
+                    started.countDown()
+                    release.await(5, TimeUnit.SECONDS)
+                }
+                return [new TestWorkload('x')] as Set
+            }
+
+            @Override
+            void setChangeNotifier(Runnable changeNotifier) {
+                notifier = changeNotifier
+            }
+        }
+        CachingWorkloadRepository repository = new CachingWorkloadRepository([signalling], schedulerProperties)
+
+        when:
+        repository.getWorkloads()
+        notifier.run()
+        started.await(5, TimeUnit.SECONDS)
+        10.times { notifier.run() }
+        release.countDown()
+        sleep(100)
+
+        then:
+        signalledQueries.get() == 3
+    }
+
+    def 'Changes found by background refreshes are passed to listeners'() {
+        setup:
+        schedulerProperties.repositoryRefreshAhead = schedulerProperties.repositoryCacheTtl
+        List<List<Set<Workload>>> changes = []
+        CachingWorkloadRepository repository = new CachingWorkloadRepository([source], schedulerProperties)
+        repository.addChangeListener({ added, removed -> changes << [added, removed] } as WorkloadRepositoryListener)
+
+        when:
+        repository.getWorkloads()
+        workloads = [new TestWorkload('b')] as Set
+        repository.getWorkloads()
+        sleep(100)
+
+        then:
+        changes == [[[new TestWorkload('b')] as Set, [new TestWorkload('a')] as Set]]
+    }
+}
@@ -23,6 +23,8 @@ import spock.lang.Specification
 
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+import java.util.function.Supplier
 
 class SchedulerActionsInstructionSpec extends Specification {
     def 'When a WorkloadActionsInstruction is built with actions, it contains those actions'() {
@@ -60,10 +62,22 @@ class SchedulerActionsInstructionSpec extends Specification {
         instruction.call()
 
         then:
-        1 * workloadContextManager.start(_)
-        1 * workloadContextManager.remove(_) >> future
+        1 * workloadContextManager.startAll({ it*.is(b.workload) == [true] }) >> future
+        1 * workloadContextManager.removeAll({ it*.is(d.workload) == [true] }) >> future
         1 * workloadContextManager.stop(_) >> future
         1 * workloadContextManager.restart(_) >> future
         1 * workloadContextManager.fail(_)
     }
+
+    def 'An instruction does not wait for added workloads to be admitted by the start throttle'() {
+        setup:
+        WorkloadContextManager workloadContextManager = Mock(WorkloadContextManager)
+        workloadContextManager.startAll(_) >> new CompletableFuture<>()
+
+        WorkloadActionsInstruction instruction = new WorkloadActionsInstruction([new SchedulerAction(Mock(Workload), ActionType.ADD)])
+        instruction.workloadContextManager = workloadContextManager
+
+        expect:
+        CompletableFuture.supplyAsync({ instruction.call() } as Supplier<Boolean>).get(5, TimeUnit.SECONDS)
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkloadRepositorySource
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.stream.Stream
+
+class SimpleWorkloadRepositorySpec extends Specification {
+    SchedulerProperties schedulerProperties = new SchedulerProperties()
+
+    WorkloadRepositorySource slowSource(long delay, String id) {
+        return new WorkloadRepositorySource() {
+            @Override
+            Set<Workload> queryWorkloads() {
+                sleep(delay)
+                return [new TestWorkload(id)] as Set
+            }
+        }
+    }
+
+    def 'Sources are queried concurrently and their workloads are merged'() {
+        setup:
+        SimpleWorkloadRepository repository = new SimpleWorkloadRepository([slowSource(300, 'a'), slowSource(300, 'b')], schedulerProperties)
+
+        when:
+        long start = System.currentTimeMillis()
+        Set<Workload> workloads = repository.getWorkloads()
+        long elapsed = System.currentTimeMillis() - start
+
+        then:
+        workloads == [new TestWorkload('a'), new TestWorkload('b')] as Set
+        elapsed < 550
+        repository.sourceStatistics*.queryCount == [1, 1]
+        repository.sourceStatistics.every { it.getQueryTime(TimeUnit.MILLISECONDS) >= 300 }
+    }
+
+    def 'A source that does not return within the timeout is treated as failed'() {
+        setup:
+        schedulerProperties.repositoryQueryTimeout = Duration.ofMillis(100)
+        TestWorkloadRepositorySource fast = new TestWorkloadRepositorySource([new TestWorkload('a')] as Set)
+        WorkloadRepositorySource slow = slowSource(2000, 'b')
+        SimpleWorkloadRepository repository = new SimpleWorkloadRepository([fast, slow], schedulerProperties)
+
+        when:
+        long start = System.currentTimeMillis()
+        SimpleWorkloadRepository.QueryResult result = repository.query()
+        long elapsed = System.currentTimeMillis() - start
+
+        then:
+        result.workloads == [new TestWorkload('a')] as Set
+        result.failedSources == [slow]
+        !result.complete
+        elapsed < 1000
+        repository.sourceStatistics.find { it.timeoutCount == 1 } != null
+    }
+
+    def 'A source that throws is treated as failed and counted per source'() {
+        setup:
+        WorkloadRepositorySource failing = Mock(WorkloadRepositorySource)
+        failing.queryWorkloads() >> { throw new IllegalStateException('source is down') }
+        TestWorkloadRepositorySource first = new TestWorkloadRepositorySource([new TestWorkload('a')] as Set)
+        TestWorkloadRepositorySource second = new TestWorkloadRepositorySource([new TestWorkload('b')] as Set)
+        SimpleWorkloadRepository repository = new SimpleWorkloadRepository([first, second, failing], schedulerProperties)
+
+        when:
+        SimpleWorkloadRepository.QueryResult result = repository.query()
+
+        then:
+        result.workloads.size() == 2
+        result.failedSources == [failing]
+        repository.sourceStatistics*.name.containsAll(['TestWorkloadRepositorySource-1', 'TestWorkloadRepositorySource-2'])
+        repository.sourceStatistics*.failureCount.sum() == 1
+    }
+
+    def 'A failed source contributes its last known good workloads, or makes the result partial if it has none'() {
+        setup:
+        boolean failing = false
+        WorkloadRepositorySource flaky = Mock(WorkloadRepositorySource)
+        flaky.queryWorkloads() >> {
+            if (failing) {
+                throw new IllegalStateException('source is down')
+            }
+            return [new TestWorkload('a')] as Set
+        }
+        WorkloadRepositorySource down = Mock(WorkloadRepositorySource)
+        down.queryWorkloads() >> { throw new IllegalStateException('source is down') }
+
+        when:
+        SimpleWorkloadRepository repository = new SimpleWorkloadRepository([flaky], schedulerProperties)
+        repository.getWorkloads()
+        failing = true
+
+        then:
+        repository.getWorkloads() == [new TestWorkload('a')] as Set
+        !repository.partial
+
+        when:
+        repository = new SimpleWorkloadRepository([flaky, down], schedulerProperties)
+        Set<Workload> workloads = repository.getWorkloads()
+
+        then:
+        workloads.isEmpty()
+        repository.partial
+    }
+
+    def 'Workloads returned by a source stay attributed while another source is unknown'() {
+        setup:
+        Set<Workload> known = [new TestWorkload('a'), new TestWorkload('b')] as Set
+        WorkloadRepositorySource source = Mock(WorkloadRepositorySource)
+        source.queryWorkloads() >> { new HashSet<>(known) }
+        boolean down = true
+        WorkloadRepositorySource other = Mock(WorkloadRepositorySource)
+        other.queryWorkloads() >> {
+            if (down) {
+                throw new IllegalStateException('source is down')
+            }
+            return [] as Set
+        }
+        SimpleWorkloadRepository repository = new SimpleWorkloadRepository([source, other], schedulerProperties)
+
+        when:
+        repository.getWorkloads()
+        known = [new TestWorkload('a')] as Set
+        repository.getWorkloads()
+
+        then:
+        repository.partial
+        repository.isAttributed(new TestWorkload('a'))
+        repository.isAttributed(new TestWorkload('b'))
+        !repository.isAttributed(new TestWorkload('c'))
+
+        when:
+        down = false
+        repository.getWorkloads()
+
+        then:
+        !repository.partial
+        repository.isAttributed(new TestWorkload('a'))
+        !repository.isAttributed(new TestWorkload('b'))
+    }
+
+    def 'A source that reuses and modifies the set it returns does not change the last known good workloads'() {
+        setup:
+        boolean failing = false
+        Set<Workload> returned = [new TestWorkload('a')] as Set
+        WorkloadRepositorySource source = Mock(WorkloadRepositorySource)
+        source.queryWorkloads() >> {
+            if (failing) {
+                throw new IllegalStateException('source is down')
+            }
+            return returned
+        }
+        SimpleWorkloadRepository repository = new SimpleWorkloadRepository([source], schedulerProperties)
+
+        when:
+        SimpleWorkloadRepository.QueryResult first = repository.query()
+        returned.add(new TestWorkload('b'))
+        failing = true
+        SimpleWorkloadRepository.QueryResult second = repository.query()
+
+        then:
+        first.added == [new TestWorkload('a')] as Set
+        second.workloads == [new TestWorkload('a')] as Set
+    }
+
+    def 'Changes from an incremental source are applied to its last known workloads'() {
+        setup:
+        Workload a = new TestWorkload('a')
+        Workload b = new TestWorkload('b')
+        Workload c = new TestWorkload('c')
+        IncrementalWorkloadRepositorySource source = Mock(IncrementalWorkloadRepositorySource)
+        SimpleWorkloadRepository repository = new SimpleWorkloadRepository([source], schedulerProperties)
+
+        when:
+        SimpleWorkloadRepository.QueryResult result = repository.query()
+
+        then:
+        1 * source.queryChanges(null) >> WorkloadChanges.full([a, b] as Set, '1')
+        result.workloads == [a, b] as Set
+        result.added == [a, b] as Set
+        result.removed.isEmpty()
+
+        when:
+        result = repository.query()
+
+        then:
+        1 * source.queryChanges('1') >> WorkloadChanges.delta([c] as Set, [a] as Set, '2')
+        result.workloads == [b, c] as Set
+        result.added == [c] as Set
+        result.removed == [a] as Set
+
+        when:
+        result = repository.query()
+
+        then:
+        1 * source.queryChanges('2') >> WorkloadChanges.full([a] as Set, '3')
+        result.workloads == [a] as Set
+        result.added == [a] as Set
+        result.removed == [b, c] as Set
+    }
+
+    def 'Streaming sources are consumed into the repository and their streams are closed'() {
+        setup:
+        boolean closed = false
+        StreamingWorkloadRepositorySource source = Mock(StreamingWorkloadRepositorySource)
+        source.streamWorkloads() >> { Stream.of(new TestWorkload('a'), new TestWorkload('b')).onClose { closed = true } }
+        SimpleWorkloadRepository repository = new SimpleWorkloadRepository([source], schedulerProperties)
+
+        when:
+        SimpleWorkloadRepository.QueryResult result = repository.query()
+
+        then:
+        result.workloads == [new TestWorkload('a'), new TestWorkload('b')] as Set
+        result.added == result.workloads
+        closed
+    }
+}
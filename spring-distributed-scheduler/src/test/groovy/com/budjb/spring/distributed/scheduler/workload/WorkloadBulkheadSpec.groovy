@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.RunningState
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.Test2Workload
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkloadContextFactory
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+
+class WorkloadBulkheadSpec extends Specification {
+    WorkloadContextManager workloadContextManager
+
+    def setup() {
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.watchdogInterval = Duration.ZERO
+        schedulerProperties.actionPollInterval = Duration.ofMillis(10)
+        schedulerProperties.workloadThreadLimitPerType = [(TestWorkload.simpleName): 1]
+        schedulerProperties.workloadThreadPriorityPerType = [(TestWorkload.simpleName): Thread.MIN_PRIORITY]
+
+        workloadContextManager = new WorkloadContextManager([new TestWorkloadContextFactory()], schedulerProperties)
+    }
+
+    def cleanup() {
+        workloadContextManager.shutdown().get()
+    }
+
+    def 'A workload type can not start more threads than its bulkhead allows'() {
+        setup:
+        Workload wla = new TestWorkload('a')
+        Workload wlb = new TestWorkload('b')
+        Workload wlc = new Test2Workload('c')
+
+        when:
+        workloadContextManager.startAll([wla, wlb, wlc]).get()
+        sleep(100)
+
+        Map<String, WorkloadReport.Entry> entries = workloadContextManager.workloadReport.entries.collectEntries { [(it.workload.urn): it] }
+
+        then:
+        entries.values().count { it.workload instanceof TestWorkload && !(it.workload instanceof Test2Workload) && it.state == RunningState.RUNNING } == 1
+        entries.values().count { it.state == RunningState.STARTING && it.restartCount == 0 && !it.crashLooping } == 1
+        entries.values().every { it.state != RunningState.ERROR }
+        entries[wlc.urn].state == RunningState.RUNNING
+
+        workloadContextManager.getBulkhead(TestWorkload.simpleName).activeThreads == 1
+        workloadContextManager.getBulkhead(TestWorkload.simpleName).pendingStarts == 1
+        workloadContextManager.getBulkhead(TestWorkload.simpleName).queuedCount == 1
+        workloadContextManager.getBulkhead(Test2Workload.simpleName).maxThreads == 0
+    }
+
+    def 'A workload waiting for room in its bulkhead starts once another thread of the bulkhead exits'() {
+        setup:
+        Workload wla = new TestWorkload('a')
+        Workload wlb = new TestWorkload('b')
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:
+        workloadContextManager.start(wla)
+        conditions.eventually {
+            assert workloadContextManager.workloadReport.entries.find { it.workload == wla }.state == RunningState.RUNNING
+        }
+        workloadContextManager.start(wlb)
+        sleep(50)
+
+        then:
+        workloadContextManager.workloadReport.entries.find { it.workload == wlb }.state == RunningState.STARTING
+
+        when:
+        workloadContextManager.remove(wla).get()
+
+        then:
+        conditions.eventually {
+            assert workloadContextManager.workloadReport.entries.find { it.workload == wlb }.state == RunningState.RUNNING
+        }
+        workloadContextManager.getBulkhead(TestWorkload.simpleName).pendingStarts == 0
+    }
+
+    def 'A workload removed while waiting for room in its bulkhead gives up its place'() {
+        setup:
+        Workload wla = new TestWorkload('a')
+        Workload wlb = new TestWorkload('b')
+        Workload wlc = new TestWorkload('c')
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:
+        workloadContextManager.start(wla)
+        conditions.eventually {
+            assert workloadContextManager.workloadReport.entries.find { it.workload == wla }.state == RunningState.RUNNING
+        }
+        workloadContextManager.start(wlb)
+        workloadContextManager.start(wlc)
+        sleep(50)
+        workloadContextManager.remove(wlb).get()
+
+        then:
+        workloadContextManager.getBulkhead(TestWorkload.simpleName).pendingStarts == 1
+
+        when:
+        workloadContextManager.remove(wla).get()
+
+        then:
+        conditions.eventually {
+            assert workloadContextManager.workloadReport.entries.find { it.workload == wlc }.state == RunningState.RUNNING
+        }
+        workloadContextManager.workloadReport.entries*.workload == [wlc]
+    }
+
+    def 'Threads are created with the priority of their bulkhead and release their slot when they exit'() {
+        setup:
+        Workload wla = new TestWorkload('a')
+        Workload wlb = new TestWorkload('b')
+
+        when:
+        workloadContextManager.start(wla)
+        sleep(50)
+        Thread thread = Thread.getAllStackTraces().keySet().find { it.name == 'runnable-' + wla.urn }
+
+        then:
+        thread.priority == Thread.MIN_PRIORITY
+        thread.threadGroup.name == 'workload-' + TestWorkload.simpleName
+
+        when:
+        workloadContextManager.remove(wla).get()
+        workloadContextManager.start(wlb)
+        sleep(50)
+
+        then:
+        workloadContextManager.workloadReport.entries[0].state == RunningState.RUNNING
+    }
+}
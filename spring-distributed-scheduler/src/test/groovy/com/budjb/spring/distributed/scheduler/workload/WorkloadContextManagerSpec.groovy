@@ -17,8 +17,13 @@
 package com.budjb.spring.distributed.scheduler.workload
 
 import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.Test2Workload
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
 import spock.lang.Specification
 
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
 class WorkloadContextManagerSpec extends Specification {
     def 'When a WorkloadContextManager is built with a set of WorkloadContextFactories, the registry contains them'() {
         setup:
@@ -33,4 +38,126 @@ class WorkloadContextManagerSpec extends Specification {
         then:
         workloadContextManager.workloadContextFactories.sort() == [a, b].sort()
     }
+
+    def 'Supporting workload context factories are resolved once per workload class and type'() {
+        setup:
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.isSupportCacheable() >> true
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], new SchedulerProperties())
+
+        when:
+        workloadContextManager.start(new TestWorkload('a'))
+        workloadContextManager.start(new TestWorkload('b'))
+        workloadContextManager.start(new Test2Workload('c'))
+
+        then:
+        1 * factory.supports({ it.urn == 'urn:workload:TestWorkload:a' }) >> true
+        1 * factory.supports({ it.urn == 'urn:workload:Test2Workload:c' }) >> false
+        0 * factory.supports(_)
+        2 * factory.createContext(_) >> { Workload w -> Mock(WorkloadContext) { getWorkload() >> w } }
+    }
+
+    def 'Workload context factories that opt out of caching are consulted for every workload'() {
+        setup:
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.isSupportCacheable() >> false
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], new SchedulerProperties())
+
+        when:
+        workloadContextManager.start(new TestWorkload('a'))
+        workloadContextManager.start(new TestWorkload('b'))
+
+        then:
+        1 * factory.supports({ it.urn == 'urn:workload:TestWorkload:a' }) >> true
+        1 * factory.supports({ it.urn == 'urn:workload:TestWorkload:b' }) >> false
+        1 * factory.createContext(_) >> { Workload w -> Mock(WorkloadContext) { getWorkload() >> w } }
+    }
+
+    def 'When workloads are started in bulk, each factory creates the contexts for its batch at once'() {
+        setup:
+        WorkloadContextFactory a = Mock(WorkloadContextFactory)
+        a.isSupportCacheable() >> true
+        a.supports(_) >> { Workload w -> w instanceof Test2Workload }
+
+        WorkloadContextFactory b = Mock(WorkloadContextFactory)
+        b.isSupportCacheable() >> true
+        b.supports(_) >> { Workload w -> !(w instanceof Test2Workload) }
+
+        Workload w1 = new TestWorkload('1')
+        Workload w2 = new TestWorkload('2')
+        Workload w3 = new Test2Workload('3')
+
+        WorkloadContext c1 = Mock(WorkloadContext) { getWorkload() >> w1 }
+        WorkloadContext c2 = Mock(WorkloadContext) { getWorkload() >> w2 }
+        WorkloadContext c3 = Mock(WorkloadContext) { getWorkload() >> w3 }
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([a, b], new SchedulerProperties())
+
+        when:
+        workloadContextManager.startAll([w1, w2, w3]).get()
+
+        then:
+        1 * a.createContexts([w3]) >> [c3]
+        1 * b.createContexts([w1, w2]) >> [c1, c2]
+        0 * a.createContext(_)
+        0 * b.createContext(_)
+        1 * c1.start()
+        1 * c2.start()
+        1 * c3.start()
+        workloadContextManager.workloadContexts.size() == 3
+    }
+
+    def 'When workloads are removed in bulk, only their contexts are stopped and removed'() {
+        setup:
+        Workload w1 = new TestWorkload('1')
+        Workload w2 = new TestWorkload('2')
+
+        WorkloadContext c1 = Mock(WorkloadContext)
+        c1.getWorkload() >> w1
+        WorkloadContext c2 = Mock(WorkloadContext)
+        c2.getWorkload() >> w2
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([], new SchedulerProperties())
+        workloadContextManager.workloadContexts.addAll([c1, c2])
+
+        when:
+        workloadContextManager.removeAll([w1]).get()
+
+        then:
+        1 * c1.stop()
+        1 * c1.isStopped() >> true
+        0 * c2.stop()
+        workloadContextManager.workloadContexts as List == [c2]
+    }
+
+    def 'A workload context that does not stop within the action poll timeout is abandoned and failed'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.actionPollTimeout = Duration.ofMillis(100)
+        schedulerProperties.actionPollInterval = Duration.ofMillis(10)
+        schedulerProperties.lifecycleStopParallelism = 1
+
+        Workload w1 = new TestWorkload('1')
+        Workload w2 = new TestWorkload('2')
+
+        WorkloadContext wedged = Mock(WorkloadContext)
+        wedged.getWorkload() >> w1
+        wedged.isStopped() >> false
+        WorkloadContext c2 = Mock(WorkloadContext)
+        c2.getWorkload() >> w2
+        c2.isStopped() >> true
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([], schedulerProperties)
+        workloadContextManager.workloadContexts.addAll([wedged, c2])
+
+        when:
+        workloadContextManager.remove(w1).get(5, TimeUnit.SECONDS)
+        workloadContextManager.remove(w2).get(5, TimeUnit.SECONDS)
+
+        then:
+        1 * wedged.fail({ it.message.startsWith('workload did not stop within') })
+        workloadContextManager.workloadContexts.isEmpty()
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class WorkloadLifecycleExecutorSpec extends Specification {
+    def 'Tasks beyond an operation\'s parallelism limit wait in its backlog'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.lifecycleStopParallelism = 2
+
+        WorkloadLifecycleExecutor executor = new WorkloadLifecycleExecutor(schedulerProperties)
+
+        CountDownLatch latch = new CountDownLatch(1)
+        AtomicInteger running = new AtomicInteger()
+        AtomicInteger peak = new AtomicInteger()
+
+        when:
+        List<CompletableFuture<Void>> futures = (1..5).collect {
+            executor.submit(WorkloadLifecycleExecutor.Operation.STOP, {
+                peak.accumulateAndGet(running.incrementAndGet(), Math.&max)
+                latch.await()
+                running.decrementAndGet()
+            })
+        }
+
+        and:
+        sleep(100)
+
+        then:
+        executor.getQueueDepth(WorkloadLifecycleExecutor.Operation.STOP) == 3
+        executor.getQueueDepth() == 3
+        executor.getActiveCount() == 2
+
+        when:
+        latch.countDown()
+        CompletableFuture.allOf(futures as CompletableFuture[]).get(5, TimeUnit.SECONDS)
+
+        then:
+        peak.get() == 2
+        executor.getQueueDepth() == 0
+    }
+
+    def 'The pool grows past its core size up to the operation\'s parallelism limit'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.lifecycleCorePoolSize = 2
+        schedulerProperties.lifecycleMaxPoolSize = 16
+        schedulerProperties.lifecycleStopParallelism = 6
+
+        WorkloadLifecycleExecutor executor = new WorkloadLifecycleExecutor(schedulerProperties)
+
+        CountDownLatch started = new CountDownLatch(6)
+        CountDownLatch latch = new CountDownLatch(1)
+
+        when:
+        List<CompletableFuture<Void>> futures = (1..6).collect {
+            executor.submit(WorkloadLifecycleExecutor.Operation.STOP, {
+                started.countDown()
+                latch.await()
+            })
+        }
+
+        then:
+        started.await(5, TimeUnit.SECONDS)
+        executor.getActiveCount() == 6
+        executor.getPoolSize() == 6
+
+        cleanup:
+        latch.countDown()
+        CompletableFuture.allOf(futures as CompletableFuture[]).get(5, TimeUnit.SECONDS)
+    }
+
+    def 'Operation types do not share parallelism limits'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.lifecycleStopParallelism = 1
+
+        WorkloadLifecycleExecutor executor = new WorkloadLifecycleExecutor(schedulerProperties)
+
+        CountDownLatch latch = new CountDownLatch(1)
+
+        when:
+        CompletableFuture<Void> stop = executor.submit(WorkloadLifecycleExecutor.Operation.STOP, { latch.await() })
+        CompletableFuture<Void> restart = executor.submit(WorkloadLifecycleExecutor.Operation.RESTART, {})
+
+        then:
+        restart.get(5, TimeUnit.SECONDS) == null
+        !stop.isDone()
+
+        cleanup:
+        latch.countDown()
+    }
+
+    def 'A task that throws completes its future exceptionally and frees its slot'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.lifecycleStopParallelism = 1
+
+        WorkloadLifecycleExecutor executor = new WorkloadLifecycleExecutor(schedulerProperties)
+
+        when:
+        CompletableFuture<Void> failed = executor.submit(WorkloadLifecycleExecutor.Operation.STOP, { throw new IllegalStateException('boom') })
+        CompletableFuture<Void> next = executor.submit(WorkloadLifecycleExecutor.Operation.STOP, {})
+
+        then:
+        next.get(5, TimeUnit.SECONDS) == null
+        failed.isCompletedExceptionally()
+    }
+
+    def 'Backlogged tasks run on the caller of a saturated pool do not grow its stack'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.lifecycleCorePoolSize = 1
+        schedulerProperties.lifecycleMaxPoolSize = 1
+        schedulerProperties.lifecycleStopParallelism = 1
+
+        WorkloadLifecycleExecutor executor = new WorkloadLifecycleExecutor(schedulerProperties)
+
+        CountDownLatch latch = new CountDownLatch(1)
+        List<Integer> depths = Collections.synchronizedList([])
+
+        // Occupy the only pool thread, so that further tasks run on the caller.
+        executor.submit(WorkloadLifecycleExecutor.Operation.RESTART, { latch.await() })
+
+        when:
+        executor.submit(WorkloadLifecycleExecutor.Operation.STOP, {
+            depths << Thread.currentThread().stackTrace.length
+            1000.times {
+                executor.submit(WorkloadLifecycleExecutor.Operation.STOP, { depths << Thread.currentThread().stackTrace.length })
+            }
+        })
+
+        then:
+        depths.size() == 1001
+        depths.max() - depths.min() < 50
+
+        cleanup:
+        latch.countDown()
+    }
+}
@@ -71,4 +71,55 @@ class WorkloadReportSpec extends Specification {
         entry.state == RunningState.RUNNING
         entry.error == 'test exception'
     }
+
+    def 'When a report is copied, supervision and load details of its entries are retained'() {
+        setup:
+        WorkloadReport.Entry entry = new WorkloadReport.Entry(Mock(Workload), RunningState.ERROR, 'failed')
+        entry.restartCount = 3
+        entry.crashLooping = true
+        entry.stalled = true
+        entry.progress = 42
+        entry.cpuRate = 0.5
+        entry.allocationRate = 1024
+        entry.loadScore = 7.5
+
+        when:
+        WorkloadReport.Entry copy = new WorkloadReport([entry]).copy().entries[0]
+
+        then:
+        !copy.is(entry)
+        copy.workload.is(entry.workload)
+        copy.state == RunningState.ERROR
+        copy.error == 'failed'
+        copy.restartCount == 3
+        copy.crashLooping
+        copy.stalled
+        copy.progress == 42
+        copy.cpuRate == 0.5
+        copy.allocationRate == 1024
+        copy.loadScore == 7.5
+    }
+
+    def 'The labels and capacity of the cluster member are retained when a report is copied, and may not be modified'() {
+        setup:
+        WorkloadReport report = new WorkloadReport()
+        report.labels = [zone: 'east']
+        report.maxWorkloads = 5
+        report.maxWeight = 2.5
+
+        when:
+        WorkloadReport copy = report.copy()
+
+        then:
+        copy.labels == [zone: 'east']
+        copy.maxWorkloads == 5
+        copy.maxWeight == 2.5
+        new WorkloadReport().labels.isEmpty()
+
+        when:
+        copy.labels.put('zone', 'west')
+
+        then:
+        thrown UnsupportedOperationException
+    }
 }
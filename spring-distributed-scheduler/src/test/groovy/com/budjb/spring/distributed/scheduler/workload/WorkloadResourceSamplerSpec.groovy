@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.RunningState
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import spock.lang.Specification
+
+import java.time.Duration
+
+class WorkloadResourceSamplerSpec extends Specification {
+    SchedulerProperties schedulerProperties
+    long cpuTime
+    long allocatedBytes
+    WorkloadContextFactory factory
+
+    def setup() {
+        schedulerProperties = new SchedulerProperties()
+        schedulerProperties.resourceSampleInterval = Duration.ZERO
+        schedulerProperties.watchdogInterval = Duration.ZERO
+
+        factory = Mock(WorkloadContextFactory)
+        factory.supports(_) >> true
+        factory.createContext(_) >> { Workload workload ->
+            WorkloadContext context = Mock(WorkloadContext)
+            context.getWorkload() >> workload
+            context.getRunningState() >> RunningState.RUNNING
+            context.getCpuTime() >> { cpuTime }
+            context.getAllocatedBytes() >> { allocatedBytes }
+            context.getWorkloadReportEntry() >> { new WorkloadReport.Entry(workload, RunningState.RUNNING) }
+            return context
+        }
+    }
+
+    def 'Rolling rates are computed from the sampled counters and reported per workload'() {
+        setup:
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+        WorkloadResourceSampler sampler = workloadContextManager.resourceSampler
+        Workload workload = new TestWorkload('a')
+
+        when:
+        workloadContextManager.start(workload)
+        sampler.sample()
+
+        then:
+        sampler.getCpuRate(workload) == 0
+        sampler.getAllocationRate(workload) == 0
+
+        when:
+        sleep(100)
+        cpuTime = 50_000_000
+        allocatedBytes = 1_000_000
+        sampler.sample()
+
+        then:
+        sampler.getCpuRate(workload) > 0.1
+        sampler.getCpuRate(workload) <= 0.5
+        sampler.getAllocationRate(workload) > 1_000_000
+        sampler.getAllocationRate(workload) <= 10_000_000
+        sampler.totalCpuRate == sampler.getCpuRate(workload)
+
+        when:
+        WorkloadReport.Entry entry = workloadContextManager.workloadReport.entries[0]
+
+        then:
+        entry.cpuRate == sampler.getCpuRate(workload)
+        entry.allocationRate == sampler.getAllocationRate(workload)
+    }
+
+    def 'History is discarded when the counters go backwards'() {
+        setup:
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+        WorkloadResourceSampler sampler = workloadContextManager.resourceSampler
+        Workload workload = new TestWorkload('a')
+
+        when:
+        workloadContextManager.start(workload)
+        cpuTime = 50_000_000
+        sampler.sample()
+        sleep(10)
+        cpuTime = 60_000_000
+        sampler.sample()
+
+        then:
+        sampler.getCpuRate(workload) > 0
+
+        when:
+        cpuTime = 0
+        sampler.sample()
+
+        then:
+        sampler.getCpuRate(workload) == 0
+    }
+
+    def 'The CPU time of a single threaded workload is measured'() {
+        setup:
+        SingleThreadedWorkloadContext context = new SingleThreadedWorkloadContext(new AbstractWorkloadRunnable(new TestWorkload('a')) {
+            @Override
+            void run() {
+                long deadline = System.currentTimeMillis() + 100
+                long sum = 0
+                while (System.currentTimeMillis() < deadline) {
+                    sum += new byte[1024].length
+                }
+                while (!Thread.interrupted()) {
+                    try {
+                        Thread.sleep(10)
+                    }
+                    catch (InterruptedException ignored) {
+                        Thread.currentThread().interrupt()
+                    }
+                }
+            }
+        })
+
+        expect:
+        context.cpuTime == -1
+
+        when:
+        context.start()
+        sleep(150)
+
+        then:
+        context.cpuTime > 0
+        context.allocatedBytes != 0
+
+        cleanup:
+        context.terminate()
+    }
+}
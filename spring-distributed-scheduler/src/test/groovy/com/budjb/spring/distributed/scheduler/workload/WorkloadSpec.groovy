@@ -69,4 +69,148 @@ class WorkloadSpec extends Specification {
         !a.equals(b)
         !b.equals(a)
     }
+
+    def 'A workload is never equal to null'() {
+        expect:
+        !new TestWorkload('foo').equals(null)
+    }
+
+    def 'The URN and hash code are fixed once first used, and the type name is shared per class'() {
+        setup:
+        Workload a = new TestWorkload('foo')
+        Workload b = new TestWorkload('foo')
+        Workload c = new TestWorkload('bar')
+
+        when:
+        MutableTypeWorkload mutable = new MutableTypeWorkload('foo')
+        mutable.hashCode()
+        MutableTypeWorkload.currentType = 'Changed'
+
+        then:
+        a == b
+        a.typeName.is(b.typeName)
+        a.typeName.is(c.typeName)
+        a.typeName.is('TestWorkload')
+        a.hashCode() == 'urn:workload:TestWorkload:foo'.hashCode()
+        mutable.urn == 'urn:workload:Original:foo'
+        mutable.typeName == 'Original'
+        mutable.hashCode() == 'urn:workload:Original:foo'.hashCode()
+
+        cleanup:
+        MutableTypeWorkload.currentType = 'Original'
+    }
+
+    def 'A workload whose type depends on state set by its own constructor gets that type'() {
+        when:
+        Workload workload = new ConstructorTypeWorkload('foo')
+
+        then:
+        workload.urn == 'urn:workload:kind:foo'
+        workload.typeName == 'kind'
+    }
+
+    def 'A workload constructed with an explicit type does not call getType()'() {
+        when:
+        Workload workload = new ExplicitTypeWorkload('foo')
+
+        then:
+        workload.urn == 'urn:workload:Explicit:foo'
+        workload.typeName == 'Explicit'
+        workload.getLabel('tenant') == 'acme'
+        workload == new ExplicitTypeWorkload('foo')
+    }
+
+    def 'Labels are sorted, do not affect equality, and survive serialization'() {
+        setup:
+        Workload a = new TestWorkload('foo', [region: 'us-east', tenant: 'acme', weight: '2.5', priority: '10'])
+        Workload b = new TestWorkload('foo')
+
+        when:
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(a) }
+        Workload copy = (Workload) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject()
+
+        then:
+        a == b
+        a.getLabel('tenant') == 'acme'
+        a.getLabel('locality') == null
+        a.labels.keySet() as List == ['priority', 'region', 'tenant', 'weight']
+        a.weight == 2.5d
+        a.priority == 10
+        b.labels.isEmpty()
+        b.weight == 1d
+        b.priority == 0
+        copy.labels == a.labels
+        copy.weight == 2.5d
+        copy.priority == 10
+    }
+
+    def 'The labels of a workload may not be modified'() {
+        when:
+        new TestWorkload('foo', [tenant: 'acme']).labels.put('tenant', 'other')
+
+        then:
+        thrown UnsupportedOperationException
+    }
+
+    def 'An invalid weight or priority label is rejected'() {
+        when:
+        new TestWorkload('foo', labels)
+
+        then:
+        thrown IllegalArgumentException
+
+        where:
+        labels << [[weight: '0'], [weight: 'heavy'], [priority: 'high']]
+    }
+
+    def 'Placement constraints are read from prefixed labels'() {
+        setup:
+        Workload workload = new TestWorkload('foo', ['require.zone': 'east', 'prefer.rack': '1', 'anti-affinity': 'group', tenant: 'acme'])
+
+        expect:
+        workload.requiredMemberLabels == [zone: 'east']
+        workload.preferredMemberLabels == [rack: '1']
+        workload.antiAffinityGroup == 'group'
+        new TestWorkload('bar').requiredMemberLabels.isEmpty()
+        new TestWorkload('bar').antiAffinityGroup == null
+    }
+
+    static class MutableTypeWorkload extends Workload {
+        static String currentType = 'Original'
+
+        MutableTypeWorkload(String id) {
+            super(id)
+        }
+
+        @Override
+        String getType() {
+            return currentType
+        }
+    }
+
+    static class ExplicitTypeWorkload extends Workload {
+        ExplicitTypeWorkload(String id) {
+            super('Explicit', id, [tenant: 'acme'])
+        }
+
+        @Override
+        String getType() {
+            throw new UnsupportedOperationException()
+        }
+    }
+
+    static class ConstructorTypeWorkload extends Workload {
+        final String kind
+
+        ConstructorTypeWorkload(String id) {
+            super(id)
+            kind = 'kind'
+        }
+
+        @Override
+        String getType() {
+            return kind
+        }
+    }
 }
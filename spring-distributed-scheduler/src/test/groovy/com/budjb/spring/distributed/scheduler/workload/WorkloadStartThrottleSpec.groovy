@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.RunningState
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.Test2Workload
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import spock.lang.Specification
+
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class WorkloadStartThrottleSpec extends Specification {
+    def 'With default properties, workloads are admitted immediately'() {
+        setup:
+        WorkloadStartThrottle throttle = new WorkloadStartThrottle(new SchedulerProperties())
+
+        expect:
+        (1..100).every {
+            Workload workload = new TestWorkload(it.toString())
+            CompletableFuture<Void> admitted = throttle.acquire(workload)
+            throttle.release(workload)
+            admitted.isDone()
+        }
+        !throttle.isConcurrencyCapped(new TestWorkload('a'))
+    }
+
+    def 'Once the burst is used up, starts wait for the configured rate without blocking the caller'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.startRate = 20
+        schedulerProperties.startBurst = 2
+
+        WorkloadStartThrottle throttle = new WorkloadStartThrottle(schedulerProperties)
+
+        when:
+        List<CompletableFuture<Void>> admissions = (1..6).collect { throttle.acquire(new TestWorkload(it.toString())) }
+
+        then:
+        admissions[0].isDone()
+        admissions[1].isDone()
+        !admissions[5].isDone()
+
+        when:
+        CompletableFuture.allOf(admissions as CompletableFuture[]).get(5, TimeUnit.SECONDS)
+
+        then:
+        admissions.every { it.isDone() }
+
+        cleanup:
+        throttle.stop()
+    }
+
+    def 'Stopping the throttle cancels admissions that are still waiting'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.startRate = 0.1
+        schedulerProperties.startBurst = 1
+        schedulerProperties.startConcurrencyPerType = [Test2Workload: 1]
+
+        WorkloadStartThrottle throttle = new WorkloadStartThrottle(schedulerProperties)
+
+        when:
+        CompletableFuture<Void> first = throttle.acquire(new TestWorkload('a'))
+        CompletableFuture<Void> delayed = throttle.acquire(new TestWorkload('b'))
+        CompletableFuture<Void> capped = throttle.acquire(new Test2Workload('c'))
+        CompletableFuture<Void> queued = throttle.acquire(new Test2Workload('d'))
+        throttle.stop()
+
+        then:
+        first.isDone() && !first.isCompletedExceptionally()
+        [delayed, capped, queued].every { it.isCompletedExceptionally() }
+        throttle.acquire(new TestWorkload('e')).isCompletedExceptionally()
+
+        when:
+        queued.get()
+
+        then:
+        thrown CancellationException
+    }
+
+    def 'Per type concurrency caps only apply to their workload type'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.startConcurrencyPerType = [TestWorkload: 1]
+
+        WorkloadStartThrottle throttle = new WorkloadStartThrottle(schedulerProperties)
+
+        when:
+        CompletableFuture<Void> first = throttle.acquire(new TestWorkload('a'))
+        CompletableFuture<Void> second = throttle.acquire(new TestWorkload('b'))
+        CompletableFuture<Void> other = throttle.acquire(new Test2Workload('c'))
+
+        then:
+        throttle.isConcurrencyCapped(new TestWorkload('a'))
+        !throttle.isConcurrencyCapped(new Test2Workload('a'))
+        first.isDone()
+        !second.isDone()
+        other.isDone()
+
+        when:
+        throttle.release(new TestWorkload('a'))
+
+        then:
+        second.get(5, TimeUnit.SECONDS) == null
+
+        cleanup:
+        throttle.stop()
+    }
+
+    def 'Workloads waiting for admission are reported as starting'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.startConcurrency = 1
+
+        CountDownLatch started = new CountDownLatch(1)
+
+        WorkloadContext first = Mock(WorkloadContext)
+        first.getWorkload() >> new TestWorkload('a')
+        first.getRunningState() >> RunningState.NOT_STARTED
+        first.getWorkloadReportEntry() >> new WorkloadReport.Entry(first.workload, RunningState.NOT_STARTED)
+        first.start() >> { started.countDown() }
+
+        WorkloadContext second = Mock(WorkloadContext)
+        second.getWorkload() >> new TestWorkload('b')
+        second.getRunningState() >> RunningState.NOT_STARTED
+        second.getWorkloadReportEntry() >> new WorkloadReport.Entry(second.workload, RunningState.NOT_STARTED)
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.isSupportCacheable() >> true
+        factory.supports(_) >> true
+        factory.createContexts(_) >> [first, second]
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+
+        when:
+        workloadContextManager.startAll([first.workload, second.workload])
+
+        then:
+        started.await(5, TimeUnit.SECONDS)
+        workloadContextManager.pendingStartCount == 1
+        workloadContextManager.workloadReport.entries.count { it.state == RunningState.STARTING } == 1
+
+        cleanup:
+        workloadContextManager.removeAll([first.workload, second.workload])
+    }
+
+    def 'A workload type waiting on its concurrency cap does not hold up the starts of other types'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+        schedulerProperties.startConcurrencyPerType = [TestWorkload: 1]
+        schedulerProperties.lifecycleStartParallelism = 1
+
+        CountDownLatch started = new CountDownLatch(1)
+
+        WorkloadContext slow = Mock(WorkloadContext)
+        slow.getWorkload() >> new TestWorkload('slow')
+        slow.getRunningState() >> RunningState.STARTING
+
+        WorkloadContext waiting = Mock(WorkloadContext)
+        waiting.getWorkload() >> new TestWorkload('waiting')
+
+        WorkloadContext other = Mock(WorkloadContext)
+        other.getWorkload() >> new Test2Workload('other')
+        other.start() >> { started.countDown() }
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.isSupportCacheable() >> true
+        factory.supports(_) >> true
+        factory.createContexts(_) >> [slow, waiting, other]
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+
+        when:
+        workloadContextManager.startAll([slow.workload, waiting.workload, other.workload])
+
+        then:
+        started.await(5, TimeUnit.SECONDS)
+        workloadContextManager.isPendingStart(waiting)
+        0 * waiting.start()
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.RunningState
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import spock.lang.Specification
+
+import java.time.Duration
+
+class WorkloadSupervisorSpec extends Specification {
+    SchedulerProperties schedulerProperties
+    WorkloadContextFactory factory
+    List<WorkloadContext> created
+
+    def setup() {
+        schedulerProperties = new SchedulerProperties()
+        schedulerProperties.supervisionEnabled = true
+        schedulerProperties.supervisionInterval = Duration.ofMillis(10)
+        schedulerProperties.restartBackoffInitial = Duration.ofMillis(10)
+        schedulerProperties.actionPollInterval = Duration.ofMillis(10)
+        schedulerProperties.crashLoopThreshold = 3
+
+        created = []
+
+        factory = Mock(WorkloadContextFactory)
+        factory.isSupportCacheable() >> true
+        factory.supports(_) >> true
+        factory.createContext(_) >> { Workload workload ->
+            WorkloadContext context = Mock(WorkloadContext)
+            context.getWorkload() >> workload
+            context.getRunningState() >> RunningState.ERROR
+            context.isStopped() >> true
+            context.getWorkloadReportEntry() >> new WorkloadReport.Entry(workload, RunningState.ERROR)
+            created << context
+            return context
+        }
+    }
+
+    def 'Supervision is disabled by default'() {
+        setup:
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], new SchedulerProperties())
+        workloadContextManager.afterPropertiesSet()
+        Workload workload = new TestWorkload('a')
+
+        when:
+        workloadContextManager.start(workload)
+        sleep(200)
+
+        then:
+        created.size() == 1
+        !workloadContextManager.supervisor.isCrashLooping(workload)
+    }
+
+    def 'A failing workload is restarted locally until it is found to be crash looping'() {
+        setup:
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+        workloadContextManager.afterPropertiesSet()
+        Workload workload = new TestWorkload('a')
+
+        when:
+        workloadContextManager.start(workload)
+
+        and:
+        long deadline = System.currentTimeMillis() + 5000
+        while (!workloadContextManager.supervisor.isCrashLooping(workload) && System.currentTimeMillis() < deadline) {
+            sleep(10)
+        }
+        sleep(200)
+
+        then:
+        created.size() == 3
+        workloadContextManager.supervisor.getRestartCount(workload) == 2
+
+        when:
+        WorkloadReport.Entry entry = workloadContextManager.workloadReport.entries[0]
+
+        then:
+        entry.state == RunningState.ERROR
+        entry.restartCount == 2
+        entry.crashLooping
+
+        cleanup:
+        workloadContextManager.destroy()
+    }
+
+    def 'Removing a workload discards its supervision history'() {
+        setup:
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+        workloadContextManager.afterPropertiesSet()
+        Workload workload = new TestWorkload('a')
+
+        when:
+        workloadContextManager.start(workload)
+
+        and:
+        long deadline = System.currentTimeMillis() + 5000
+        while (!workloadContextManager.supervisor.isCrashLooping(workload) && System.currentTimeMillis() < deadline) {
+            sleep(10)
+        }
+
+        and:
+        workloadContextManager.remove(workload).get()
+
+        then:
+        !workloadContextManager.supervisor.isCrashLooping(workload)
+        workloadContextManager.supervisor.getRestartCount(workload) == 0
+
+        cleanup:
+        workloadContextManager.destroy()
+    }
+
+    def 'Supervision does not run until the manager is initialized'() {
+        setup:
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+        Workload workload = new TestWorkload('a')
+
+        when:
+        workloadContextManager.start(workload)
+        sleep(200)
+
+        then:
+        created.size() == 1
+        !workloadContextManager.supervisor.isRestartPending(workload)
+    }
+
+    def 'Shutting down stops supervision before the workloads are stopped'() {
+        setup:
+        schedulerProperties.restartBackoffInitial = Duration.ofMillis(200)
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+        workloadContextManager.afterPropertiesSet()
+        Workload workload = new TestWorkload('a')
+
+        when:
+        workloadContextManager.start(workload)
+
+        and:
+        long deadline = System.currentTimeMillis() + 5000
+        while (!workloadContextManager.supervisor.isRestartPending(workload) && System.currentTimeMillis() < deadline) {
+            sleep(10)
+        }
+
+        then:
+        workloadContextManager.supervisor.isRestartPending(workload)
+
+        when:
+        workloadContextManager.shutdown().get()
+        sleep(400)
+
+        then:
+        created.size() == 1
+
+        cleanup:
+        workloadContextManager.destroy()
+    }
+}
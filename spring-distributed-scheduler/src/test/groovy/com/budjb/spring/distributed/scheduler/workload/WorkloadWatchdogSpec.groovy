@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.budjb.spring.distributed.scheduler.workload
+
+import com.budjb.spring.distributed.scheduler.RunningState
+import com.budjb.spring.distributed.scheduler.SchedulerProperties
+import com.budjb.spring.distributed.scheduler.support.workload.TestRunnable
+import com.budjb.spring.distributed.scheduler.support.workload.TestWorkload
+import spock.lang.Specification
+
+import java.time.Duration
+
+class WorkloadWatchdogSpec extends Specification {
+    SchedulerProperties schedulerProperties
+
+    def setup() {
+        schedulerProperties = new SchedulerProperties()
+        schedulerProperties.watchdogInterval = Duration.ZERO
+        schedulerProperties.watchdogStartupTimeout = Duration.ofMillis(50)
+        schedulerProperties.actionPollInterval = Duration.ofMillis(10)
+    }
+
+    def 'A workload whose thread exits without reporting a terminal state is failed with a reason'() {
+        setup:
+        Workload workload = new TestWorkload('a')
+        WorkloadContext context = new SingleThreadedWorkloadContext(new AbstractWorkloadRunnable(workload) {
+            @Override
+            void run() {
+                setRunningState(RunningState.RUNNING)
+            }
+        })
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.supports(_) >> true
+        factory.createContext(_) >> context
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+
+        List<WorkloadStateTransition> failures = Collections.synchronizedList([])
+        workloadContextManager.addStateListener { if (it.to == RunningState.ERROR) failures << it }
+
+        when:
+        workloadContextManager.start(workload)
+        sleep(100)
+
+        then:
+        context.isDead()
+        context.runningState == RunningState.RUNNING
+
+        when:
+        workloadContextManager.watchdog.sweep()
+        WorkloadReport.Entry entry = workloadContextManager.workloadReport.entries[0]
+
+        then:
+        !context.isDead()
+        entry.state == RunningState.ERROR
+        entry.error == 'workload thread exited without reporting a terminal state'
+        workloadContextManager.watchdog.detectedFailureCount == 1
+        failures.size() == 1
+    }
+
+    def 'Failures of contexts that do not publish their own transitions are passed to the state listeners'() {
+        setup:
+        Workload workload = new TestWorkload('a')
+
+        WorkloadContext context = Mock(WorkloadContext)
+        context.getWorkload() >> workload
+        context.isDead() >> true
+        context.getRunningState() >>> [RunningState.RUNNING, RunningState.ERROR]
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.supports(_) >> true
+        factory.createContext(_) >> context
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+
+        List<WorkloadStateTransition> transitions = []
+        workloadContextManager.addStateListener { transitions << it }
+
+        when:
+        workloadContextManager.start(workload)
+        workloadContextManager.watchdog.sweep()
+
+        then:
+        1 * context.fail({ it.message == 'workload thread exited without reporting a terminal state' })
+        transitions.size() == 1
+        transitions[0].from == RunningState.RUNNING
+        transitions[0].to == RunningState.ERROR
+        transitions[0].exception.message == 'workload thread exited without reporting a terminal state'
+    }
+
+    def 'With default properties, the watchdog is disabled and slow starts are not failed'() {
+        setup:
+        SchedulerProperties schedulerProperties = new SchedulerProperties()
+
+        Workload workload = new TestWorkload('a')
+
+        WorkloadContext context = Mock(WorkloadContext)
+        context.getWorkload() >> workload
+        context.getRunningState() >> RunningState.STARTING
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.supports(_) >> true
+        factory.createContext(_) >> context
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+        workloadContextManager.afterPropertiesSet()
+
+        when:
+        workloadContextManager.start(workload)
+        workloadContextManager.watchdog.sweep()
+        workloadContextManager.watchdog.sweep()
+
+        then:
+        0 * context.fail(_)
+        workloadContextManager.watchdog.detectedFailureCount == 0
+
+        cleanup:
+        workloadContextManager.destroy()
+    }
+
+    def 'A workload that does not reach its running state within the startup timeout is failed'() {
+        setup:
+        Workload workload = new TestWorkload('a')
+        WorkloadContext context = new SingleThreadedWorkloadContext(new AbstractWorkloadRunnable(workload) {
+            @Override
+            void run() {
+                setRunningState(RunningState.STARTING)
+
+                while (!Thread.interrupted()) {
+                    try {
+                        Thread.sleep(10)
+                    }
+                    catch (InterruptedException ignored) {
+                        Thread.currentThread().interrupt()
+                    }
+                }
+            }
+        })
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.supports(_) >> true
+        factory.createContext(_) >> context
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+
+        when:
+        workloadContextManager.start(workload)
+        sleep(20)
+        workloadContextManager.watchdog.sweep()
+
+        then:
+        context.runningState == RunningState.STARTING
+
+        when:
+        sleep(100)
+        workloadContextManager.watchdog.sweep()
+
+        then:
+        context.runningState == RunningState.ERROR
+        workloadContextManager.workloadReport.entries[0].error.startsWith('workload did not start within')
+
+        cleanup:
+        workloadContextManager.shutdown().get()
+    }
+
+    def 'Healthy and stopped workloads are left alone'() {
+        setup:
+        Workload workload = new TestWorkload('a')
+        WorkloadContext context = new SingleThreadedWorkloadContext(new TestRunnable(workload))
+
+        WorkloadContextFactory factory = Mock(WorkloadContextFactory)
+        factory.supports(_) >> true
+        factory.createContext(_) >> context
+
+        WorkloadContextManager workloadContextManager = new WorkloadContextManager([factory], schedulerProperties)
+
+        when:
+        workloadContextManager.start(workload)
+        sleep(100)
+        workloadContextManager.watchdog.sweep()
+
+        then:
+        context.runningState == RunningState.RUNNING
+
+        when:
+        context.stop()
+        sleep(400)
+        workloadContextManager.watchdog.sweep()
+
+        then:
+        !context.isDead()
+        context.runningState == RunningState.STOPPED
+        workloadContextManager.watchdog.detectedFailureCount == 0
+    }
+}